@@ -0,0 +1,209 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup;
+
+import com.google.common.base.Supplier;
+import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
+import io.github.robwin.swagger2markup.content.CachingContentLoader;
+import io.github.robwin.swagger2markup.content.ContentLoader;
+import io.github.robwin.swagger2markup.extension.Swagger2MarkupExtensionRegistry;
+import io.github.robwin.swagger2markup.listener.ProgressListener;
+import io.github.robwin.swagger2markup.output.OutputTarget;
+import io.swagger.models.Swagger;
+import org.apache.commons.lang3.Validate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ResourceBundle;
+
+/**
+ * Long-lived conversion engine, converting many Swagger specifications with the same settings.<br/>
+ * The engine holds the state which does not depend on a specification: the immutable configuration and the content cache.
+ * Each conversion only builds the specification-specific context, so the engine can be shared by concurrent callers.<br/>
+ * Extensions are bound to the context of their conversion, so each conversion gets a new extension registry from the
+ * registry supplier, and the extensions of each extension point are looked up again for every conversion.<br/>
+ * SwaggerExtensions modify the Swagger model, so a Swagger model must not be converted by concurrent calls.
+ */
+public class ConversionEngine {
+
+    private final Swagger2MarkupConfig config;
+    private final ContentLoader contentLoader;
+    private final Supplier<Swagger2MarkupExtensionRegistry> extensionRegistries;
+    private final List<ProgressListener> progressListeners;
+    private final boolean loggingProgressListener;
+
+    ConversionEngine(Builder builder) {
+        this.config = builder.config;
+        this.contentLoader = builder.contentLoader;
+        this.extensionRegistries = builder.extensionRegistries;
+        this.progressListeners = Collections.unmodifiableList(new ArrayList<>(builder.progressListeners));
+        this.loggingProgressListener = builder.loggingProgressListener;
+
+        ResourceBundle.getBundle("lang/labels", config.getOutputLanguage().toLocale());
+    }
+
+    /**
+     * Creates a ConversionEngine.Builder with the default configuration, a dedicated content cache
+     * and the default extensions.
+     *
+     * @return a ConversionEngine.Builder
+     */
+    public static Builder ofDefaults() {
+        return new Builder();
+    }
+
+    /**
+     * Converts a Swagger model and writes all the files to an output target.
+     *
+     * @param swagger the Swagger model
+     * @param target  the output target
+     * @throws IOException if the files cannot be written
+     */
+    public void convert(Swagger swagger, OutputTarget target) throws IOException {
+        converter(Swagger2MarkupConverter.from(swagger)).intoOutputTarget(target);
+    }
+
+    /**
+     * Converts a Swagger source and writes all the files to an output target.<br/>
+     * Default content paths are resolved against the Swagger URI.
+     *
+     * @param swaggerUri the Swagger URI
+     * @param target     the output target
+     * @throws IOException if the files cannot be written
+     */
+    public void convert(URI swaggerUri, OutputTarget target) throws IOException {
+        converter(Swagger2MarkupConverter.from(swaggerUri)).intoOutputTarget(target);
+    }
+
+    /**
+     * Converts a Swagger model and returns all documents as a String.
+     *
+     * @param swagger the Swagger model
+     * @return the documents
+     * @throws IOException if files can not be read
+     */
+    public String convertToString(Swagger swagger) throws IOException {
+        return converter(Swagger2MarkupConverter.from(swagger)).asString();
+    }
+
+    private Swagger2MarkupConverter converter(Swagger2MarkupConverter.Builder builder) {
+        builder.withConfig(config)
+                .withExtensionRegistry(extensionRegistries.get())
+                .withContentLoader(contentLoader);
+        if (!loggingProgressListener)
+            builder.withoutLoggingProgressListener();
+        for (ProgressListener progressListener : progressListeners)
+            builder.withProgressListener(progressListener);
+
+        return builder.build();
+    }
+
+    public Swagger2MarkupConfig getConfig() {
+        return config;
+    }
+
+    public ContentLoader getContentLoader() {
+        return contentLoader;
+    }
+
+    public static class Builder {
+        private Swagger2MarkupConfig config;
+        private ContentLoader contentLoader;
+        private Supplier<Swagger2MarkupExtensionRegistry> extensionRegistries;
+        private final List<ProgressListener> progressListeners = new ArrayList<>();
+        private boolean loggingProgressListener = true;
+
+        Builder() {
+        }
+
+        public Builder withConfig(Swagger2MarkupConfig config) {
+            Validate.notNull(config, "config must not be null");
+            this.config = config;
+            return this;
+        }
+
+        /**
+         * Uses a custom loader to read content files, shared by all conversions. The loader must be thread-safe.
+         *
+         * @param contentLoader the content loader
+         * @return this builder
+         */
+        public Builder withContentLoader(ContentLoader contentLoader) {
+            Validate.notNull(contentLoader, "contentLoader must not be null");
+            this.contentLoader = contentLoader;
+            return this;
+        }
+
+        /**
+         * Provides the extension registry of each conversion.<br/>
+         * Extensions are bound to the context of their conversion, so the supplier should return a new registry on each call,
+         * unless all extensions are stateless.
+         *
+         * @param extensionRegistries extension registry supplier
+         * @return this builder
+         */
+        public Builder withExtensionRegistry(Supplier<Swagger2MarkupExtensionRegistry> extensionRegistries) {
+            Validate.notNull(extensionRegistries, "extensionRegistries must not be null");
+            this.extensionRegistries = extensionRegistries;
+            return this;
+        }
+
+        /**
+         * Registers a listener notified of the progress of every conversion. The listener must be thread-safe.
+         *
+         * @param listener the progress listener
+         * @return this builder
+         */
+        public Builder withProgressListener(ProgressListener listener) {
+            Validate.notNull(listener, "listener must not be null");
+            this.progressListeners.add(listener);
+            return this;
+        }
+
+        /**
+         * Disables the default logging progress listener.
+         *
+         * @return this builder
+         */
+        public Builder withoutLoggingProgressListener() {
+            this.loggingProgressListener = false;
+            return this;
+        }
+
+        public ConversionEngine build() {
+            if (config == null)
+                config = Swagger2MarkupConfig.ofDefaults().build();
+            if (contentLoader == null)
+                contentLoader = new CachingContentLoader();
+            if (extensionRegistries == null) {
+                extensionRegistries = new Supplier<Swagger2MarkupExtensionRegistry>() {
+                    @Override
+                    public Swagger2MarkupExtensionRegistry get() {
+                        return Swagger2MarkupExtensionRegistry.ofDefaults().build();
+                    }
+                };
+            }
+
+            return new ConversionEngine(this);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup;
+
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+import io.github.robwin.markup.builder.MarkupDocBuilders;
+import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
+import io.github.robwin.swagger2markup.utils.IOUtils;
+import io.swagger.models.Swagger;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.apache.commons.lang3.StringUtils.defaultString;
+
+/**
+ * Inter-document cross-reference targets of all definitions, computed once per conversion.<br/>
+ * The target of a definition depends on the document containing the reference, see {@link Origin}.
+ */
+public class DefinitionLinkTable {
+
+    /**
+     * Document containing a reference to a definition
+     */
+    public enum Origin {
+        /** Overview, paths or definitions document */
+        DOCUMENT,
+        /** Operation document, which is a separated operation file if separated operations are enabled */
+        OPERATION,
+        /** Definition document, which is a separated definition file if separated definitions are enabled */
+        DEFINITION
+    }
+
+    public static class Links {
+        private final String document;
+        private final String fromOperation;
+        private final String fromDefinition;
+
+        Links(String definitionName, Swagger2MarkupConfig config, MarkupDocBuilder docBuilder) {
+            String prefix = defaultString(config.getInterDocumentCrossReferencesPrefix());
+            String fileName = docBuilder.addfileExtension(IOUtils.normalizeName(definitionName));
+
+            if (config.isSeparatedDefinitions())
+                this.document = prefix + new File(config.getSeparatedDefinitionsFolder(), fileName).getPath();
+            else
+                this.document = prefix + docBuilder.addfileExtension(config.getDefinitionsDocument());
+
+            if (config.isSeparatedOperations())
+                this.fromOperation = prefix + new File("..", document).getPath();
+            else
+                this.fromOperation = document;
+
+            if (config.isSeparatedDefinitions())
+                this.fromDefinition = prefix + fileName;
+            else
+                this.fromDefinition = document;
+        }
+
+        /**
+         * @param origin the document containing the reference
+         * @return the document of the definition, relative to the referencing document
+         */
+        public String get(Origin origin) {
+            switch (origin) {
+                case OPERATION:
+                    return fromOperation;
+                case DEFINITION:
+                    return fromDefinition;
+                default:
+                    return document;
+            }
+        }
+    }
+
+    private final Swagger2MarkupConfig config;
+    private final MarkupDocBuilder docBuilder;
+    private final Map<String, Links> links = new HashMap<>();
+
+    public DefinitionLinkTable(Swagger swagger, Swagger2MarkupConfig config) {
+        this.config = config;
+        this.docBuilder = MarkupDocBuilders.documentBuilder(config.getMarkupLanguage());
+
+        if (config.isInterDocumentCrossReferences() && swagger.getDefinitions() != null) {
+            for (String definitionName : swagger.getDefinitions().keySet()) {
+                links.put(definitionName, new Links(definitionName, config, docBuilder));
+            }
+        }
+    }
+
+    /**
+     * Returns the cross-reference target of a definition.<br/>
+     * Definitions which are not part of the table are computed on the fly.
+     *
+     * @param definitionName the definition name
+     * @param origin         the document containing the reference
+     * @return the document of the definition, relative to the referencing document, or null if inter-document cross-references are disabled
+     */
+    public String get(String definitionName, Origin origin) {
+        if (!config.isInterDocumentCrossReferences())
+            return null;
+
+        Links definitionLinks = links.get(definitionName);
+        if (definitionLinks == null)
+            definitionLinks = new Links(definitionName, config, docBuilder);
+        return definitionLinks.get(origin);
+    }
+}
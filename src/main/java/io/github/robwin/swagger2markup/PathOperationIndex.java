@@ -0,0 +1,154 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup;
+
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+import io.github.robwin.markup.builder.MarkupDocBuilders;
+import io.github.robwin.swagger2markup.builder.document.PathsDocument;
+import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
+import io.github.robwin.swagger2markup.utils.IOUtils;
+import io.swagger.models.Swagger;
+
+import java.io.File;
+import java.util.*;
+
+/**
+ * Index of all operations of a Swagger model, built once per conversion.<br/>
+ * Stores the derived names of each operation so that documents and extensions don't have to compute them again.
+ */
+public class PathOperationIndex {
+
+    public static class Entry {
+        private final PathOperation operation;
+        private final String id;
+        private final String title;
+        private final String folderName;
+        private final String titleFolderName;
+        private final String document;
+
+        Entry(PathOperation operation, Swagger2MarkupConfig config, MarkupDocBuilder docBuilder) {
+            this.operation = operation;
+            this.id = operation.getId();
+            this.title = operation.getTitle();
+            this.folderName = IOUtils.normalizeName(id);
+            this.titleFolderName = IOUtils.normalizeName(title);
+            if (config.isSeparatedOperations())
+                this.document = new File(config.getSeparatedOperationsFolder(), docBuilder.addfileExtension(folderName)).getPath();
+            else
+                this.document = docBuilder.addfileExtension(config.getPathsDocument());
+        }
+
+        public PathOperation getOperation() {
+            return operation;
+        }
+
+        /**
+         * @return the operation id, see {@link PathOperation#getId()}
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * @return the operation title, see {@link PathOperation#getTitle()}
+         */
+        public String getTitle() {
+            return title;
+        }
+
+        /**
+         * @return the normalized operation id, used as content folder name and separated operation file name
+         */
+        public String getFolderName() {
+            return folderName;
+        }
+
+        /**
+         * @return the normalized operation title, used as fallback content folder name
+         */
+        public String getTitleFolderName() {
+            return titleFolderName;
+        }
+
+        /**
+         * @return the anchor of the operation section
+         */
+        public String getAnchor() {
+            return title;
+        }
+
+        /**
+         * @return the document containing the operation, relative to the output directory
+         */
+        public String getDocument() {
+            return document;
+        }
+    }
+
+    private final Swagger2MarkupConfig config;
+    private final MarkupDocBuilder docBuilder;
+    private final Set<PathOperation> operations;
+    private final Map<PathOperation, Entry> entries = new HashMap<>();
+    private final Map<String, PathOperation> operationsByFolderName = new LinkedHashMap<>();
+
+    public PathOperationIndex(Swagger swagger, Swagger2MarkupConfig config) {
+        this.config = config;
+        this.docBuilder = MarkupDocBuilders.documentBuilder(config.getMarkupLanguage());
+        this.operations = Collections.unmodifiableSet(PathsDocument.collectOperations(swagger.getPaths()));
+
+        for (PathOperation operation : operations) {
+            Entry entry = new Entry(operation, config, docBuilder);
+            entries.put(operation, entry);
+            operationsByFolderName.put(entry.getFolderName(), operation);
+        }
+    }
+
+    /**
+     * Returns all operations, in Swagger order.
+     *
+     * @return all operations
+     */
+    public Set<PathOperation> getOperations() {
+        return operations;
+    }
+
+    /**
+     * Returns the index entry of an operation.<br/>
+     * Operations which are not part of the index are computed on the fly.
+     *
+     * @param operation operation
+     * @return the index entry
+     */
+    public Entry get(PathOperation operation) {
+        Entry entry = entries.get(operation);
+        if (entry == null)
+            entry = new Entry(operation, config, docBuilder);
+        return entry;
+    }
+
+    /**
+     * Retrieves an operation from its normalized id.
+     *
+     * @param folderName normalized operation id
+     * @return the operation, or null if not found
+     */
+    public PathOperation getByFolderName(String folderName) {
+        return operationsByFolderName.get(folderName);
+    }
+}
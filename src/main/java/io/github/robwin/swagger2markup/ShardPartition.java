@@ -0,0 +1,91 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup;
+
+import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
+import org.apache.commons.lang3.Validate;
+
+import java.util.List;
+
+/**
+ * A deterministic slice of the operations and definitions, rendered by one of several conversion processes.<br/>
+ * Operations are assigned by id hash, or by the hash of their first tag so that a tag is rendered by a single shard.
+ * Definitions are assigned by name hash.
+ */
+public class ShardPartition {
+
+    private final int index;
+    private final int count;
+    private final ShardBy shardBy;
+
+    public ShardPartition(int index, int count, ShardBy shardBy) {
+        Validate.isTrue(count > 0, "count must be > 0");
+        Validate.isTrue(index >= 0 && index < count, "index must be >= 0 and < count");
+        Validate.notNull(shardBy, "shardBy must not be null");
+        this.index = index;
+        this.count = count;
+        this.shardBy = shardBy;
+    }
+
+    /**
+     * Creates the partition configured for the current conversion.
+     *
+     * @param config the configuration
+     * @return the partition
+     */
+    public static ShardPartition of(Swagger2MarkupConfig config) {
+        return new ShardPartition(config.getShardIndex(), config.getShardCount(), config.getShardBy());
+    }
+
+    /**
+     * @param operation operation
+     * @return true if the operation is rendered by this shard
+     */
+    public boolean contains(PathOperation operation) {
+        String key = operation.getId();
+        if (shardBy == ShardBy.TAG) {
+            List<String> tags = operation.getOperation().getTags();
+            key = tags == null || tags.isEmpty() ? "" : tags.get(0);
+        }
+        return shardOf(key) == index;
+    }
+
+    /**
+     * @param definitionName definition name
+     * @return true if the definition is rendered by this shard
+     */
+    public boolean contains(String definitionName) {
+        return shardOf(definitionName) == index;
+    }
+
+    /**
+     * String hash codes are specified, so every process computes the same shard for a key.
+     */
+    private int shardOf(String key) {
+        return (key.hashCode() & Integer.MAX_VALUE) % count;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
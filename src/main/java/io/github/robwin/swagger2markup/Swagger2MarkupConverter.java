@@ -18,24 +18,52 @@
  */
 package io.github.robwin.swagger2markup;
 
+import io.github.robwin.swagger2markup.builder.document.ChangelogDocument;
 import io.github.robwin.swagger2markup.builder.document.DefinitionsDocument;
+import io.github.robwin.swagger2markup.builder.document.MarkupDocument;
 import io.github.robwin.swagger2markup.builder.document.OverviewDocument;
 import io.github.robwin.swagger2markup.builder.document.PathsDocument;
 import io.github.robwin.swagger2markup.builder.document.SecurityDocument;
+import io.github.robwin.swagger2markup.builder.plan.DocumentPlan;
 import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
+import io.github.robwin.swagger2markup.content.CachingContentLoader;
+import io.github.robwin.swagger2markup.content.ContentLoader;
+import io.github.robwin.swagger2markup.content.ContentPrefetcher;
+import io.github.robwin.swagger2markup.content.ContentStore;
+import io.github.robwin.swagger2markup.content.UriContentLoader;
 import io.github.robwin.swagger2markup.extension.Extension;
 import io.github.robwin.swagger2markup.extension.Swagger2MarkupExtensionRegistry;
 import io.github.robwin.swagger2markup.extension.SwaggerExtension;
+import io.github.robwin.swagger2markup.listener.LoggingProgressListener;
+import io.github.robwin.swagger2markup.listener.ProgressListener;
+import io.github.robwin.swagger2markup.listener.ProgressListeners;
+import io.github.robwin.swagger2markup.output.ArchiveOutputTarget;
+import io.github.robwin.swagger2markup.output.FolderOutputTarget;
+import io.github.robwin.swagger2markup.output.OutputTarget;
+import io.github.robwin.swagger2markup.utils.VirtualThreads;
 import io.swagger.models.Swagger;
 import io.swagger.parser.SwaggerParser;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 
 /**
@@ -43,14 +71,22 @@ import java.nio.charset.StandardCharsets;
  */
 public class Swagger2MarkupConverter {
 
+    private static final Logger logger = LoggerFactory.getLogger(Swagger2MarkupConverter.class);
+
     public static class Context {
         public Swagger2MarkupConfig config;
         public Swagger2MarkupExtensionRegistry extensionRegistry;
         public Swagger swagger;
         public URI swaggerLocation;
+        public PathOperationIndex operationIndex;
+        public DefinitionLinkTable definitionLinks;
+        public ProgressListener progressListener;
+        public ContentLoader contentLoader;
     }
 
     Context globalContext;
+    private boolean prepared;
+    private final Set<Swagger> preparedPreviousSwaggers = Collections.newSetFromMap(new IdentityHashMap<Swagger, Boolean>());
 
     /**
      * Creates a Swagger2MarkupConverter.Builder using a given Swagger URI.
@@ -103,11 +139,91 @@ public class Swagger2MarkupConverter {
     }
 
     protected void applySwaggerExtensions() {
+        applySwaggerExtensions(globalContext);
+    }
+
+    private void applySwaggerExtensions(Context context) {
         for (SwaggerExtension swaggerExtension : globalContext.extensionRegistry.getExtensions(SwaggerExtension.class)) {
-            swaggerExtension.apply(globalContext);
+            swaggerExtension.apply(context);
         }
     }
 
+    /**
+     * Applies all SwaggerExtension to a previous version of the Swagger model, in a context separate from the converted one,
+     * so that the changelog compares both versions after the same model changes.<br/>
+     * Like the converted model, the previous model is modified in place. It is only prepared once.
+     *
+     * @param previousSwagger the previous version of the Swagger model
+     * @return the prepared previous Swagger model
+     */
+    protected Swagger preparePreviousSwagger(Swagger previousSwagger) {
+        if (previousSwagger == globalContext.swagger || !preparedPreviousSwaggers.add(previousSwagger))
+            return previousSwagger;
+
+        Context previousContext = new Context();
+        previousContext.config = globalContext.config;
+        previousContext.extensionRegistry = globalContext.extensionRegistry;
+        previousContext.swagger = previousSwagger;
+        previousContext.progressListener = new ProgressListeners(Collections.<ProgressListener>emptyList());
+        previousContext.contentLoader = globalContext.contentLoader;
+        applySwaggerExtensions(previousContext);
+        return previousSwagger;
+    }
+
+    /**
+     * Applies all SwaggerExtension to the Swagger model, then builds the per-conversion indexes and prefetches content.<br/>
+     * The context is only prepared once, even if several outputs are built from this converter.
+     */
+    protected void prepareContext() {
+        if (prepared)
+            return;
+
+        applySwaggerExtensions();
+        globalContext.operationIndex = new PathOperationIndex(globalContext.swagger, globalContext.config);
+        globalContext.definitionLinks = new DefinitionLinkTable(globalContext.swagger, globalContext.config);
+        prefetchContent();
+        prepared = true;
+    }
+
+    /**
+     * Loads all candidate content files into memory before rendering, if content prefetch or virtual threads are enabled.
+     */
+    protected void prefetchContent() {
+        int threads = globalContext.config.getContentPrefetchThreads();
+        boolean virtualThreads = globalContext.config.isVirtualThreads() && VirtualThreads.isAvailable();
+        if (globalContext.config.isVirtualThreads() && !virtualThreads) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Virtual threads are not available on this JVM");
+            }
+        }
+        if (threads <= 0 && !virtualThreads)
+            return;
+
+        ContentStore contentStore = new ContentStore(globalContext.contentLoader);
+        Set<URI> candidates = ContentPrefetcher.getContentCandidates(globalContext);
+        if (virtualThreads) {
+            ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+            try {
+                contentStore.prefetch(candidates, executor);
+            } finally {
+                executor.shutdown();
+            }
+        } else {
+            contentStore.prefetch(candidates, threads);
+        }
+        globalContext.contentLoader = contentStore;
+    }
+
+    /**
+     * Returns the global context of this converter, with all SwaggerExtension applied.
+     *
+     * @return the global context
+     */
+    public Context getContext() {
+        prepareContext();
+        return globalContext;
+    }
+
     /**
      * Builds the document with the given markup language and stores
      * the files in the given folder.
@@ -118,8 +234,67 @@ public class Swagger2MarkupConverter {
     public void intoFolder(String targetFolderPath) throws IOException {
         Validate.notEmpty(targetFolderPath, "folderPath must not be null");
 
-        applySwaggerExtensions();
-        buildDocuments(targetFolderPath);
+        intoOutputTarget(new FolderOutputTarget(targetFolderPath));
+    }
+
+    /**
+     * Builds the document with the given markup language and writes
+     * all the files to an output target, with the same layout as {@link #intoFolder(String)}.
+     *
+     * @param target the output target
+     * @throws IOException if the files cannot be written
+     */
+    public void intoOutputTarget(OutputTarget target) throws IOException {
+        Validate.notNull(target, "target must not be null");
+
+        prepareContext();
+        globalContext.progressListener.onConversionStarted();
+        buildDocuments(target);
+        globalContext.progressListener.onConversionFinished();
+    }
+
+    /**
+     * Builds the document with the given markup language and stores
+     * all the files in a ZIP archive, with the same layout as {@link #intoFolder(String)}.<br/>
+     * The archive is deleted if a file cannot be written.
+     *
+     * @param archivePath the target archive file
+     * @throws IOException if the archive cannot be written
+     */
+    public void intoArchive(Path archivePath) throws IOException {
+        Validate.notNull(archivePath, "archivePath must not be null");
+
+        Path parent = archivePath.toAbsolutePath().getParent();
+        if (parent != null)
+            Files.createDirectories(parent);
+        try (ArchiveOutputTarget archive = new ArchiveOutputTarget(Files.newOutputStream(archivePath), archivePath.toString())) {
+            intoArchive(archive);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(archivePath);
+            throw e;
+        }
+    }
+
+    /**
+     * Builds the document with the given markup language and streams
+     * all the files as a ZIP archive, with the same layout as {@link #intoFolder(String)}.<br/>
+     * The output stream is not closed.
+     *
+     * @param outputStream the stream to write the archive to
+     * @throws IOException if the archive cannot be written
+     */
+    public void intoArchive(OutputStream outputStream) throws IOException {
+        Validate.notNull(outputStream, "outputStream must not be null");
+
+        intoArchive(new ArchiveOutputTarget(outputStream, "archive"));
+    }
+
+    private void intoArchive(ArchiveOutputTarget archive) throws IOException {
+        prepareContext();
+        globalContext.progressListener.onConversionStarted();
+        buildDocuments(archive);
+        archive.finish();
+        globalContext.progressListener.onConversionFinished();
     }
 
     /**
@@ -129,21 +304,102 @@ public class Swagger2MarkupConverter {
      * @throws java.io.IOException if files can not be read
      */
     public String asString() throws IOException {
-        applySwaggerExtensions();
-        return buildDocuments();
+        prepareContext();
+        globalContext.progressListener.onConversionStarted();
+        String documents = buildDocuments();
+        globalContext.progressListener.onConversionFinished();
+        return documents;
     }
 
     /**
-     * Builds all documents and writes them to a directory
+     * Builds the changelog from a previous version of the Swagger model to this one, and writes it to an output target.<br/>
+     * The registered SwaggerExtensions are applied to the previous model too, see {@link #preparePreviousSwagger(Swagger)}.
      *
-     * @param directory the directory where the generated file should be stored
+     * @param previousSwagger the previous version of the Swagger model
+     * @param target          the target where the changelog should be stored
+     * @throws IOException if the file cannot be written
+     */
+    public void changelogIntoOutputTarget(Swagger previousSwagger, OutputTarget target) throws IOException {
+        Validate.notNull(previousSwagger, "previousSwagger must not be null");
+        Validate.notNull(target, "target must not be null");
+
+        prepareContext();
+        buildDocument(new ChangelogDocument(globalContext, preparePreviousSwagger(previousSwagger), target), target, globalContext.config.getChangelogDocument());
+    }
+
+    /**
+     * Builds the changelog from a previous version of the Swagger model to this one, and returns it as a String<br/>
+     * The registered SwaggerExtensions are applied to the previous model too, see {@link #preparePreviousSwagger(Swagger)}.
+     *
+     * @param previousSwagger the previous version of the Swagger model
+     * @return the changelog as a String
+     * @throws IOException if files can not be read
+     */
+    public String changelogAsString(Swagger previousSwagger) throws IOException {
+        Validate.notNull(previousSwagger, "previousSwagger must not be null");
+
+        prepareContext();
+        StringBuilder sb = new StringBuilder();
+        appendDocument(sb, new ChangelogDocument(globalContext, preparePreviousSwagger(previousSwagger), null));
+        return sb.toString();
+    }
+
+    /**
+     * Builds all documents into markup-independent plans, so that they can be rendered into several markup languages
+     * without walking the Swagger model again.<br/>
+     * Separated operations and definitions have their own plan. Sharded conversions are not supported.
+     *
+     * @return the document plans, indexed by document path without extension, relative to the output folder
+     * @throws java.io.IOException if files can not be read
+     */
+    public Map<String, DocumentPlan> asPlans() throws IOException {
+        prepareContext();
+        globalContext.progressListener.onConversionStarted();
+        Map<String, DocumentPlan> plans = new LinkedHashMap<>();
+        plans.putAll(new OverviewDocument(globalContext, null).buildPlans(globalContext.config.getOverviewDocument()));
+        plans.putAll(new PathsDocument(globalContext, null).buildPlans(globalContext.config.getPathsDocument()));
+        plans.putAll(new DefinitionsDocument(globalContext, null).buildPlans(globalContext.config.getDefinitionsDocument()));
+        plans.putAll(new SecurityDocument(globalContext, null).buildPlans(globalContext.config.getSecurityDocument()));
+        globalContext.progressListener.onConversionFinished();
+        return plans;
+    }
+
+    /**
+     * Builds all documents and writes them to an output target.<br/>
+     * Sharded conversions only write the operation and definition fragment files of their shard.
+     *
+     * @param target the target where the generated files should be stored
      * @throws IOException if a file cannot be written
      */
-    private void buildDocuments(String directory) throws IOException {
-        new OverviewDocument(globalContext, directory).build().writeToFile(directory, globalContext.config.getOverviewDocument(), StandardCharsets.UTF_8);
-        new PathsDocument(globalContext, directory).build().writeToFile(directory, globalContext.config.getPathsDocument(), StandardCharsets.UTF_8);
-        new DefinitionsDocument(globalContext, directory).build().writeToFile(directory, globalContext.config.getDefinitionsDocument(), StandardCharsets.UTF_8);
-        new SecurityDocument(globalContext, directory).build().writeToFile(directory, globalContext.config.getSecurityDocument(), StandardCharsets.UTF_8);
+    private void buildDocuments(OutputTarget target) throws IOException {
+        if (globalContext.config.isSharded()) {
+            try (MarkupDocument paths = new PathsDocument(globalContext, target)) {
+                paths.build();
+            }
+            try (MarkupDocument definitions = new DefinitionsDocument(globalContext, target)) {
+                definitions.build();
+            }
+            return;
+        }
+
+        buildDocument(new OverviewDocument(globalContext, target), target, globalContext.config.getOverviewDocument());
+        buildDocument(new PathsDocument(globalContext, target), target, globalContext.config.getPathsDocument());
+        buildDocument(new DefinitionsDocument(globalContext, target), target, globalContext.config.getDefinitionsDocument());
+        buildDocument(new SecurityDocument(globalContext, target), target, globalContext.config.getSecurityDocument());
+    }
+
+    /**
+     * Builds a document, writes it to an output target and releases its spilled fragments, even if rendering fails
+     *
+     * @param document the document to build
+     * @param target   the target where the generated file should be stored
+     * @param fileName the name of the file, without extension
+     * @throws IOException if the file cannot be written
+     */
+    private void buildDocument(MarkupDocument document, OutputTarget target, String fileName) throws IOException {
+        try (MarkupDocument closeableDocument = document) {
+            closeableDocument.build().writeTo(target, fileName, StandardCharsets.UTF_8);
+        }
     }
 
     /**
@@ -151,20 +407,36 @@ public class Swagger2MarkupConverter {
      *
      * @return a the document as a String
      */
-    private String buildDocuments() {
+    private String buildDocuments() throws IOException {
         StringBuilder sb = new StringBuilder();
-        sb.append(new OverviewDocument(globalContext, null).build().toString());
-        sb.append(new PathsDocument(globalContext, null).build().toString());
-        sb.append(new DefinitionsDocument(globalContext, null).build().toString());
-        sb.append(new SecurityDocument(globalContext, null).build().toString());
+        appendDocument(sb, new OverviewDocument(globalContext, null));
+        appendDocument(sb, new PathsDocument(globalContext, null));
+        appendDocument(sb, new DefinitionsDocument(globalContext, null));
+        appendDocument(sb, new SecurityDocument(globalContext, null));
         return sb.toString();
     }
 
+    /**
+     * Builds a document, appends it to a String and releases its spilled fragments, even if rendering fails
+     *
+     * @param sb       the String being built
+     * @param document the document to build
+     * @throws IOException if spilled fragments cannot be read back
+     */
+    private void appendDocument(StringBuilder sb, MarkupDocument document) throws IOException {
+        try (MarkupDocument closeableDocument = document) {
+            sb.append(closeableDocument.build().toString());
+        }
+    }
+
     public static class Builder {
         private final Swagger swagger;
         private final URI swaggerLocation;
         private Swagger2MarkupConfig config;
         private Swagger2MarkupExtensionRegistry extensionRegistry;
+        private final List<ProgressListener> progressListeners = new ArrayList<>();
+        private boolean loggingProgressListener = true;
+        private ContentLoader contentLoader;
 
         /**
          * Creates a Builder from an URI.
@@ -202,6 +474,50 @@ public class Swagger2MarkupConverter {
             return this;
         }
 
+        /**
+         * Registers a listener notified of the conversion progress.
+         *
+         * @param listener the progress listener
+         * @return this builder
+         */
+        public Builder withProgressListener(ProgressListener listener) {
+            Validate.notNull(listener, "listener must not be null");
+            this.progressListeners.add(listener);
+            return this;
+        }
+
+        /**
+         * Disables the default {@link LoggingProgressListener}, which logs a conversion summary.
+         *
+         * @return this builder
+         */
+        public Builder withoutLoggingProgressListener() {
+            this.loggingProgressListener = false;
+            return this;
+        }
+
+        /**
+         * Uses a custom loader to read content files (examples, descriptions, schemas, dynamic extensions).
+         *
+         * @param contentLoader the content loader
+         * @return this builder
+         */
+        public Builder withContentLoader(ContentLoader contentLoader) {
+            Validate.notNull(contentLoader, "contentLoader must not be null");
+            this.contentLoader = contentLoader;
+            return this;
+        }
+
+        /**
+         * Reads content files through the content cache shared by all conversions of this JVM.
+         *
+         * @return this builder
+         * @see CachingContentLoader#shared()
+         */
+        public Builder withSharedContentCache() {
+            return withContentLoader(CachingContentLoader.shared());
+        }
+
         public Swagger2MarkupConverter build() {
             Context context = new Context();
 
@@ -209,10 +525,9 @@ public class Swagger2MarkupConverter {
             context.swaggerLocation = this.swaggerLocation;
 
             if (config == null)
-                context.config = Swagger2MarkupConfig.ofDefaults().build();
+                context.config = Swagger2MarkupConfig.ofDefaults().build().resolve(context);
             else
-                context.config = config;
-            context.config.setGlobalContext(context);
+                context.config = config.resolve(context);
 
             if (extensionRegistry == null)
                 context.extensionRegistry = Swagger2MarkupExtensionRegistry.ofDefaults().build();
@@ -221,6 +536,16 @@ public class Swagger2MarkupConverter {
             for (Extension extension : context.extensionRegistry.getExtensions())
                 extension.setGlobalContext(context);
 
+            List<ProgressListener> listeners = new ArrayList<>();
+            if (loggingProgressListener)
+                listeners.add(new LoggingProgressListener());
+            listeners.addAll(progressListeners);
+            context.progressListener = new ProgressListeners(listeners);
+            if (contentLoader == null)
+                context.contentLoader = new UriContentLoader();
+            else
+                context.contentLoader = contentLoader;
+
             Swagger2MarkupConverter converter = new Swagger2MarkupConverter();
             converter.globalContext = context;
 
@@ -0,0 +1,391 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.robwin.swagger2markup.utils.StructuralHash;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Info;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Aggregates the Swagger specifications of several services into a single specification, rendered as one document set.<br/>
+ * Paths are merged, optionally under a per-service prefix, and operations can be tagged with their service name.
+ * Structurally identical definitions, global parameters, global responses and security definitions are only kept once;
+ * conflicting ones with the same name are renamed to {@code <service>_<name>}, and the references and security requirements
+ * of their service are rewritten.<br/>
+ * Global consumes, produces and security requirements of a service are moved to its operations.
+ */
+public class SwaggerAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SwaggerAggregator.class);
+
+    private static final String DEFINITIONS_REF_PREFIX = "#/definitions/";
+    private static final String REF = "$ref";
+    private static final String SECURITY = "security";
+    private static final String SECURITY_DEFINITIONS = "securityDefinitions";
+    private static final List<String> OPERATION_DEFAULTS = Arrays.asList("consumes", "produces", SECURITY);
+    private static final List<String> SHARED_COMPONENTS = Arrays.asList("parameters", "responses", SECURITY_DEFINITIONS);
+
+    private final Info info;
+    private final boolean pathPrefixes;
+    private final boolean serviceTags;
+
+    SwaggerAggregator(Builder builder) {
+        this.info = builder.info;
+        this.pathPrefixes = builder.pathPrefixes;
+        this.serviceTags = builder.serviceTags;
+    }
+
+    /**
+     * Creates a SwaggerAggregator.Builder which merges paths as-is and keeps operation tags.
+     *
+     * @return a SwaggerAggregator.Builder
+     */
+    public static Builder ofDefaults() {
+        return new Builder();
+    }
+
+    /**
+     * Aggregates service specifications. The given models are not modified.
+     *
+     * @param services Swagger models by service name, in aggregation order
+     * @return the aggregated Swagger model
+     * @throws IOException if the aggregated model cannot be read back
+     * @throws IllegalArgumentException if two services define the same path
+     */
+    public Swagger aggregate(Map<String, Swagger> services) throws IOException {
+        Validate.notEmpty(services, "services must not be empty");
+
+        ObjectNode aggregate = Json.mapper().createObjectNode();
+        aggregate.put("swagger", "2.0");
+        Info aggregateInfo = info != null ? info : services.values().iterator().next().getInfo();
+        if (aggregateInfo != null)
+            aggregate.set("info", Json.mapper().valueToTree(aggregateInfo));
+        ArrayNode tags = aggregate.putArray("tags");
+        ObjectNode paths = aggregate.putObject("paths");
+        ObjectNode definitions = aggregate.putObject("definitions");
+        Map<String, String> fingerprints = new HashMap<>();
+        Map<String, Map<String, String>> componentFingerprints = new HashMap<>();
+        for (String component : SHARED_COMPONENTS) {
+            componentFingerprints.put(component, new HashMap<String, String>());
+        }
+
+        for (Map.Entry<String, Swagger> service : services.entrySet()) {
+            String serviceName = service.getKey();
+            Validate.notBlank(serviceName, "service name must not be blank");
+            ObjectNode spec = Json.mapper().valueToTree(service.getValue());
+
+            Map<String, String> renames = renameConflictingDefinitions(serviceName, objectField(spec, "definitions"), definitions, fingerprints);
+            if (!renames.isEmpty())
+                rewriteReferences(spec, DEFINITIONS_REF_PREFIX, renames);
+
+            mergeDefinitions(serviceName, objectField(spec, "definitions"), renames, definitions, fingerprints);
+            for (String component : SHARED_COMPONENTS) {
+                mergeComponents(serviceName, spec, aggregate, component, componentFingerprints.get(component));
+            }
+            mergePaths(serviceName, spec, paths);
+            mergeTags(serviceName, spec, tags);
+        }
+
+        return Json.mapper().treeToValue(aggregate, Swagger.class);
+    }
+
+    /**
+     * Computes the definitions of a service which conflict with an aggregated definition of the same name.<br/>
+     * Renaming a definition changes the definitions referencing it, so conflicts are computed until no new conflict is found.
+     */
+    private Map<String, String> renameConflictingDefinitions(String serviceName, ObjectNode serviceDefinitions, ObjectNode definitions, Map<String, String> fingerprints) {
+        Map<String, String> renames = new HashMap<>();
+        boolean conflicts = true;
+        while (conflicts) {
+            conflicts = false;
+            Iterator<Map.Entry<String, JsonNode>> fields = serviceDefinitions.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> definition = fields.next();
+                String name = definition.getKey();
+                String fingerprint = fingerprints.get(name);
+                if (renames.containsKey(name) || fingerprint == null)
+                    continue;
+
+                if (!fingerprint.equals(fingerprint(definition.getValue(), renames))) {
+                    renames.put(name, uniqueName(serviceName + "_" + name, serviceDefinitions, definitions, renames));
+                    conflicts = true;
+                }
+            }
+        }
+        return renames;
+    }
+
+    private static String uniqueName(String name, ObjectNode serviceDefinitions, ObjectNode definitions, Map<String, String> renames) {
+        String uniqueName = name;
+        for (int i = 2; definitions.has(uniqueName) || serviceDefinitions.has(uniqueName) || renames.containsValue(uniqueName); i++) {
+            uniqueName = name + "_" + i;
+        }
+        return uniqueName;
+    }
+
+    private void mergeDefinitions(String serviceName, ObjectNode serviceDefinitions, Map<String, String> renames, ObjectNode definitions, Map<String, String> fingerprints) {
+        Iterator<Map.Entry<String, JsonNode>> fields = serviceDefinitions.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> definition = fields.next();
+            String name = definition.getKey();
+            String aggregateName = renames.containsKey(name) ? renames.get(name) : name;
+            if (definitions.has(aggregateName)) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Definition {} of service {} is shared", name, serviceName);
+                }
+                continue;
+            }
+
+            if (logger.isDebugEnabled() && !aggregateName.equals(name)) {
+                logger.debug("Definition {} of service {} conflicts with a shared definition, renamed to {}", name, serviceName, aggregateName);
+            }
+            definitions.set(aggregateName, definition.getValue());
+            fingerprints.put(aggregateName, fingerprint(definition.getValue(), Collections.<String, String>emptyMap()));
+        }
+    }
+
+    private void mergePaths(String serviceName, ObjectNode spec, ObjectNode paths) {
+        String prefix = (pathPrefixes ? "/" + serviceName : "") + StringUtils.removeEnd(spec.path("basePath").asText(""), "/");
+
+        Iterator<Map.Entry<String, JsonNode>> fields = objectField(spec, "paths").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> path = fields.next();
+            String aggregatePath = prefix + path.getKey();
+            if (paths.has(aggregatePath))
+                throw new IllegalArgumentException(String.format("Path %s of service %s is already defined by another service, use path prefixes", aggregatePath, serviceName));
+
+            for (HttpMethod method : HttpMethod.values()) {
+                JsonNode operation = path.getValue().get(method.name().toLowerCase());
+                if (operation instanceof ObjectNode)
+                    mergeOperation(serviceName, spec, (ObjectNode) operation);
+            }
+            paths.set(aggregatePath, path.getValue());
+        }
+    }
+
+    private void mergeOperation(String serviceName, ObjectNode spec, ObjectNode operation) {
+        for (String field : OPERATION_DEFAULTS) {
+            if (!operation.has(field) && spec.has(field))
+                operation.set(field, spec.get(field));
+        }
+        if (serviceTags)
+            operation.putArray("tags").add(serviceName);
+    }
+
+    private void mergeTags(String serviceName, ObjectNode spec, ArrayNode tags) {
+        if (serviceTags) {
+            ObjectNode tag = tags.addObject().put("name", serviceName);
+            if (spec.path("info").has("title"))
+                tag.put("description", spec.path("info").path("title").asText());
+            return;
+        }
+
+        Set<String> tagNames = new HashSet<>();
+        for (JsonNode tag : tags) {
+            tagNames.add(tag.path("name").asText());
+        }
+        for (JsonNode tag : spec.path("tags")) {
+            if (tagNames.add(tag.path("name").asText()))
+                tags.add(tag);
+        }
+    }
+
+    /**
+     * Merges the global parameters, responses or security definitions of a service.<br/>
+     * Structurally identical components are only kept once. A component which conflicts with an aggregated component
+     * of the same name is renamed, and the references or security requirements of its service are rewritten.
+     * Definition references must already be rewritten, so that they are part of the component fingerprints.
+     */
+    private void mergeComponents(String serviceName, ObjectNode spec, ObjectNode aggregate, String field, Map<String, String> fingerprints) {
+        ObjectNode components = objectField(spec, field);
+        if (components.size() == 0)
+            return;
+
+        ObjectNode aggregateComponents = objectField(aggregate, field);
+        if (aggregateComponents.size() == 0)
+            aggregate.set(field, aggregateComponents);
+        Map<String, String> renames = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = components.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> component = fields.next();
+            String name = component.getKey();
+            String fingerprint = StructuralHash.of(component.getValue());
+            String aggregateFingerprint = fingerprints.get(name);
+            if (fingerprint.equals(aggregateFingerprint)) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Component {}/{} of service {} is shared", field, name, serviceName);
+                }
+                continue;
+            }
+
+            String aggregateName = name;
+            if (aggregateFingerprint != null) {
+                aggregateName = uniqueName(serviceName + "_" + name, components, aggregateComponents, renames);
+                renames.put(name, aggregateName);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Component {}/{} of service {} conflicts with a shared component, renamed to {}", field, name, serviceName, aggregateName);
+                }
+            }
+            aggregateComponents.set(aggregateName, component.getValue());
+            fingerprints.put(aggregateName, fingerprint);
+        }
+
+        if (renames.isEmpty())
+            return;
+        if (SECURITY_DEFINITIONS.equals(field))
+            rewriteSecurityRequirements(spec, renames);
+        else
+            rewriteReferences(spec, "#/" + field + "/", renames);
+    }
+
+    private static ObjectNode objectField(ObjectNode node, String field) {
+        JsonNode value = node.get(field);
+        return value instanceof ObjectNode ? (ObjectNode) value : Json.mapper().createObjectNode();
+    }
+
+    /**
+     * Replaces the references to renamed definitions, parameters or responses.
+     *
+     * @param node      the node to rewrite
+     * @param refPrefix the prefix of the references to rewrite, e.g. {@code #/definitions/}
+     * @param renames   the renamed components
+     */
+    private static void rewriteReferences(JsonNode node, String refPrefix, Map<String, String> renames) {
+        if (node instanceof ObjectNode) {
+            ObjectNode object = (ObjectNode) node;
+            JsonNode ref = object.get(REF);
+            if (ref != null && ref.isTextual() && ref.asText().startsWith(refPrefix)) {
+                String rename = renames.get(ref.asText().substring(refPrefix.length()));
+                if (rename != null)
+                    object.put(REF, refPrefix + rename);
+            }
+        }
+        for (JsonNode child : node) {
+            rewriteReferences(child, refPrefix, renames);
+        }
+    }
+
+    /**
+     * Replaces the renamed security definitions in the global and operation security requirements of a service.
+     */
+    private static void rewriteSecurityRequirements(ObjectNode spec, Map<String, String> renames) {
+        rewriteSecurityRequirements(spec.get(SECURITY), renames);
+        for (JsonNode path : objectField(spec, "paths")) {
+            for (HttpMethod method : HttpMethod.values()) {
+                JsonNode operation = path.get(method.name().toLowerCase());
+                if (operation != null)
+                    rewriteSecurityRequirements(operation.get(SECURITY), renames);
+            }
+        }
+    }
+
+    private static void rewriteSecurityRequirements(JsonNode requirements, Map<String, String> renames) {
+        if (!(requirements instanceof ArrayNode))
+            return;
+
+        ArrayNode requirementsArray = (ArrayNode) requirements;
+        for (int i = 0; i < requirementsArray.size(); i++) {
+            JsonNode requirement = requirementsArray.get(i);
+            if (!(requirement instanceof ObjectNode))
+                continue;
+
+            ObjectNode renamedRequirement = Json.mapper().createObjectNode();
+            Iterator<Map.Entry<String, JsonNode>> schemes = requirement.fields();
+            while (schemes.hasNext()) {
+                Map.Entry<String, JsonNode> scheme = schemes.next();
+                String rename = renames.get(scheme.getKey());
+                renamedRequirement.set(rename != null ? rename : scheme.getKey(), scheme.getValue());
+            }
+            requirementsArray.set(i, renamedRequirement);
+        }
+    }
+
+    /**
+     * Computes a definition fingerprint, independent of the order of object fields.
+     *
+     * @param definition the definition
+     * @param renames    definition renames to apply to references
+     * @return the fingerprint
+     */
+    private static String fingerprint(JsonNode definition, Map<String, String> renames) {
+        JsonNode node = definition;
+        if (!renames.isEmpty()) {
+            node = definition.deepCopy();
+            rewriteReferences(node, DEFINITIONS_REF_PREFIX, renames);
+        }
+        return StructuralHash.of(node);
+    }
+
+    public static class Builder {
+        private Info info;
+        private boolean pathPrefixes;
+        private boolean serviceTags;
+
+        Builder() {
+        }
+
+        /**
+         * Sets the info of the aggregated specification. By default, the info of the first service is used.
+         *
+         * @param info the aggregated specification info
+         * @return this builder
+         */
+        public Builder withInfo(Info info) {
+            Validate.notNull(info, "info must not be null");
+            this.info = info;
+            return this;
+        }
+
+        /**
+         * Prefixes the paths of each service with {@code /<service name>}.
+         *
+         * @return this builder
+         */
+        public Builder withPathPrefixes() {
+            this.pathPrefixes = true;
+            return this;
+        }
+
+        /**
+         * Replaces the tags of each operation with its service name, so that operations can be grouped by service.
+         *
+         * @return this builder
+         */
+        public Builder withServiceTags() {
+            this.serviceTags = true;
+            return this;
+        }
+
+        public SwaggerAggregator build() {
+            return new SwaggerAggregator(this);
+        }
+    }
+}
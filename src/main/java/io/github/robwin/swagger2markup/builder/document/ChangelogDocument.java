@@ -0,0 +1,219 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.document;
+
+import io.github.robwin.swagger2markup.PathOperation;
+import io.github.robwin.swagger2markup.Swagger2MarkupConverter;
+import io.github.robwin.swagger2markup.output.OutputTarget;
+import io.github.robwin.swagger2markup.utils.StructuralHash;
+import io.swagger.models.Model;
+import io.swagger.models.Swagger;
+import org.apache.commons.collections.MapUtils;
+import org.apache.commons.lang3.Validate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.*;
+
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+/**
+ * Changelog between a previous version of the Swagger model and the converted one.<br/>
+ * Operations and definitions are compared by their structural hash, and only added and changed items are rendered,
+ * with the same sections as in the paths and definitions documents.
+ */
+public class ChangelogDocument extends MarkupDocument {
+
+    private static final String CHANGELOG_ANCHOR = "changelog";
+    private final String CHANGELOG;
+    private final String ADDED_OPERATIONS;
+    private final String REMOVED_OPERATIONS;
+    private final String CHANGED_OPERATIONS;
+    private final String ADDED_DEFINITIONS;
+    private final String REMOVED_DEFINITIONS;
+    private final String CHANGED_DEFINITIONS;
+    private final String NO_CHANGES;
+
+    private final Swagger previousSwagger;
+
+    public ChangelogDocument(Swagger2MarkupConverter.Context context, Swagger previousSwagger, OutputTarget outputTarget) {
+        super(context, outputTarget);
+        Validate.notNull(previousSwagger, "previousSwagger must not be null");
+        this.previousSwagger = previousSwagger;
+
+        ResourceBundle labels = ResourceBundle.getBundle("lang/labels", config.getOutputLanguage().toLocale());
+        CHANGELOG = labels.getString("changelog");
+        ADDED_OPERATIONS = labels.getString("added_operations");
+        REMOVED_OPERATIONS = labels.getString("removed_operations");
+        CHANGED_OPERATIONS = labels.getString("changed_operations");
+        ADDED_DEFINITIONS = labels.getString("added_definitions");
+        REMOVED_DEFINITIONS = labels.getString("removed_definitions");
+        CHANGED_DEFINITIONS = labels.getString("changed_definitions");
+        NO_CHANGES = labels.getString("no_changes");
+    }
+
+    /**
+     * Builds the changelog markup document.
+     *
+     * @return the changelog markup document
+     * @throws IOException if the rendered operations or definitions cannot be imported
+     */
+    @Override
+    public MarkupDocument build() throws IOException {
+        this.markupDocBuilder.sectionTitleWithAnchorLevel1(CHANGELOG, CHANGELOG_ANCHOR);
+
+        boolean changed = operations();
+        changed |= definitions();
+        if (!changed)
+            this.markupDocBuilder.paragraph(NO_CHANGES);
+        return this;
+    }
+
+    /**
+     * Builds the added, removed and changed operations sections.
+     *
+     * @return true if any operation differs
+     */
+    private boolean operations() throws IOException {
+        Map<String, String> previousHashes = new LinkedHashMap<>();
+        for (PathOperation operation : PathsDocument.collectOperations(previousSwagger.getPaths()))
+            previousHashes.put(operationKey(operation), StructuralHash.of(operation.getOperation()));
+
+        Collection<PathOperation> operations = globalContext.operationIndex.getOperations();
+        if (config.getOperationOrdering() != null) {
+            Set<PathOperation> sortedOperations = new TreeSet<>(config.getOperationOrdering());
+            sortedOperations.addAll(operations);
+            operations = sortedOperations;
+        }
+
+        List<PathOperation> addedOperations = new ArrayList<>();
+        List<PathOperation> changedOperations = new ArrayList<>();
+        for (PathOperation operation : operations) {
+            String previousHash = previousHashes.remove(operationKey(operation));
+            if (previousHash == null)
+                addedOperations.add(operation);
+            else if (!previousHash.equals(StructuralHash.of(operation.getOperation())))
+                changedOperations.add(operation);
+        }
+
+        importOperations(ADDED_OPERATIONS, addedOperations);
+        removedItems(REMOVED_OPERATIONS, previousHashes.keySet());
+        importOperations(CHANGED_OPERATIONS, changedOperations);
+        return !addedOperations.isEmpty() || !previousHashes.isEmpty() || !changedOperations.isEmpty();
+    }
+
+    /**
+     * Builds the added, removed and changed definitions sections.
+     *
+     * @return true if any definition differs
+     */
+    private boolean definitions() throws IOException {
+        Map<String, String> previousHashes = new LinkedHashMap<>();
+        if (MapUtils.isNotEmpty(previousSwagger.getDefinitions())) {
+            for (Map.Entry<String, Model> definition : previousSwagger.getDefinitions().entrySet()) {
+                if (isRenderedDefinition(definition.getKey()))
+                    previousHashes.put(definition.getKey(), StructuralHash.of(definition.getValue()));
+            }
+        }
+
+        Set<String> definitionNames;
+        if (config.getDefinitionOrdering() == null)
+            definitionNames = new LinkedHashSet<>();
+        else
+            definitionNames = new TreeSet<>(config.getDefinitionOrdering());
+        Map<String, Model> definitions = globalContext.swagger.getDefinitions();
+        if (MapUtils.isNotEmpty(definitions))
+            definitionNames.addAll(definitions.keySet());
+
+        List<String> addedDefinitions = new ArrayList<>();
+        List<String> changedDefinitions = new ArrayList<>();
+        for (String definitionName : definitionNames) {
+            if (!isRenderedDefinition(definitionName))
+                continue;
+            String previousHash = previousHashes.remove(definitionName);
+            if (previousHash == null)
+                addedDefinitions.add(definitionName);
+            else if (!previousHash.equals(StructuralHash.of(definitions.get(definitionName))))
+                changedDefinitions.add(definitionName);
+        }
+
+        importDefinitions(ADDED_DEFINITIONS, addedDefinitions);
+        removedItems(REMOVED_DEFINITIONS, previousHashes.keySet());
+        importDefinitions(CHANGED_DEFINITIONS, changedDefinitions);
+        return !addedDefinitions.isEmpty() || !previousHashes.isEmpty() || !changedDefinitions.isEmpty();
+    }
+
+    /**
+     * Renders operations with the paths document sections, one level below the changelog section.
+     *
+     * @param title      the section title
+     * @param operations the operations to render
+     */
+    private void importOperations(String title, List<PathOperation> operations) throws IOException {
+        if (operations.isEmpty())
+            return;
+
+        this.markupDocBuilder.sectionTitleLevel2(title);
+        try (PathsDocument pathsDocument = new PathsDocument(globalContext, outputTarget)) {
+            for (PathOperation operation : operations)
+                pathsDocument.buildOperation(operation);
+            this.markupDocBuilder.importMarkup(new StringReader(pathsDocument.toString()), 1);
+        }
+    }
+
+    /**
+     * Renders definitions with the definitions document sections, one level below the changelog section.
+     *
+     * @param title           the section title
+     * @param definitionNames the names of the definitions to render
+     */
+    private void importDefinitions(String title, List<String> definitionNames) throws IOException {
+        if (definitionNames.isEmpty())
+            return;
+
+        this.markupDocBuilder.sectionTitleLevel2(title);
+        try (DefinitionsDocument definitionsDocument = new DefinitionsDocument(globalContext, outputTarget)) {
+            for (String definitionName : definitionNames)
+                definitionsDocument.buildDefinition(definitionName);
+            this.markupDocBuilder.importMarkup(new StringReader(definitionsDocument.toString()), 1);
+        }
+    }
+
+    /**
+     * Lists the removed items, which are not part of the converted Swagger model anymore.
+     *
+     * @param title the section title
+     * @param items the removed operation keys or definition names
+     */
+    private void removedItems(String title, Collection<String> items) {
+        if (items.isEmpty())
+            return;
+
+        this.markupDocBuilder.sectionTitleLevel2(title);
+        this.markupDocBuilder.unorderedList(new ArrayList<>(items));
+    }
+
+    private static boolean isRenderedDefinition(String definitionName) {
+        return isNotBlank(definitionName) && DefinitionsDocument.checkThatDefinitionIsNotInIgnoreList(definitionName);
+    }
+
+    private static String operationKey(PathOperation operation) {
+        return operation.getMethod() + " " + operation.getPath();
+    }
+}
@@ -18,13 +18,18 @@
  */
 package io.github.robwin.swagger2markup.builder.document;
 
+import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableMap;
 import io.github.robwin.markup.builder.MarkupDocBuilder;
+import io.github.robwin.markup.builder.MarkupLanguage;
+import io.github.robwin.swagger2markup.DefinitionLinkTable;
 import io.github.robwin.swagger2markup.Swagger2MarkupConverter;
 import io.github.robwin.swagger2markup.extension.DefinitionsContentExtension;
+import io.github.robwin.swagger2markup.output.OutputTarget;
 import io.github.robwin.swagger2markup.type.ObjectType;
 import io.github.robwin.swagger2markup.type.Type;
+import io.github.robwin.swagger2markup.utils.Consumer;
 import io.swagger.models.ComposedModel;
 import io.swagger.models.Model;
 import io.swagger.models.RefModel;
@@ -32,15 +37,10 @@ import io.swagger.models.properties.Property;
 import io.swagger.models.refs.RefFormat;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
-import org.apache.commons.io.FilenameUtils;
-import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang3.Validate;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.Reader;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 import static org.apache.commons.lang3.StringUtils.defaultString;
@@ -62,8 +62,8 @@ public class DefinitionsDocument extends MarkupDocument {
     private static final String XML = "xml";
     private static final String DESCRIPTION_FILE_NAME = "description";
 
-    public DefinitionsDocument(Swagger2MarkupConverter.Context context, String outputDirectory){
-        super(context, outputDirectory);
+    public DefinitionsDocument(Swagger2MarkupConverter.Context context, OutputTarget outputTarget){
+        super(context, outputTarget);
 
         ResourceBundle labels = ResourceBundle.getBundle("lang/labels", config.getOutputLanguage().toLocale());
         DEFINITIONS = labels.getString("definitions");
@@ -92,7 +92,6 @@ public class DefinitionsDocument extends MarkupDocument {
             if (logger.isDebugEnabled()) {
                 logger.debug("Create separated definition files is enabled.");
             }
-            Validate.notEmpty(outputDirectory, "Output directory is required for separated definition files!");
         }else{
             if (logger.isDebugEnabled()) {
                 logger.debug("Create separated definition files is disabled.");
@@ -101,8 +100,31 @@ public class DefinitionsDocument extends MarkupDocument {
     }
 
     @Override
-    public MarkupDocument build(){
-        definitions(globalContext.swagger.getDefinitions());
+    public MarkupDocument build() throws IOException {
+        if (config.isSharded()) {
+            definitionFragments(globalContext.swagger.getDefinitions());
+            throwWriteFailure();
+            return this;
+        }
+
+        startSeparatedDocuments();
+        try {
+            definitions(globalContext.swagger.getDefinitions());
+        } finally {
+            finishSeparatedDocuments();
+        }
+        return this;
+    }
+
+    /**
+     * Builds a single definition, without the definitions document title and extensions.
+     *
+     * @param definitionName the name of the definition to build
+     * @return the definition markup document
+     */
+    public MarkupDocument buildDefinition(String definitionName) {
+        Map<String, Model> definitions = globalContext.swagger.getDefinitions();
+        definition(definitions, definitionName, definitions.get(definitionName), this.markupDocBuilder);
         return this;
     }
 
@@ -133,9 +155,7 @@ public class DefinitionsDocument extends MarkupDocument {
                 if(isNotBlank(definitionName)) {
                     if (checkThatDefinitionIsNotInIgnoreList(definitionName)) {
                         processDefinition(definitions, definitionName, model);
-                        if (logger.isInfoEnabled()) {
-                            logger.info("Definition processed: {}", definitionName);
-                        }
+                        globalContext.progressListener.onDefinitionRendered(definitionName);
                     }else{
                         if (logger.isDebugEnabled()) {
                             logger.debug("Definition was ignored: {}", definitionName);
@@ -178,30 +198,52 @@ public class DefinitionsDocument extends MarkupDocument {
      * @param definitionName definition name to process
      * @param model definition model to process
      */
-    private void processDefinition(Map<String, Model> definitions, String definitionName, Model model) {
+    private void processDefinition(final Map<String, Model> definitions, final String definitionName, final Model model) {
 
         if (config.isSeparatedDefinitions()) {
             MarkupDocBuilder defDocBuilder = this.markupDocBuilder.copy();
+            inlineSchemas.clear();
             definition(definitions, definitionName, model, defDocBuilder);
-            File definitionFile = new File(outputDirectory, resolveDefinitionDocument(definitionName));
-            try {
-                String definitionDirectory = FilenameUtils.getFullPath(definitionFile.getPath());
-                String definitionFileName = FilenameUtils.getName(definitionFile.getPath());
+            inlineSchemas.clear();
+            writeSeparatedDocument(defDocBuilder, resolveDefinitionDocument(definitionName));
 
-                defDocBuilder.writeToFileWithoutExtension(definitionDirectory, definitionFileName, StandardCharsets.UTF_8);
-            } catch (IOException e) {
-                if (logger.isWarnEnabled()) {
-                    logger.warn(String.format("Failed to write definition file: %s", definitionFile), e);
+            definitionRef(definitionName, this.markupDocBuilder);
+
+        } else if (!includeShardFragment(resolveDefinitionFragment(definitionName))) {
+            renderFragment(new Consumer<MarkupDocBuilder>() {
+                public void accept(MarkupDocBuilder docBuilder) {
+                    definition(definitions, definitionName, model, docBuilder);
                 }
-            }
-            if (logger.isInfoEnabled()) {
-                logger.info("Separate definition file produced: {}", definitionFile);
-            }
+            });
+        }
+    }
 
-            definitionRef(definitionName, this.markupDocBuilder);
+    /**
+     * Create the definition fragment filename of sharded conversions
+     * @param definitionName definition name
+     * @return definition fragment filename
+     */
+    private String resolveDefinitionFragment(String definitionName) {
+        return shardFragmentDocument(config.getSeparatedDefinitionsFolder(), normalizeName(definitionName));
+    }
 
-        } else {
-            definition(definitions, definitionName, model, this.markupDocBuilder);
+    /**
+     * Renders the definitions of the shard of this conversion to fragment files.
+     *
+     * @param definitions the Swagger definitions
+     */
+    private void definitionFragments(Map<String, Model> definitions){
+        if(MapUtils.isNotEmpty(definitions)){
+            for(Map.Entry<String, Model> definition : definitions.entrySet()){
+                String definitionName = definition.getKey();
+                if(isNotBlank(definitionName) && checkThatDefinitionIsNotInIgnoreList(definitionName) && shardPartition.contains(definitionName)) {
+                    MarkupDocBuilder fragmentDocBuilder = this.markupDocBuilder.copy();
+                    inlineSchemas.clear();
+                    definition(definitions, definitionName, definition.getValue(), fragmentDocBuilder);
+                    writeShardFragment(fragmentDocBuilder, resolveDefinitionFragment(definitionName));
+                    globalContext.progressListener.onDefinitionRendered(definitionName);
+                }
+            }
         }
     }
 
@@ -211,7 +253,7 @@ public class DefinitionsDocument extends MarkupDocument {
      * @param definitionName the name of the definition
      * @return true if the definition can be processed
      */
-    private boolean checkThatDefinitionIsNotInIgnoreList(String definitionName) {
+    static boolean checkThatDefinitionIsNotInIgnoreList(String definitionName) {
         return !IGNORED_DEFINITIONS.contains(definitionName);
     }
 
@@ -237,7 +279,7 @@ public class DefinitionsDocument extends MarkupDocument {
      * @param docBuilder the docbuilder do use for output
      */
     private void definitionRef(String definitionName, MarkupDocBuilder docBuilder){
-        addDefinitionTitle(docBuilder.copy().crossReference(new DefinitionDocumentResolverDefault().apply(definitionName), definitionName, definitionName).toString(), "ref-" + definitionName, docBuilder);
+        addDefinitionTitle(crossReferences.crossReference(docBuilder, new DefinitionDocumentResolverDefault().apply(definitionName), definitionName, definitionName), "ref-" + definitionName, docBuilder);
     }
 
     /**
@@ -250,6 +292,16 @@ public class DefinitionsDocument extends MarkupDocument {
         docBuilder.sectionTitleWithAnchorLevel2(title, anchor);
     }
 
+    /**
+     * Hand-written property descriptions are looked up by inline schema name, so the name is part of the fingerprint when they are enabled.
+     */
+    @Override
+    protected String inlineSchemaFingerprint(ObjectType type, int depth) {
+        if (config.isDefinitionDescriptions())
+            return type.getName() + ":" + super.inlineSchemaFingerprint(type, depth);
+        return super.inlineSchemaFingerprint(type, depth);
+    }
+
     /**
      * Override Property description functor for definitions.
      * This implementation handles optional handwritten descriptions.
@@ -261,14 +313,14 @@ public class DefinitionsDocument extends MarkupDocument {
         }
 
         @Override
-        public String getDescription(Property property, String propertyName) {
+        public String getDescription(final Property property, final String propertyName) {
             if(config.isDefinitionDescriptions()){
-                Optional<String> description = handWrittenDefinitionDescription(new File(normalizeName(type.getName()), normalizeName(propertyName)).toString(), DESCRIPTION_FILE_NAME);
-                if(description.isPresent()) {
-                    return description.get();
-                } else {
-                    return defaultString(property.getDescription());
-                }
+                return contentText(new Function<MarkupLanguage, String>() {
+                    public String apply(MarkupLanguage markupLanguage) {
+                        Optional<String> description = handWrittenDefinitionDescription(new File(normalizeName(type.getName()), normalizeName(propertyName)).toString(), DESCRIPTION_FILE_NAME, markupLanguage);
+                        return description.or(defaultString(property.getDescription()));
+                    }
+                });
             }
             else{
                 return defaultString(property.getDescription());
@@ -322,13 +374,19 @@ public class DefinitionsDocument extends MarkupDocument {
         }
     }
 
-    private void descriptionSection(String definitionName, Model model, MarkupDocBuilder docBuilder){
+    private void descriptionSection(final String definitionName, Model model, MarkupDocBuilder docBuilder){
         if(config.isDefinitionDescriptions()){
-            Optional<String> description = handWrittenDefinitionDescription(normalizeName(definitionName), DESCRIPTION_FILE_NAME);
-            if(description.isPresent()){
-                docBuilder.paragraph(description.get());
-            }else{
-                modelDescription(model, docBuilder);
+            Map<MarkupDocBuilder, Optional<String>> descriptions = languageContent(docBuilder, new Function<MarkupLanguage, Optional<String>>() {
+                public Optional<String> apply(MarkupLanguage markupLanguage) {
+                    return handWrittenDefinitionDescription(normalizeName(definitionName), DESCRIPTION_FILE_NAME, markupLanguage);
+                }
+            });
+            for (Map.Entry<MarkupDocBuilder, Optional<String>> description : descriptions.entrySet()) {
+                if(description.getValue().isPresent()){
+                    description.getKey().paragraph(description.getValue().get());
+                }else{
+                    modelDescription(model, description.getKey());
+                }
             }
         }
         else{
@@ -348,18 +406,18 @@ public class DefinitionsDocument extends MarkupDocument {
      *
      * @param descriptionFolder the name of the folder where the description file resides
      * @param descriptionFileName the name of the description file
+     * @param markupLanguage the markup language of the description file
      * @return the content of the file
      */
-    private Optional<String> handWrittenDefinitionDescription(String descriptionFolder, String descriptionFileName){
-        for (String fileNameExtension : config.getMarkupLanguage().getFileNameExtensions()) {
+    private Optional<String> handWrittenDefinitionDescription(String descriptionFolder, String descriptionFileName, MarkupLanguage markupLanguage){
+        for (String fileNameExtension : markupLanguage.getFileNameExtensions()) {
             URI contentUri = config.getDefinitionDescriptionsUri().resolve(descriptionFolder).resolve(descriptionFileName + fileNameExtension);
 
-            try (Reader reader = io.github.robwin.swagger2markup.utils.IOUtils.uriReader(contentUri)) {
-                if (logger.isInfoEnabled()) {
-                    logger.info("Definition description content processed {}", contentUri);
-                }
+            try {
+                String content = globalContext.contentLoader.load(contentUri);
+                globalContext.progressListener.onContentResolved(contentUri);
 
-                return Optional.of(IOUtils.toString(reader).trim());
+                return Optional.of(content.trim());
             } catch (IOException e) {
                 if (logger.isDebugEnabled()) {
                     logger.debug("Failed to read Operation description content {} > {}", contentUri, e.getMessage());
@@ -382,13 +440,12 @@ public class DefinitionsDocument extends MarkupDocument {
     private void schema(String title, URI schemasFolderPath, String schemaName, String language, MarkupDocBuilder docBuilder) {
         URI contentUri = schemasFolderPath.resolve(schemaName);
 
-        try (Reader reader = io.github.robwin.swagger2markup.utils.IOUtils.uriReader(contentUri)) {
-            if (logger.isInfoEnabled()) {
-                logger.info("Schema content processed {}", contentUri);
-            }
+        try {
+            String content = sourceContent(contentUri);
+            globalContext.progressListener.onContentResolved(contentUri);
 
             docBuilder.sectionTitleLevel3(title);
-            docBuilder.source(IOUtils.toString(reader).trim(), language);
+            docBuilder.source(content, language);
 
         } catch (IOException e) {
             if (logger.isDebugEnabled()) {
@@ -422,9 +479,11 @@ public class DefinitionsDocument extends MarkupDocument {
         if(CollectionUtils.isNotEmpty(definitions)){
             for (ObjectType definition: definitions) {
                 addInlineDefinitionTitle(definition.getName(), definition.getUniqueName(), docBuilder);
+                inlineSchemas.enter(definition);
                 List<ObjectType> localDefinitions = typeProperties(definition, uniquePrefix, depth, new DefinitionPropertyDescriptor(definition), new DefinitionDocumentResolverFromDefinition(), docBuilder);
                 for (ObjectType localDefinition : localDefinitions)
                     inlineDefinitions(Collections.singletonList(localDefinition), uniquePrefix, depth - 1, docBuilder);
+                inlineSchemas.exit(definition);
             }
         }
 
@@ -439,12 +498,7 @@ public class DefinitionsDocument extends MarkupDocument {
         public DefinitionDocumentResolverFromDefinition() {}
 
         public String apply(String definitionName) {
-            String defaultResolver = super.apply(definitionName);
-
-            if (defaultResolver != null && config.isSeparatedDefinitions())
-                return defaultString(config.getInterDocumentCrossReferencesPrefix()) + markupDocBuilder.addfileExtension(normalizeName(definitionName));
-            else
-                return defaultResolver;
+            return link(definitionName, DefinitionLinkTable.Origin.DEFINITION);
         }
     }
 }
@@ -0,0 +1,100 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.document;
+
+import io.github.robwin.swagger2markup.type.ObjectType;
+import io.swagger.models.properties.Property;
+
+import java.util.*;
+
+/**
+ * Book-keeping of the inline schemas of an output file.<br/>
+ * Inline schemas are identified by their properties map instance, so that the same schema reached through several paths
+ * (diamond-shaped or recursive structures) is only expanded once per depth, whatever its parent. Other references to the
+ * schema target the anchor of the first expansion.
+ */
+class InlineSchemaRegistry {
+
+    private final Map<String, String> anchorsByFingerprint = new HashMap<>();
+    private final Map<Map<String, Property>, Map<Integer, String>> expansionAnchors = new IdentityHashMap<>();
+    private final Map<Map<String, Property>, String> expansionPath = new IdentityHashMap<>();
+
+    /**
+     * @param fingerprint inline schema fingerprint
+     * @return the anchor of the first inline schema registered with this fingerprint, or null
+     */
+    String getAnchor(String fingerprint) {
+        return anchorsByFingerprint.get(fingerprint);
+    }
+
+    void putAnchor(String fingerprint, String anchor) {
+        anchorsByFingerprint.put(fingerprint, anchor);
+    }
+
+    /**
+     * Returns the anchor of the expansion of the same inline schema with the same depth.
+     *
+     * @param type  inline schema
+     * @param depth inline schema depth
+     * @return the anchor of the first expansion, or null if the schema has not been expanded with this depth
+     */
+    String getExpansionAnchor(ObjectType type, int depth) {
+        Map<Integer, String> anchors = expansionAnchors.get(type.getProperties());
+        return anchors == null ? null : anchors.get(depth);
+    }
+
+    /**
+     * Registers the expansion of an inline schema with its current unique name as anchor.
+     *
+     * @param type  inline schema
+     * @param depth inline schema depth
+     */
+    void putExpansionAnchor(ObjectType type, int depth) {
+        Map<Integer, String> anchors = expansionAnchors.get(type.getProperties());
+        if (anchors == null) {
+            anchors = new HashMap<>();
+            expansionAnchors.put(type.getProperties(), anchors);
+        }
+        anchors.put(depth, type.getUniqueName());
+    }
+
+    /**
+     * Returns the anchor of an inline schema currently being expanded, if it has the same properties.
+     *
+     * @param type inline schema
+     * @return the anchor of the ancestor schema, or null if the schema is not recursive
+     */
+    String getAncestorAnchor(ObjectType type) {
+        return expansionPath.get(type.getProperties());
+    }
+
+    void enter(ObjectType type) {
+        expansionPath.put(type.getProperties(), type.getUniqueName());
+    }
+
+    void exit(ObjectType type) {
+        expansionPath.remove(type.getProperties());
+    }
+
+    void clear() {
+        anchorsByFingerprint.clear();
+        expansionAnchors.clear();
+        expansionPath.clear();
+    }
+}
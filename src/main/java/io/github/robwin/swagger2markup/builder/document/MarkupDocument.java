@@ -18,41 +18,63 @@
  */
 package io.github.robwin.swagger2markup.builder.document;
 
+import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import io.github.robwin.markup.builder.MarkupDocBuilder;
 import io.github.robwin.markup.builder.MarkupDocBuilders;
 import io.github.robwin.markup.builder.MarkupLanguage;
 import io.github.robwin.markup.builder.MarkupTableColumn;
+import io.github.robwin.swagger2markup.DefinitionLinkTable;
+import io.github.robwin.swagger2markup.ShardPartition;
 import io.github.robwin.swagger2markup.Swagger2MarkupConverter;
+import io.github.robwin.swagger2markup.builder.plan.DocumentPlan;
 import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
+import io.github.robwin.swagger2markup.output.FileRegion;
+import io.github.robwin.swagger2markup.output.FileRegionOutputTarget;
+import io.github.robwin.swagger2markup.output.FolderOutputTarget;
+import io.github.robwin.swagger2markup.output.OutputTarget;
 import io.github.robwin.swagger2markup.type.DefinitionDocumentResolver;
 import io.github.robwin.swagger2markup.type.ObjectType;
 import io.github.robwin.swagger2markup.type.RefType;
 import io.github.robwin.swagger2markup.type.Type;
+import io.github.robwin.swagger2markup.utils.Consumer;
+import io.github.robwin.swagger2markup.utils.CrossReferenceCache;
 import io.github.robwin.swagger2markup.utils.IOUtils;
 import io.github.robwin.swagger2markup.utils.PropertyUtils;
+import io.github.robwin.swagger2markup.utils.VirtualThreads;
 import io.swagger.models.properties.Property;
 import org.apache.commons.collections.MapUtils;
+import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
-import java.util.regex.Pattern;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import static org.apache.commons.lang3.StringUtils.defaultString;
 
 /**
  * @author Robert Winkler
  */
-public abstract class MarkupDocument {
-
-    private static final Pattern NAME_FORBIDDEN_PATTERN = Pattern.compile("[^0-9A-Za-z-_]+");
+public abstract class MarkupDocument implements Closeable {
 
     protected final String DEFAULT_COLUMN;
     protected final String REQUIRED_COLUMN;
@@ -67,19 +89,59 @@ public abstract class MarkupDocument {
     protected final String TAGS;
     protected final String NO_CONTENT;
 
+    private static final long STREAMED_SOURCE_MIN_SIZE = 64 * 1024;
+
+    private final List<MarkupTableColumn> propertiesTableColumns;
+
     protected Logger logger = LoggerFactory.getLogger(getClass());
 
     protected Swagger2MarkupConverter.Context globalContext;
     protected Swagger2MarkupConfig config;
     protected MarkupDocBuilder markupDocBuilder;
-    protected String outputDirectory;
+    protected CrossReferenceCache crossReferences = new CrossReferenceCache();
+    InlineSchemaRegistry inlineSchemas = new InlineSchemaRegistry();
+    protected OutputTarget outputTarget;
+    private final Map<String, FileRegion> sourceRegions = new ConcurrentHashMap<>();
+    private ExecutorService separatedDocumentWriter;
+    private final List<PendingWrite> pendingWrites = new ArrayList<>();
+    private IOException writeFailure;
+    private long memoryBudget;
+    private long fragmentsSize;
+    private Path spillFile;
+    protected ShardPartition shardPartition;
+    private Path shardMergeFolder;
+    private Map<String, DocumentPlan> separatedPlans;
+
+    /**
+     * A separated document being written asynchronously.
+     */
+    private static class PendingWrite {
+        final String path;
+        final Future<?> result;
 
-    MarkupDocument(Swagger2MarkupConverter.Context globalContext, String outputDirectory) {
+        PendingWrite(String path, Future<?> result) {
+            this.path = path;
+            this.result = result;
+        }
+    }
+
+    MarkupDocument(Swagger2MarkupConverter.Context globalContext, OutputTarget outputTarget) {
         this.globalContext = globalContext;
         this.config = globalContext.config;
-        this.outputDirectory = outputDirectory;
+        this.outputTarget = outputTarget;
 
         this.markupDocBuilder = MarkupDocBuilders.documentBuilder(config.getMarkupLanguage()).withAnchorPrefix(config.getAnchorPrefix());
+        if (outputTarget instanceof FileRegionOutputTarget)
+            this.memoryBudget = config.getMemoryBudget();
+        if (config.isSharded() || config.getShardMergeUri() != null)
+            Validate.isTrue(!config.isSeparatedOperations() && !config.isSeparatedDefinitions(),
+                    "Separated operations and definitions are not supported by sharded conversions");
+        if (config.isSharded()) {
+            Validate.notNull(outputTarget, "Output target is required for sharded conversions!");
+            this.shardPartition = ShardPartition.of(config);
+        }
+        if (config.getShardMergeUri() != null)
+            this.shardMergeFolder = Paths.get(config.getShardMergeUri());
 
         ResourceBundle labels = ResourceBundle.getBundle("lang/labels", config.getOutputLanguage().toLocale());
         DEFAULT_COLUMN = labels.getString("default_column");
@@ -93,6 +155,13 @@ public abstract class MarkupDocument {
         CONSUMES = labels.getString("consumes");
         TAGS = labels.getString("tags");
         NO_CONTENT = labels.getString("no_content");
+
+        propertiesTableColumns = Collections.unmodifiableList(Arrays.asList(
+                new MarkupTableColumn(NAME_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1h"),
+                new MarkupTableColumn(DESCRIPTION_COLUMN, 6).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^6"),
+                new MarkupTableColumn(REQUIRED_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"),
+                new MarkupTableColumn(SCHEMA_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"),
+                new MarkupTableColumn(DEFAULT_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1")));
     }
 
     /**
@@ -103,11 +172,52 @@ public abstract class MarkupDocument {
      */
     public abstract MarkupDocument build() throws IOException;
 
+    /**
+     * Builds the MarkupDocument into markup-independent plans, which can then be rendered into any markup language.<br/>
+     * Separated operations and definitions are built into their own plan. Hand-written content is looked up for every
+     * markup language. Sharded conversions are not supported.
+     *
+     * @param documentName the name of the document, without extension
+     * @return the plans of the document and of its separated documents, indexed by document path without extension
+     * @throws IOException if the files to include are not readable
+     */
+    public Map<String, DocumentPlan> buildPlans(String documentName) throws IOException {
+        Validate.isTrue(!config.isSharded() && config.getShardMergeUri() == null,
+                "Sharded conversions are not supported by document plans");
+
+        MarkupDocBuilder builder = this.markupDocBuilder;
+        CrossReferenceCache builderCrossReferences = this.crossReferences;
+        InlineSchemaRegistry builderInlineSchemas = this.inlineSchemas;
+        long builderMemoryBudget = this.memoryBudget;
+        this.memoryBudget = 0;
+        this.markupDocBuilder = DocumentPlan.recorder(config.getMarkupLanguage()).withAnchorPrefix(config.getAnchorPrefix());
+        this.crossReferences = new CrossReferenceCache();
+        this.inlineSchemas = new InlineSchemaRegistry();
+        this.separatedPlans = new LinkedHashMap<>();
+        try {
+            build();
+            Map<String, DocumentPlan> plans = new LinkedHashMap<>();
+            plans.put(documentName, DocumentPlan.of(this.markupDocBuilder));
+            plans.putAll(separatedPlans);
+            return plans;
+        } finally {
+            this.markupDocBuilder = builder;
+            this.crossReferences = builderCrossReferences;
+            this.inlineSchemas = builderInlineSchemas;
+            this.memoryBudget = builderMemoryBudget;
+            this.separatedPlans = null;
+        }
+    }
+
     /**
      * Returns a string representation of the document.
      */
     public String toString() {
-        return markupDocBuilder.toString();
+        try {
+            return FileRegion.resolve(markupDocBuilder.toString(), sourceRegions, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read source files", e);
+        }
     }
 
     /**
@@ -119,7 +229,305 @@ public abstract class MarkupDocument {
      * @throws IOException if the file cannot be written
      */
     public void writeToFile(String directory, String fileName, Charset charset) throws IOException {
-        markupDocBuilder.writeToFile(directory, fileName, charset);
+        writeTo(new FolderOutputTarget(directory), fileName, charset);
+    }
+
+    /**
+     * Writes the content of the builder to an output target.
+     *
+     * @param target   the output target
+     * @param fileName the name of the file, without extension
+     * @param charset  the the charset to use for encoding
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo(OutputTarget target, String fileName, Charset charset) throws IOException {
+        writeDocument(target, markupDocBuilder, markupDocBuilder.addfileExtension(fileName), charset);
+    }
+
+    /**
+     * Writes the content of a builder to an output target and notifies the progress listener.
+     *
+     * @param target     the output target
+     * @param docBuilder the builder to write
+     * @param path       the document path relative to the output root, with extension
+     * @param charset    the the charset to use for encoding
+     * @throws IOException if the file cannot be written
+     */
+    protected void writeDocument(OutputTarget target, MarkupDocBuilder docBuilder, String path, Charset charset) throws IOException {
+        writeContent(target, docBuilder.toString(), path, charset);
+        globalContext.progressListener.onFileWritten(target.getLocation(path));
+    }
+
+    private void writeContent(OutputTarget target, String content, String path, Charset charset) throws IOException {
+        if (!sourceRegions.isEmpty() && target instanceof FileRegionOutputTarget && StandardCharsets.UTF_8.equals(charset))
+            ((FileRegionOutputTarget) target).write(path, content, sourceRegions, charset);
+        else
+            target.write(path, FileRegion.resolve(content, sourceRegions, StandardCharsets.UTF_8), charset);
+    }
+
+    /**
+     * Starts writing separated documents on virtual threads, if enabled and available.<br/>
+     * Must be followed by {@link #finishSeparatedDocuments()}.
+     */
+    protected void startSeparatedDocuments() {
+        if (config.isVirtualThreads() && VirtualThreads.isAvailable())
+            separatedDocumentWriter = VirtualThreads.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Writes a separated operation or definition document to the output target of this document.<br/>
+     * When building plans, the plan of the separated document is added to the plans of this document instead.
+     * Write failures are thrown by {@link #finishSeparatedDocuments()}, no further document is written after a failure.
+     *
+     * @param docBuilder the builder to write
+     * @param path       the document path relative to the output root, with extension
+     */
+    protected void writeSeparatedDocument(MarkupDocBuilder docBuilder, final String path) {
+        if (writeFailure != null)
+            return;
+
+        if (separatedPlans != null) {
+            separatedPlans.put(FilenameUtils.separatorsToUnix(FilenameUtils.removeExtension(path)), DocumentPlan.of(docBuilder));
+            return;
+        }
+        Validate.notNull(outputTarget, "Output target is required for separated documents!");
+
+        if (separatedDocumentWriter == null) {
+            try {
+                writeDocument(outputTarget, docBuilder, path, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                addWriteFailure(e);
+            }
+            return;
+        }
+
+        final String content = docBuilder.toString();
+        pendingWrites.add(new PendingWrite(path, separatedDocumentWriter.submit(new Callable<Void>() {
+            public Void call() throws IOException {
+                writeContent(outputTarget, content, path, StandardCharsets.UTF_8);
+                return null;
+            }
+        })));
+    }
+
+    /**
+     * Waits for all separated documents written asynchronously, and notifies the progress listener in document order.
+     *
+     * @throws IOException if a separated document could not be written
+     */
+    protected void finishSeparatedDocuments() throws IOException {
+        if (separatedDocumentWriter != null) {
+            try {
+                for (PendingWrite pendingWrite : pendingWrites) {
+                    try {
+                        pendingWrite.result.get();
+                        globalContext.progressListener.onFileWritten(outputTarget.getLocation(pendingWrite.path));
+                    } catch (ExecutionException e) {
+                        if (e.getCause() instanceof IOException)
+                            addWriteFailure((IOException) e.getCause());
+                        else
+                            addWriteFailure(new IOException(String.format("Failed to write file: %s", outputTarget.getLocation(pendingWrite.path)), e.getCause()));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while writing separated documents", e);
+            } finally {
+                pendingWrites.clear();
+                separatedDocumentWriter.shutdown();
+                separatedDocumentWriter = null;
+            }
+        }
+
+        throwWriteFailure();
+    }
+
+    /**
+     * Records a failure to write a separated document or a fragment file. Subsequent failures are suppressed by the first one.
+     *
+     * @param e the write failure
+     */
+    private void addWriteFailure(IOException e) {
+        if (writeFailure == null)
+            writeFailure = e;
+        else
+            writeFailure.addSuppressed(e);
+    }
+
+    /**
+     * Throws the first failure to write a separated document or a fragment file, if any.
+     *
+     * @throws IOException the write failure
+     */
+    protected void throwWriteFailure() throws IOException {
+        IOException failure = writeFailure;
+        writeFailure = null;
+        if (failure != null)
+            throw failure;
+    }
+
+    /**
+     * Renders an operation or a definition into this document.<br/>
+     * With a memory budget, the fragment is rendered in its own builder. Once the budget is exceeded, the fragment is
+     * spilled to a temporary file and only a placeholder is kept in memory. If the fragment cannot be spilled, it is kept in memory.
+     *
+     * @param fragment renders the fragment into the given builder
+     */
+    protected void renderFragment(Consumer<MarkupDocBuilder> fragment) {
+        if (memoryBudget <= 0) {
+            fragment.accept(this.markupDocBuilder);
+            return;
+        }
+
+        MarkupDocBuilder fragmentDocBuilder = this.markupDocBuilder.copy();
+        fragment.accept(fragmentDocBuilder);
+        String content = fragmentDocBuilder.toString();
+        if (content.isEmpty())
+            return;
+
+        content = removeTrailingLineSeparator(content);
+        fragmentsSize += 2L * content.length();
+        if (fragmentsSize > memoryBudget) {
+            try {
+                content = spill(content);
+            } catch (IOException e) {
+                if (logger.isWarnEnabled()) {
+                    logger.warn(String.format("Failed to spill fragment to file: %s", spillFile), e);
+                }
+            }
+        }
+        this.markupDocBuilder.textLine(content);
+    }
+
+    /**
+     * Fragments are stored without their last line separator, which is appended back by {@link MarkupDocBuilder#textLine(String)}.
+     */
+    private static String removeTrailingLineSeparator(String content) {
+        return StringUtils.removeEnd(StringUtils.removeEnd(content, "\n"), "\r");
+    }
+
+    /**
+     * Returns the path of the fragment file of an operation or a definition, relative to the output root.
+     *
+     * @param folder the separated operations or definitions folder
+     * @param name   the normalized operation id or definition name
+     * @return the fragment file path, with extension
+     */
+    protected String shardFragmentDocument(String folder, String name) {
+        return new File(folder, markupDocBuilder.addfileExtension(name)).getPath();
+    }
+
+    /**
+     * Writes an operation or a definition rendered by a sharded conversion to its fragment file.<br/>
+     * Write failures are thrown by {@link #throwWriteFailure()}, no further fragment is written after a failure.
+     *
+     * @param docBuilder the builder to write
+     * @param path       the fragment file path relative to the output root, with extension
+     */
+    protected void writeShardFragment(MarkupDocBuilder docBuilder, String path) {
+        if (writeFailure != null)
+            return;
+
+        try {
+            writeContent(outputTarget, removeTrailingLineSeparator(docBuilder.toString()), path, StandardCharsets.UTF_8);
+            globalContext.progressListener.onFileWritten(outputTarget.getLocation(path));
+        } catch (IOException e) {
+            addWriteFailure(e);
+        }
+    }
+
+    /**
+     * Includes the fragment file of an operation or a definition rendered by a sharded conversion, if the shard merge is enabled.<br/>
+     * Fragments are transferred to the output when the document is written to a {@link FileRegionOutputTarget}.
+     *
+     * @param path the fragment file path relative to the shard merge folder, with extension
+     * @return true if the fragment has been included, false if it has to be rendered
+     */
+    protected boolean includeShardFragment(String path) {
+        if (shardMergeFolder == null)
+            return false;
+
+        Path fragment = shardMergeFolder.resolve(path);
+        try {
+            if (!Files.isRegularFile(fragment)) {
+                if (logger.isWarnEnabled()) {
+                    logger.warn("Fragment file is missing, rendering it instead: {}", fragment);
+                }
+                return false;
+            }
+
+            String content;
+            if (outputTarget instanceof FileRegionOutputTarget) {
+                content = FileRegion.placeholder(sourceRegions.size());
+                sourceRegions.put(content, new FileRegion(fragment, 0, Files.size(fragment)));
+            } else {
+                content = new String(Files.readAllBytes(fragment), StandardCharsets.UTF_8);
+            }
+            this.markupDocBuilder.textLine(content);
+            globalContext.progressListener.onContentResolved(fragment.toUri());
+            return true;
+        } catch (IOException e) {
+            if (logger.isWarnEnabled()) {
+                logger.warn(String.format("Failed to read fragment file, rendering it instead: %s", fragment), e);
+            }
+            return false;
+        }
+    }
+
+    private String spill(String content) throws IOException {
+        if (spillFile == null) {
+            spillFile = Files.createTempFile("swagger2markup-", ".fragments");
+            if (logger.isDebugEnabled()) {
+                logger.debug("Memory budget of {} bytes exceeded, spilling fragments to {}", memoryBudget, spillFile);
+            }
+        }
+
+        long position;
+        long count;
+        try (FileChannel channel = FileChannel.open(spillFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            position = channel.size();
+            FileRegion.write(content, sourceRegions, StandardCharsets.UTF_8, channel);
+            count = channel.size() - position;
+        }
+
+        String placeholder = FileRegion.placeholder(sourceRegions.size());
+        sourceRegions.put(placeholder, new FileRegion(spillFile, position, count));
+        return placeholder;
+    }
+
+    /**
+     * Deletes the fragments spilled to a temporary file. The document cannot be written afterwards.
+     *
+     * @throws IOException if the temporary file cannot be deleted
+     */
+    @Override
+    public void close() throws IOException {
+        if (spillFile != null) {
+            Files.deleteIfExists(spillFile);
+            spillFile = null;
+        }
+    }
+
+    /**
+     * Returns the trimmed content of a file to include in a source block.<br/>
+     * Large local files are not read: a placeholder is returned instead, and the file bytes are transferred
+     * to the output when the document is written to a {@link FileRegionOutputTarget}.
+     *
+     * @param contentUri the content URI
+     * @return the source content, or a file region placeholder
+     * @throws IOException if the content cannot be read
+     */
+    protected String sourceContent(URI contentUri) throws IOException {
+        if (outputTarget instanceof FileRegionOutputTarget && "file".equals(contentUri.getScheme())) {
+            Path file = Paths.get(contentUri);
+            if (Files.isRegularFile(file) && Files.size(file) >= STREAMED_SOURCE_MIN_SIZE) {
+                String placeholder = FileRegion.placeholder(sourceRegions.size());
+                sourceRegions.put(placeholder, FileRegion.trimmed(file));
+                return placeholder;
+            }
+        }
+
+        return globalContext.contentLoader.load(contentUri).trim();
     }
 
     /**
@@ -130,11 +538,7 @@ public abstract class MarkupDocument {
      * @return a normalized filename
      */
     public static String normalizeName(String name) {
-        String fileName = NAME_FORBIDDEN_PATTERN.matcher(name).replaceAll("_");
-        fileName = fileName.replaceAll(String.format("([%1$s])([%1$s]+)", "-_"), "$1");
-        fileName = StringUtils.strip(fileName, "_-");
-        fileName = fileName.trim().toLowerCase();
-        return fileName;
+        return IOUtils.normalizeName(name);
     }
 
     /**
@@ -149,13 +553,6 @@ public abstract class MarkupDocument {
      */
     protected List<ObjectType> typeProperties(ObjectType type, String uniquePrefix, int depth, PropertyDescriptor propertyDescriptor, DefinitionDocumentResolver definitionDocumentResolver, MarkupDocBuilder docBuilder) {
         List<ObjectType> localDefinitions = new ArrayList<>();
-        List<List<String>> cells = new ArrayList<>();
-        List<MarkupTableColumn> cols = Arrays.asList(
-                new MarkupTableColumn(NAME_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1h"),
-                new MarkupTableColumn(DESCRIPTION_COLUMN, 6).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^6"),
-                new MarkupTableColumn(REQUIRED_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"),
-                new MarkupTableColumn(SCHEMA_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"),
-                new MarkupTableColumn(DEFAULT_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"));
         if (MapUtils.isNotEmpty(type.getProperties())) {
             Set<String> propertyNames;
             if (config.getPropertyOrdering() == null)
@@ -164,16 +561,22 @@ public abstract class MarkupDocument {
                 propertyNames = new TreeSet<>(config.getPropertyOrdering());
             propertyNames.addAll(type.getProperties().keySet());
 
+            List<List<String>> cells = new ArrayList<>(propertyNames.size());
+
             for (String propertyName: propertyNames) {
                 Property property = type.getProperties().get(propertyName);
                 Type propertyType = PropertyUtils.getType(property, definitionDocumentResolver);
                 if (depth > 0 && propertyType instanceof ObjectType) {
                     if (MapUtils.isNotEmpty(((ObjectType) propertyType).getProperties())) {
                         propertyType.setName(propertyName);
-                        propertyType.setUniqueName(uniquePrefix + " " + propertyName);
-                        localDefinitions.add((ObjectType)propertyType);
-
-                        propertyType = new RefType(propertyType);
+                        String ancestorAnchor = inlineSchemas.getAncestorAnchor((ObjectType) propertyType);
+                        if (ancestorAnchor != null) {
+                            propertyType.setUniqueName(ancestorAnchor);
+                            propertyType = new RefType(propertyType);
+                        } else {
+                            propertyType.setUniqueName(uniquePrefix + " " + propertyName);
+                            propertyType = inlineDefinitionRef((ObjectType) propertyType, depth - 1, localDefinitions);
+                        }
                     }
                 }
 
@@ -181,11 +584,11 @@ public abstract class MarkupDocument {
                         propertyName,
                         propertyDescriptor.getDescription(property, propertyName),
                         Boolean.toString(property.getRequired()),
-                        propertyType.displaySchema(docBuilder),
+                        propertyType.displaySchema(docBuilder, crossReferences),
                         PropertyUtils.getDefaultValue(property));
                 cells.add(content);
             }
-            docBuilder.tableWithColumnSpecs(cols, cells);
+            docBuilder.tableWithColumnSpecs(propertiesTableColumns, cells);
         } else {
             docBuilder.textLine(NO_CONTENT);
         }
@@ -193,6 +596,89 @@ public abstract class MarkupDocument {
         return localDefinitions;
     }
 
+    /**
+     * Registers an inline schema for later display, and returns the reference to display in place of the schema.<br/>
+     * If the same schema instance has already been registered with the same depth in the current output file, e.g. in
+     * diamond-shaped structures, the schema is not registered again and the reference targets the first expansion instead.
+     * If inline schema deduplication is enabled, the same applies to structurally identical schemas.
+     *
+     * @param type             inline schema, with its unique name set
+     * @param depth            inline schema depth the schema will be displayed with
+     * @param localDefinitions inline schemas to display
+     * @return the reference to the inline schema
+     */
+    protected RefType inlineDefinitionRef(ObjectType type, int depth, List<ObjectType> localDefinitions) {
+        String anchor = inlineSchemas.getExpansionAnchor(type, depth);
+        if (anchor == null && config.isInlineSchemaDeduplication()) {
+            String fingerprint = inlineSchemaFingerprint(type, depth);
+            anchor = inlineSchemas.getAnchor(fingerprint);
+            if (anchor == null)
+                inlineSchemas.putAnchor(fingerprint, type.getUniqueName());
+        }
+        if (anchor != null) {
+            type.setUniqueName(anchor);
+            return new RefType(type);
+        }
+
+        inlineSchemas.putExpansionAnchor(type, depth);
+        localDefinitions.add(type);
+        return new RefType(type);
+    }
+
+    /**
+     * Computes the fingerprint used for inline schema deduplication.
+     *
+     * @param type  inline schema
+     * @param depth inline schema depth the schema will be displayed with
+     * @return the fingerprint
+     */
+    protected String inlineSchemaFingerprint(ObjectType type, int depth) {
+        return depth + ":" + PropertyUtils.getFingerprint(type.getProperties());
+    }
+
+    /**
+     * Returns the builders to build content depending on the markup language with, like hand-written content files.<br/>
+     * When building plans, the content is computed for every markup language. If it differs, it is built with one
+     * builder per markup language, whose content is only rendered into this markup language.
+     *
+     * @param docBuilder the current builder
+     * @param content    computes the content for a markup language
+     * @param <T>        the content type
+     * @return the content to build with each builder
+     */
+    protected <T> Map<MarkupDocBuilder, T> languageContent(MarkupDocBuilder docBuilder, Function<MarkupLanguage, T> content) {
+        if (!DocumentPlan.isRecorder(docBuilder))
+            return Collections.singletonMap(docBuilder, content.apply(config.getMarkupLanguage()));
+
+        Map<MarkupLanguage, T> contents = new EnumMap<>(MarkupLanguage.class);
+        for (MarkupLanguage markupLanguage : MarkupLanguage.values())
+            contents.put(markupLanguage, content.apply(markupLanguage));
+        if (new HashSet<>(contents.values()).size() == 1)
+            return Collections.singletonMap(docBuilder, contents.get(config.getMarkupLanguage()));
+
+        Map<MarkupDocBuilder, T> languageContents = new LinkedHashMap<>();
+        for (Map.Entry<MarkupLanguage, MarkupDocBuilder> languageBuilder : DocumentPlan.languageBuilders(docBuilder, config.getMarkupLanguage()).entrySet())
+            languageContents.put(languageBuilder.getValue(), contents.get(languageBuilder.getKey()));
+        return languageContents;
+    }
+
+    /**
+     * Returns a text depending on the markup language, like a hand-written description in a table cell.<br/>
+     * When building plans, the text is computed for every markup language, and is rendered with the text of the target markup language.
+     *
+     * @param content computes the text for a markup language
+     * @return the text to build
+     */
+    protected String contentText(Function<MarkupLanguage, String> content) {
+        if (!DocumentPlan.isRecorder(markupDocBuilder))
+            return content.apply(config.getMarkupLanguage());
+
+        Map<MarkupLanguage, String> texts = new EnumMap<>(MarkupLanguage.class);
+        for (MarkupLanguage markupLanguage : MarkupLanguage.values())
+            texts.put(markupLanguage, content.apply(markupLanguage));
+        return DocumentPlan.localizedText(markupDocBuilder, texts);
+    }
+
     /**
      * Reads an extension
      *
@@ -202,11 +688,10 @@ public abstract class MarkupDocument {
     protected Optional<FileReader> operationExtension(File extension) {
 
         if (Files.isReadable(extension.toPath())) {
-            if (logger.isInfoEnabled()) {
-                logger.info("Extension file processed: {}", extension);
-            }
             try {
-                return Optional.of(new FileReader(extension));
+                FileReader reader = new FileReader(extension);
+                globalContext.progressListener.onContentResolved(extension.toURI());
+                return Optional.of(reader);
             } catch (IOException e) {
                 if (logger.isWarnEnabled()) {
                     logger.warn(String.format("Failed to read extension file: %s", extension), e);
@@ -243,12 +728,22 @@ public abstract class MarkupDocument {
         public DefinitionDocumentResolverDefault() {}
 
         public String apply(String definitionName) {
-            if (!config.isInterDocumentCrossReferences() || outputDirectory == null)
+            return link(definitionName, DefinitionLinkTable.Origin.DOCUMENT);
+        }
+
+        /**
+         * Looks up the cross-reference target of a definition in the link table of the conversion.<br/>
+         * Plans are built with the links of a conversion into files, since each plan is a document file.
+         *
+         * @param definitionName the definition name
+         * @param origin         the document containing the reference
+         * @return the document of the definition, or null if no inter-document cross-reference should be generated
+         */
+        protected String link(String definitionName, DefinitionLinkTable.Origin origin) {
+            if (!config.isInterDocumentCrossReferences() || (outputTarget == null && separatedPlans == null))
                 return null;
-            else if (config.isSeparatedDefinitions())
-                return defaultString(config.getInterDocumentCrossReferencesPrefix()) + new File(config.getSeparatedDefinitionsFolder(), markupDocBuilder.addfileExtension(IOUtils.normalizeName(definitionName))).getPath();
             else
-                return defaultString(config.getInterDocumentCrossReferencesPrefix()) + markupDocBuilder.addfileExtension(config.getDefinitionsDocument());
+                return globalContext.definitionLinks.get(definitionName, origin);
         }
     }
 }
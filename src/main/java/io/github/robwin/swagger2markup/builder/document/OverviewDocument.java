@@ -20,6 +20,7 @@ package io.github.robwin.swagger2markup.builder.document;
 
 import io.github.robwin.swagger2markup.Swagger2MarkupConverter;
 import io.github.robwin.swagger2markup.extension.OverviewContentExtension;
+import io.github.robwin.swagger2markup.output.OutputTarget;
 import io.swagger.models.*;
 
 import java.util.ArrayList;
@@ -47,8 +48,8 @@ public class OverviewDocument extends MarkupDocument {
     private final String BASE_PATH;
     private final String SCHEMES;
 
-    public OverviewDocument(Swagger2MarkupConverter.Context context, String outputDirectory){
-        super(context, outputDirectory);
+    public OverviewDocument(Swagger2MarkupConverter.Context context, OutputTarget outputTarget){
+        super(context, outputTarget);
 
         ResourceBundle labels = ResourceBundle.getBundle("lang/labels", config.getOutputLanguage().toLocale());
         OVERVIEW = labels.getString("overview");
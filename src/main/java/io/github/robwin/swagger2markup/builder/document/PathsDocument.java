@@ -18,22 +18,25 @@
  */
 package io.github.robwin.swagger2markup.builder.document;
 
+import com.google.common.base.Function;
 import com.google.common.base.Joiner;
 import com.google.common.base.Optional;
-import com.google.common.collect.Multimap;
 import io.github.robwin.markup.builder.MarkupDocBuilder;
-import io.github.robwin.markup.builder.MarkupDocBuilders;
 import io.github.robwin.markup.builder.MarkupLanguage;
 import io.github.robwin.markup.builder.MarkupTableColumn;
+import io.github.robwin.swagger2markup.DefinitionLinkTable;
 import io.github.robwin.swagger2markup.GroupBy;
 import io.github.robwin.swagger2markup.PathOperation;
+import io.github.robwin.swagger2markup.PathOperationIndex;
 import io.github.robwin.swagger2markup.Swagger2MarkupConverter;
 import io.github.robwin.swagger2markup.extension.OperationsContentExtension;
+import io.github.robwin.swagger2markup.output.OutputTarget;
 import io.github.robwin.swagger2markup.type.ObjectType;
-import io.github.robwin.swagger2markup.type.RefType;
 import io.github.robwin.swagger2markup.type.Type;
+import io.github.robwin.swagger2markup.utils.Consumer;
 import io.github.robwin.swagger2markup.utils.ParameterUtils;
 import io.github.robwin.swagger2markup.utils.PropertyUtils;
+import io.github.robwin.swagger2markup.utils.TagOperationGroups;
 import io.github.robwin.swagger2markup.utils.TagUtils;
 import io.swagger.models.*;
 import io.swagger.models.auth.SecuritySchemeDefinition;
@@ -41,17 +44,12 @@ import io.swagger.models.parameters.Parameter;
 import io.swagger.models.properties.Property;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
-import org.apache.commons.io.FilenameUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.text.WordUtils;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.Reader;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 import static io.github.robwin.swagger2markup.utils.TagUtils.convertTagsListToMap;
@@ -84,9 +82,13 @@ public class PathsDocument extends MarkupDocument {
     private static final String CURL_EXAMPLE_FILE_NAME = "curl-request";
     private static final String DESCRIPTION_FILE_NAME = "description";
 
+    private final List<MarkupTableColumn> parametersTableColumns;
+    private final List<MarkupTableColumn> securityTableColumns;
+    private final List<MarkupTableColumn> responsesTableColumns;
 
-    public PathsDocument(Swagger2MarkupConverter.Context globalContext, String outputDirectory) {
-        super(globalContext, outputDirectory);
+
+    public PathsDocument(Swagger2MarkupConverter.Context globalContext, OutputTarget outputTarget) {
+        super(globalContext, outputTarget);
 
         ResourceBundle labels = ResourceBundle.getBundle("lang/labels", config.getOutputLanguage().toLocale());
         RESPONSE = labels.getString("response");
@@ -102,6 +104,22 @@ public class PathsDocument extends MarkupDocument {
         TYPE_COLUMN = labels.getString("type_column");
         HTTP_CODE_COLUMN = labels.getString("http_code_column");
 
+        parametersTableColumns = Collections.unmodifiableList(Arrays.asList(
+                new MarkupTableColumn(TYPE_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1h"),
+                new MarkupTableColumn(NAME_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1h"),
+                new MarkupTableColumn(DESCRIPTION_COLUMN, 6).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^6"),
+                new MarkupTableColumn(REQUIRED_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"),
+                new MarkupTableColumn(SCHEMA_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"),
+                new MarkupTableColumn(DEFAULT_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1")));
+        securityTableColumns = Collections.unmodifiableList(Arrays.asList(
+                new MarkupTableColumn(TYPE_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"),
+                new MarkupTableColumn(NAME_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1h"),
+                new MarkupTableColumn(SCOPES_COLUMN, 6).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^6")));
+        responsesTableColumns = Collections.unmodifiableList(Arrays.asList(
+                new MarkupTableColumn(HTTP_CODE_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1h"),
+                new MarkupTableColumn(DESCRIPTION_COLUMN, 6).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^6"),
+                new MarkupTableColumn(SCHEMA_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1")));
+
         if (config.isExamples()) {
             if (logger.isDebugEnabled()) {
                 logger.debug("Include examples is enabled.");
@@ -125,7 +143,6 @@ public class PathsDocument extends MarkupDocument {
             if (logger.isDebugEnabled()) {
                 logger.debug("Create separated operation files is enabled.");
             }
-            Validate.notEmpty(outputDirectory, "Output directory is required for separated operation files!");
         } else {
             if (logger.isDebugEnabled()) {
                 logger.debug("Create separated operation files is disabled.");
@@ -139,21 +156,41 @@ public class PathsDocument extends MarkupDocument {
      * @return the the paths markup document
      */
     @Override
-    public MarkupDocument build() {
-        operations();
+    public MarkupDocument build() throws IOException {
+        if (config.isSharded()) {
+            operationFragments();
+            throwWriteFailure();
+            return this;
+        }
+
+        startSeparatedDocuments();
+        try {
+            operations();
+        } finally {
+            finishSeparatedDocuments();
+        }
         return this;
     }
 
-    private void addPathsTitle(String title) {
-        this.markupDocBuilder.sectionTitleWithAnchorLevel1(title, PATHS_ANCHOR);
+    /**
+     * Builds a single operation, without the paths document title and extensions.
+     *
+     * @param operation the operation to build
+     * @return the operation markup document
+     */
+    public MarkupDocument buildOperation(PathOperation operation) {
+        operation(operation, this.markupDocBuilder);
+        return this;
     }
 
     /**
-     * Builds all operations of the Swagger model. Either grouped as-is or by tags.
+     * Collects all operations of the Swagger model, in Swagger order.
+     *
+     * @param paths the Swagger paths
+     * @return all operations
      */
-    private void operations() {
+    public static Set<PathOperation> collectOperations(Map<String, Path> paths) {
         Set<PathOperation> allOperations = new LinkedHashSet<>();
-        Map<String, Path> paths = globalContext.swagger.getPaths();
 
         if (paths != null) {
             for (Map.Entry<String, Path> path : paths.entrySet()) {
@@ -167,6 +204,19 @@ public class PathsDocument extends MarkupDocument {
             }
         }
 
+        return allOperations;
+    }
+
+    private void addPathsTitle(String title) {
+        this.markupDocBuilder.sectionTitleWithAnchorLevel1(title, PATHS_ANCHOR);
+    }
+
+    /**
+     * Builds all operations of the Swagger model. Either grouped as-is or by tags.
+     */
+    private void operations() {
+        Set<PathOperation> allOperations = globalContext.operationIndex.getOperations();
+
         if (allOperations.size() > 0) {
 
             applyOperationExtension(new OperationsContentExtension.Context(OperationsContentExtension.Position.DOC_BEFORE, this.markupDocBuilder, null));
@@ -189,10 +239,10 @@ public class PathsDocument extends MarkupDocument {
                     processOperation(operation);
                 }
             } else {
-                Multimap<String, PathOperation> operationsGroupedByTag = TagUtils.groupOperationsByTag(allOperations, config.getTagOrdering(), config.getOperationOrdering());
+                TagOperationGroups operationsGroupedByTag = TagUtils.groupOperationsByTag(allOperations, globalContext.swagger.getTags(), config.getTagOrdering(), config.getOperationOrdering());
 
                 Map<String, Tag> tagsMap = convertTagsListToMap(globalContext.swagger.getTags());
-                for (String tagName : operationsGroupedByTag.keySet()) {
+                for (String tagName : operationsGroupedByTag.getTags()) {
                     this.markupDocBuilder.sectionTitleLevel2(WordUtils.capitalize(tagName));
 
                     Optional<String> tagDescription = getTagDescription(tagsMap, tagName);
@@ -200,7 +250,7 @@ public class PathsDocument extends MarkupDocument {
                         this.markupDocBuilder.paragraph(tagDescription.get());
                     }
 
-                    for (PathOperation operation : operationsGroupedByTag.get(tagName)) {
+                    for (PathOperation operation : operationsGroupedByTag.getOperations(tagName)) {
                         processOperation(operation);
                     }
                 }
@@ -230,10 +280,7 @@ public class PathsDocument extends MarkupDocument {
      * @return operation filename
      */
     private String resolveOperationDocument(PathOperation operation) {
-        if (config.isSeparatedOperations())
-            return new File(config.getSeparatedOperationsFolder(), this.markupDocBuilder.addfileExtension(normalizeName(operation.getId()))).getPath();
-        else
-            return this.markupDocBuilder.addfileExtension(config.getPathsDocument());
+        return globalContext.operationIndex.get(operation).getDocument();
     }
 
     /**
@@ -241,34 +288,49 @@ public class PathsDocument extends MarkupDocument {
      *
      * @param operation operation
      */
-    private void processOperation(PathOperation operation) {
+    private void processOperation(final PathOperation operation) {
         if (config.isSeparatedOperations()) {
             MarkupDocBuilder pathDocBuilder = this.markupDocBuilder.copy();
+            inlineSchemas.clear();
             operation(operation, pathDocBuilder);
-            File operationFile = new File(outputDirectory, resolveOperationDocument(operation));
+            inlineSchemas.clear();
+            writeSeparatedDocument(pathDocBuilder, resolveOperationDocument(operation));
 
-            try {
-                String operationDirectory = FilenameUtils.getFullPath(operationFile.getPath());
-                String operationFileName = FilenameUtils.getName(operationFile.getPath());
+            operationRef(operation, this.markupDocBuilder);
 
-                pathDocBuilder.writeToFileWithoutExtension(operationDirectory, operationFileName, StandardCharsets.UTF_8);
-            } catch (IOException e) {
-                if (logger.isWarnEnabled()) {
-                    logger.warn(String.format("Failed to write operation file: %s", operationFile), e);
+        } else if (!includeShardFragment(resolveOperationFragment(operation))) {
+            renderFragment(new Consumer<MarkupDocBuilder>() {
+                public void accept(MarkupDocBuilder docBuilder) {
+                    operation(operation, docBuilder);
                 }
-            }
-            if (logger.isInfoEnabled()) {
-                logger.info("Separate operation file produced: {}", operationFile);
-            }
+            });
+        }
 
-            operationRef(operation, this.markupDocBuilder);
+        globalContext.progressListener.onOperationRendered(operation);
+    }
 
-        } else {
-            operation(operation, this.markupDocBuilder);
-        }
+    /**
+     * Create the operation fragment filename of sharded conversions
+     *
+     * @param operation operation
+     * @return operation fragment filename
+     */
+    private String resolveOperationFragment(PathOperation operation) {
+        return shardFragmentDocument(config.getSeparatedOperationsFolder(), globalContext.operationIndex.get(operation).getFolderName());
+    }
 
-        if (logger.isInfoEnabled()) {
-            logger.info("Operation processed: {}", operation);
+    /**
+     * Renders the operations of the shard of this conversion to fragment files.
+     */
+    private void operationFragments() {
+        for (PathOperation operation : globalContext.operationIndex.getOperations()) {
+            if (shardPartition.contains(operation)) {
+                MarkupDocBuilder fragmentDocBuilder = this.markupDocBuilder.copy();
+                inlineSchemas.clear();
+                operation(operation, fragmentDocBuilder);
+                writeShardFragment(fragmentDocBuilder, resolveOperationFragment(operation));
+                globalContext.progressListener.onOperationRendered(operation);
+            }
         }
     }
 
@@ -280,7 +342,7 @@ public class PathsDocument extends MarkupDocument {
      * @return operation name
      */
     private String operationName(PathOperation operation) {
-        return operation.getTitle();
+        return globalContext.operationIndex.get(operation).getTitle();
     }
 
     /**
@@ -291,12 +353,14 @@ public class PathsDocument extends MarkupDocument {
      */
     private void operation(PathOperation operation, MarkupDocBuilder docBuilder) {
         if (operation != null) {
+            String inlinePrefix = operation.getPath() + " " + operation.getMethod();
+
             applyOperationExtension(new OperationsContentExtension.Context(OperationsContentExtension.Position.OP_BEGIN, docBuilder, operation));
             operationTitle(operation, docBuilder);
             descriptionSection(operation, docBuilder);
-            inlineDefinitions(parametersSection(operation, docBuilder), operation.getPath() + " " + operation.getMethod(), config.getInlineSchemaDepthLevel(), docBuilder);
-            inlineDefinitions(bodyParameterSection(operation, docBuilder), operation.getPath() + " " + operation.getMethod(), config.getInlineSchemaDepthLevel(), docBuilder);
-            inlineDefinitions(responsesSection(operation, docBuilder), operation.getPath() + " " + operation.getMethod(), config.getInlineSchemaDepthLevel(), docBuilder);
+            inlineDefinitions(parametersSection(operation, docBuilder), inlinePrefix, config.getInlineSchemaDepthLevel(), docBuilder);
+            inlineDefinitions(bodyParameterSection(operation, docBuilder), inlinePrefix, config.getInlineSchemaDepthLevel(), docBuilder);
+            inlineDefinitions(responsesSection(operation, docBuilder), inlinePrefix, config.getInlineSchemaDepthLevel(), docBuilder);
             consumesSection(operation, docBuilder);
             producesSection(operation, docBuilder);
             tagsSection(operation, docBuilder);
@@ -313,10 +377,9 @@ public class PathsDocument extends MarkupDocument {
      * @param docBuilder the docbuilder do use for output
      */
     private void operationRef(PathOperation operation, MarkupDocBuilder docBuilder) {
-        String document = resolveOperationDocument(operation);
-        String operationName = operationName(operation);
+        PathOperationIndex.Entry entry = globalContext.operationIndex.get(operation);
 
-        addOperationTitle(docBuilder.copy().crossReference(document, operationName, operationName).toString(), "ref-" + operationName, docBuilder);
+        addOperationTitle(crossReferences.crossReference(docBuilder, entry.getDocument(), entry.getAnchor(), entry.getTitle()), "ref-" + entry.getAnchor(), docBuilder);
     }
 
     /**
@@ -376,16 +439,20 @@ public class PathsDocument extends MarkupDocument {
      * @param operation  the Swagger Operation
      * @param docBuilder the docbuilder do use for output
      */
-    private void descriptionSection(PathOperation operation, MarkupDocBuilder docBuilder) {
+    private void descriptionSection(final PathOperation operation, MarkupDocBuilder docBuilder) {
         if (config.isOperationDescriptions()) {
-            Optional<String> description = handWrittenOperationDescription(normalizeName(operation.getId()), DESCRIPTION_FILE_NAME);
-            if (!description.isPresent())
-                description = handWrittenOperationDescription(normalizeName(operation.getTitle()), DESCRIPTION_FILE_NAME);
-
-            if (description.isPresent()) {
-                operationDescription(description.get(), docBuilder);
-            } else {
-                operationDescription(operation.getOperation().getDescription(), docBuilder);
+            final PathOperationIndex.Entry entry = globalContext.operationIndex.get(operation);
+            Map<MarkupDocBuilder, String> descriptions = languageContent(docBuilder, new Function<MarkupLanguage, String>() {
+                public String apply(MarkupLanguage markupLanguage) {
+                    Optional<String> description = handWrittenOperationDescription(entry.getFolderName(), DESCRIPTION_FILE_NAME, markupLanguage);
+                    if (!description.isPresent())
+                        description = handWrittenOperationDescription(entry.getTitleFolderName(), DESCRIPTION_FILE_NAME, markupLanguage);
+
+                    return description.or(defaultString(operation.getOperation().getDescription()));
+                }
+            });
+            for (Map.Entry<MarkupDocBuilder, String> description : descriptions.entrySet()) {
+                operationDescription(description.getValue(), description.getKey());
             }
         } else {
             operationDescription(operation.getOperation().getDescription(), docBuilder);
@@ -410,6 +477,7 @@ public class PathsDocument extends MarkupDocument {
     }
 
     private List<ObjectType> parametersSection(PathOperation operation, MarkupDocBuilder docBuilder) {
+        String operationId = globalContext.operationIndex.get(operation).getId();
         List<Parameter> parameters = operation.getOperation().getParameters();
         if (config.getParameterOrdering() != null)
             Collections.sort(parameters, config.getParameterOrdering());
@@ -424,14 +492,7 @@ public class PathsDocument extends MarkupDocument {
                 }
 
         if (displayParameters) {
-            List<List<String>> cells = new ArrayList<>();
-            List<MarkupTableColumn> cols = Arrays.asList(
-                    new MarkupTableColumn(TYPE_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1h"),
-                    new MarkupTableColumn(NAME_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1h"),
-                    new MarkupTableColumn(DESCRIPTION_COLUMN, 6).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^6"),
-                    new MarkupTableColumn(REQUIRED_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"),
-                    new MarkupTableColumn(SCHEMA_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"),
-                    new MarkupTableColumn(DEFAULT_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"));
+            List<List<String>> cells = new ArrayList<>(parameters.size());
             for (Parameter parameter : parameters) {
                 if (filterParameter(parameter)) {
                     Type type = ParameterUtils.getType(parameter, new DefinitionDocumentResolverFromOperation());
@@ -441,9 +502,8 @@ public class PathsDocument extends MarkupDocument {
                             String localTypeName = parameter.getName();
 
                             type.setName(localTypeName);
-                            type.setUniqueName(operation.getId() + " " + localTypeName);
-                            localDefinitions.add((ObjectType) type);
-                            type = new RefType(type);
+                            type.setUniqueName(operationId + " " + localTypeName);
+                            type = inlineDefinitionRef((ObjectType) type, config.getInlineSchemaDepthLevel(), localDefinitions);
                         }
                     }
                     String parameterType = WordUtils.capitalize(parameter.getIn());
@@ -453,13 +513,13 @@ public class PathsDocument extends MarkupDocument {
                             parameter.getName(),
                             parameterDescription(operation, parameter),
                             Boolean.toString(parameter.getRequired()),
-                            type.displaySchema(markupDocBuilder),
+                            type.displaySchema(markupDocBuilder, crossReferences),
                             ParameterUtils.getDefaultValue(parameter));
                     cells.add(content);
                 }
             }
             addOperationSectionTitle(PARAMETERS, docBuilder);
-            docBuilder.tableWithColumnSpecs(cols, cells);
+            docBuilder.tableWithColumnSpecs(parametersTableColumns, cells);
         }
 
         return localDefinitions;
@@ -487,17 +547,17 @@ public class PathsDocument extends MarkupDocument {
                             docBuilder.paragraph(parameter.getDescription());
                         }
 
-                        MarkupDocBuilder typeInfos = MarkupDocBuilders.documentBuilder(config.getMarkupLanguage());
+                        MarkupDocBuilder typeInfos = docBuilder.copy();
                         typeInfos.italicText(REQUIRED_COLUMN).textLine(": " + parameter.getRequired());
                         typeInfos.italicText(NAME_COLUMN).textLine(": " + parameter.getName());
                         if (!(type instanceof ObjectType)) {
-                            typeInfos.italicText(TYPE_COLUMN).textLine(": " + type.displaySchema(docBuilder));
+                            typeInfos.italicText(TYPE_COLUMN).textLine(": " + type.displaySchema(docBuilder, crossReferences));
 
                             docBuilder.paragraph(typeInfos.toString());
                         } else {
                             docBuilder.paragraph(typeInfos.toString());
 
-                            localDefinitions.addAll(typeProperties((ObjectType) type, operation.getId(), config.getInlineSchemaDepthLevel(), new PropertyDescriptor(type), new DefinitionDocumentResolverFromOperation(), docBuilder));
+                            localDefinitions.addAll(typeProperties((ObjectType) type, globalContext.operationIndex.get(operation).getId(), config.getInlineSchemaDepthLevel(), new PropertyDescriptor(type), new DefinitionDocumentResolverFromOperation(), docBuilder));
                         }
                     }
                 }
@@ -520,19 +580,20 @@ public class PathsDocument extends MarkupDocument {
      * @param parameter the Swagger Parameter
      * @return the description of a parameter.
      */
-    private String parameterDescription(final PathOperation operation, Parameter parameter) {
+    private String parameterDescription(final PathOperation operation, final Parameter parameter) {
         if (config.isOperationDescriptions()) {
             final String parameterName = parameter.getName();
             if (isNotBlank(parameterName)) {
-                Optional<String> description = handWrittenOperationDescription(new File(normalizeName(operation.getId()), parameterName).getPath(), DESCRIPTION_FILE_NAME);
-                if (!description.isPresent())
-                    description = handWrittenOperationDescription(new File(normalizeName(operation.getTitle()), parameterName).getPath(), DESCRIPTION_FILE_NAME);
-
-                if (description.isPresent()) {
-                    return description.get();
-                } else {
-                    return defaultString(parameter.getDescription());
-                }
+                final PathOperationIndex.Entry entry = globalContext.operationIndex.get(operation);
+                return contentText(new Function<MarkupLanguage, String>() {
+                    public String apply(MarkupLanguage markupLanguage) {
+                        Optional<String> description = handWrittenOperationDescription(new File(entry.getFolderName(), parameterName).getPath(), DESCRIPTION_FILE_NAME, markupLanguage);
+                        if (!description.isPresent())
+                            description = handWrittenOperationDescription(new File(entry.getTitleFolderName(), parameterName).getPath(), DESCRIPTION_FILE_NAME, markupLanguage);
+
+                        return description.or(defaultString(parameter.getDescription()));
+                    }
+                });
             } else {
                 return defaultString(parameter.getDescription());
             }
@@ -588,52 +649,70 @@ public class PathsDocument extends MarkupDocument {
      */
     private void examplesSection(PathOperation operation, MarkupDocBuilder docBuilder) {
         if (config.isExamples()) {
-            Optional<String> curlExample = example(normalizeName(operation.getId()), CURL_EXAMPLE_FILE_NAME);
-            if (!curlExample.isPresent())
-                curlExample = example(normalizeName(operation.getTitle()), CURL_EXAMPLE_FILE_NAME);
-
-            if (curlExample.isPresent()) {
-                addOperationSectionTitle(EXAMPLE_CURL, docBuilder);
-                docBuilder.paragraph(curlExample.get());
-            }
-
-            Optional<String> requestExample = example(normalizeName(operation.getId()), REQUEST_EXAMPLE_FILE_NAME);
-            if (!requestExample.isPresent())
-                requestExample = example(normalizeName(operation.getTitle()), REQUEST_EXAMPLE_FILE_NAME);
-
-            if (requestExample.isPresent()) {
-                addOperationSectionTitle(EXAMPLE_REQUEST, docBuilder);
-                docBuilder.paragraph(requestExample.get());
-            }
+            final PathOperationIndex.Entry entry = globalContext.operationIndex.get(operation);
+            Map<MarkupDocBuilder, List<Optional<String>>> examples = languageContent(docBuilder, new Function<MarkupLanguage, List<Optional<String>>>() {
+                public List<Optional<String>> apply(MarkupLanguage markupLanguage) {
+                    return Arrays.asList(
+                            example(entry, CURL_EXAMPLE_FILE_NAME, markupLanguage),
+                            example(entry, REQUEST_EXAMPLE_FILE_NAME, markupLanguage),
+                            example(entry, RESPONSE_EXAMPLE_FILE_NAME, markupLanguage));
+                }
+            });
+            for (Map.Entry<MarkupDocBuilder, List<Optional<String>>> languageExamples : examples.entrySet()) {
+                MarkupDocBuilder exampleDocBuilder = languageExamples.getKey();
+                Optional<String> curlExample = languageExamples.getValue().get(0);
+                if (curlExample.isPresent()) {
+                    addOperationSectionTitle(EXAMPLE_CURL, exampleDocBuilder);
+                    exampleDocBuilder.paragraph(curlExample.get());
+                }
 
-            Optional<String> responseExample = example(normalizeName(operation.getId()), RESPONSE_EXAMPLE_FILE_NAME);
-            if (!responseExample.isPresent())
-                responseExample = example(normalizeName(operation.getTitle()), RESPONSE_EXAMPLE_FILE_NAME);
+                Optional<String> requestExample = languageExamples.getValue().get(1);
+                if (requestExample.isPresent()) {
+                    addOperationSectionTitle(EXAMPLE_REQUEST, exampleDocBuilder);
+                    exampleDocBuilder.paragraph(requestExample.get());
+                }
 
-            if (responseExample.isPresent()) {
-                addOperationSectionTitle(EXAMPLE_RESPONSE, docBuilder);
-                docBuilder.paragraph(responseExample.get());
+                Optional<String> responseExample = languageExamples.getValue().get(2);
+                if (responseExample.isPresent()) {
+                    addOperationSectionTitle(EXAMPLE_RESPONSE, exampleDocBuilder);
+                    exampleDocBuilder.paragraph(responseExample.get());
+                }
             }
         }
     }
 
+    /**
+     * Reads an example from the operation folder, or else from the operation title folder
+     *
+     * @param entry           the operation index entry
+     * @param exampleFileName the name of the example file
+     * @param markupLanguage  the markup language of the example file
+     * @return the content of the file
+     */
+    private Optional<String> example(PathOperationIndex.Entry entry, String exampleFileName, MarkupLanguage markupLanguage) {
+        Optional<String> example = example(entry.getFolderName(), exampleFileName, markupLanguage);
+        if (!example.isPresent())
+            example = example(entry.getTitleFolderName(), exampleFileName, markupLanguage);
+        return example;
+    }
+
     /**
      * Reads an example
      *
      * @param exampleFolder   the name of the folder where the example file resides
      * @param exampleFileName the name of the example file
+     * @param markupLanguage  the markup language of the example file
      * @return the content of the file
      */
-    private Optional<String> example(String exampleFolder, String exampleFileName) {
-        for (String fileNameExtension : config.getMarkupLanguage().getFileNameExtensions()) {
+    private Optional<String> example(String exampleFolder, String exampleFileName, MarkupLanguage markupLanguage) {
+        for (String fileNameExtension : markupLanguage.getFileNameExtensions()) {
             URI contentUri = config.getExamplesUri().resolve(exampleFolder).resolve(exampleFileName + fileNameExtension);
 
-            try (Reader reader = io.github.robwin.swagger2markup.utils.IOUtils.uriReader(contentUri)) {
-                if (logger.isInfoEnabled()) {
-                    logger.info("Example content processed {}", contentUri);
-                }
+            try {
+                String content = globalContext.contentLoader.load(contentUri);
+                globalContext.progressListener.onContentResolved(contentUri);
 
-                return Optional.of(IOUtils.toString(reader).trim());
+                return Optional.of(content.trim());
             } catch (IOException e) {
                 if (logger.isDebugEnabled()) {
                     logger.debug("Failed to read example content {} > {}", contentUri, e.getMessage());
@@ -656,10 +735,6 @@ public class PathsDocument extends MarkupDocument {
             addOperationSectionTitle(SECURITY, docBuilder);
             Map<String, SecuritySchemeDefinition> securityDefinitions = globalContext.swagger.getSecurityDefinitions();
             List<List<String>> cells = new ArrayList<>();
-            List<MarkupTableColumn> cols = Arrays.asList(
-                    new MarkupTableColumn(TYPE_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"),
-                    new MarkupTableColumn(NAME_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1h"),
-                    new MarkupTableColumn(SCOPES_COLUMN, 6).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^6"));
             for (Map<String, List<String>> securityScheme : securitySchemes) {
                 for (Map.Entry<String, List<String>> securityEntry : securityScheme.entrySet()) {
                     String securityKey = securityEntry.getKey();
@@ -667,12 +742,12 @@ public class PathsDocument extends MarkupDocument {
                     if (securityDefinitions != null && securityDefinitions.containsKey(securityKey)) {
                         type = securityDefinitions.get(securityKey).getType();
                     }
-                    List<String> content = Arrays.asList(type, docBuilder.copy().crossReference(securityKey, securityKey).toString(),
+                    List<String> content = Arrays.asList(type, crossReferences.crossReference(docBuilder, securityKey, securityKey),
                             Joiner.on(",").join(securityEntry.getValue()));
                     cells.add(content);
                 }
             }
-            docBuilder.tableWithColumnSpecs(cols, cells);
+            docBuilder.tableWithColumnSpecs(securityTableColumns, cells);
         }
     }
 
@@ -681,18 +756,18 @@ public class PathsDocument extends MarkupDocument {
      *
      * @param descriptionFolder   the name of the folder where the description file resides
      * @param descriptionFileName the name of the description file
+     * @param markupLanguage      the markup language of the description file
      * @return the content of the file
      */
-    private Optional<String> handWrittenOperationDescription(String descriptionFolder, String descriptionFileName) {
-        for (String fileNameExtension : config.getMarkupLanguage().getFileNameExtensions()) {
+    private Optional<String> handWrittenOperationDescription(String descriptionFolder, String descriptionFileName, MarkupLanguage markupLanguage) {
+        for (String fileNameExtension : markupLanguage.getFileNameExtensions()) {
             URI contentUri = config.getOperationDescriptionsUri().resolve(descriptionFolder).resolve(descriptionFileName + fileNameExtension);
 
-            try (Reader reader = io.github.robwin.swagger2markup.utils.IOUtils.uriReader(contentUri)) {
-                if (logger.isInfoEnabled()) {
-                    logger.info("Operation description content processed {}", contentUri);
-                }
+            try {
+                String content = globalContext.contentLoader.load(contentUri);
+                globalContext.progressListener.onContentResolved(contentUri);
 
-                return Optional.of(IOUtils.toString(reader).trim());
+                return Optional.of(content.trim());
             } catch (IOException e) {
                 if (logger.isDebugEnabled()) {
                     logger.debug("Failed to read Operation description content {} > {}", contentUri, e.getMessage());
@@ -707,11 +782,6 @@ public class PathsDocument extends MarkupDocument {
         List<ObjectType> localDefinitions = new ArrayList<>();
 
         if (MapUtils.isNotEmpty(responses)) {
-            List<List<String>> cells = new ArrayList<>();
-            List<MarkupTableColumn> cols = Arrays.asList(
-                    new MarkupTableColumn(HTTP_CODE_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1h"),
-                    new MarkupTableColumn(DESCRIPTION_COLUMN, 6).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^6"),
-                    new MarkupTableColumn(SCHEMA_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"));
             Set<String> responseNames;
             if (config.getResponseOrdering() == null)
                 responseNames = new LinkedHashSet<>();
@@ -719,6 +789,8 @@ public class PathsDocument extends MarkupDocument {
                 responseNames = new TreeSet<>(config.getResponseOrdering());
             responseNames.addAll(responses.keySet());
 
+            List<List<String>> cells = new ArrayList<>(responseNames.size());
+
             for (String responseName : responseNames) {
                 Response response = responses.get(responseName);
 
@@ -730,18 +802,17 @@ public class PathsDocument extends MarkupDocument {
                             String localTypeName = RESPONSE + " " + responseName;
 
                             type.setName(localTypeName);
-                            type.setUniqueName(operation.getId() + " " + localTypeName);
-                            localDefinitions.add((ObjectType) type);
-                            type = new RefType(type);
+                            type.setUniqueName(globalContext.operationIndex.get(operation).getId() + " " + localTypeName);
+                            type = inlineDefinitionRef((ObjectType) type, config.getInlineSchemaDepthLevel(), localDefinitions);
                         }
                     }
-                    cells.add(Arrays.asList(responseName, response.getDescription(), type.displaySchema(markupDocBuilder)));
+                    cells.add(Arrays.asList(responseName, response.getDescription(), type.displaySchema(markupDocBuilder, crossReferences)));
                 } else {
                     cells.add(Arrays.asList(responseName, response.getDescription(), NO_CONTENT));
                 }
             }
             addOperationSectionTitle(RESPONSES, docBuilder);
-            docBuilder.tableWithColumnSpecs(cols, cells);
+            docBuilder.tableWithColumnSpecs(responsesTableColumns, cells);
         }
         return localDefinitions;
     }
@@ -773,9 +844,11 @@ public class PathsDocument extends MarkupDocument {
             for (ObjectType definition : definitions) {
                 addInlineDefinitionTitle(definition.getName(), definition.getUniqueName(), docBuilder);
 
+                inlineSchemas.enter(definition);
                 List<ObjectType> localDefinitions = typeProperties(definition, uniquePrefix, depth, new PropertyDescriptor(definition), new DefinitionDocumentResolverFromOperation(), docBuilder);
                 for (ObjectType localDefinition : localDefinitions)
                     inlineDefinitions(Collections.singletonList(localDefinition), uniquePrefix, depth - 1, docBuilder);
+                inlineSchemas.exit(definition);
             }
         }
 
@@ -791,12 +864,7 @@ public class PathsDocument extends MarkupDocument {
         }
 
         public String apply(String definitionName) {
-            String defaultResolver = super.apply(definitionName);
-
-            if (defaultResolver != null && config.isSeparatedOperations())
-                return defaultString(config.getInterDocumentCrossReferencesPrefix()) + new File("..", defaultResolver).getPath();
-            else
-                return defaultResolver;
+            return link(definitionName, DefinitionLinkTable.Origin.OPERATION);
         }
     }
 }
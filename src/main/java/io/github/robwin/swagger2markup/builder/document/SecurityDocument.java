@@ -21,6 +21,7 @@ package io.github.robwin.swagger2markup.builder.document;
 import io.github.robwin.markup.builder.MarkupTableColumn;
 import io.github.robwin.swagger2markup.Swagger2MarkupConverter;
 import io.github.robwin.swagger2markup.extension.SecurityContentExtension;
+import io.github.robwin.swagger2markup.output.OutputTarget;
 import io.swagger.models.auth.ApiKeyAuthDefinition;
 import io.swagger.models.auth.OAuth2Definition;
 import io.swagger.models.auth.SecuritySchemeDefinition;
@@ -44,8 +45,10 @@ public class SecurityDocument extends MarkupDocument {
     private final String AUTHORIZATION_URL;
     private final String TOKEN_URL;
 
-    public SecurityDocument(Swagger2MarkupConverter.Context context, String outputDirectory) {
-        super(context, outputDirectory);
+    private final List<MarkupTableColumn> scopesTableColumns;
+
+    public SecurityDocument(Swagger2MarkupConverter.Context context, OutputTarget outputTarget) {
+        super(context, outputTarget);
 
         ResourceBundle labels = ResourceBundle.getBundle("lang/labels", config.getOutputLanguage().toLocale());
         SECURITY = labels.getString("security");
@@ -55,6 +58,9 @@ public class SecurityDocument extends MarkupDocument {
         FLOW = labels.getString("security_flow");
         AUTHORIZATION_URL = labels.getString("security_authorizationUrl");
         TOKEN_URL = labels.getString("security_tokenUrl");
+
+        scopesTableColumns = Collections.unmodifiableList(Arrays.asList(new MarkupTableColumn(NAME_COLUMN, 1),
+                new MarkupTableColumn(DESCRIPTION_COLUMN, 6)));
     }
 
     /**
@@ -102,14 +108,12 @@ public class SecurityDocument extends MarkupDocument {
                     if (isNotBlank(oauth2Scheme.getTokenUrl())) {
                         markupDocBuilder.textLine(TOKEN_URL + oauth2Scheme.getTokenUrl());
                     }
-                    List<List<String>> cells = new ArrayList<>();
-                    List<MarkupTableColumn> cols = Arrays.asList(new MarkupTableColumn(NAME_COLUMN, 1),
-                            new MarkupTableColumn(DESCRIPTION_COLUMN, 6));
+                    List<List<String>> cells = new ArrayList<>(oauth2Scheme.getScopes().size());
                     for (Map.Entry<String, String> scope : oauth2Scheme.getScopes().entrySet()) {
                         List<String> content = Arrays.asList(scope.getKey(), scope.getValue());
                         cells.add(content);
                     }
-                    markupDocBuilder.tableWithColumnSpecs(cols, cells);
+                    markupDocBuilder.tableWithColumnSpecs(scopesTableColumns, cells);
 
                 }
             }
@@ -0,0 +1,62 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.plan;
+
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+
+/**
+ * Anchor, normalized by the target markup language
+ */
+public final class AnchorNode extends PlanNode {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String anchor;
+    private final boolean withText;
+    private final String text;
+
+    AnchorNode(String anchor, boolean withText, String text) {
+        this.anchor = anchor;
+        this.withText = withText;
+        this.text = text;
+    }
+
+    public String getAnchor() {
+        return anchor;
+    }
+
+    /**
+     * @return true if the anchor has been built with a text, even null
+     */
+    public boolean isWithText() {
+        return withText;
+    }
+
+    /**
+     * @return the anchor text, or null
+     */
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    void render(PlanRenderer renderer, MarkupDocBuilder docBuilder) {
+        renderer.renderAnchor(this, docBuilder);
+    }
+}
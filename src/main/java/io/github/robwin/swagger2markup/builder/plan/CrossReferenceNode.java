@@ -0,0 +1,78 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.plan;
+
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+
+/**
+ * Cross-reference to an anchor, in the same document or in another document.<br/>
+ * References to generated documents are stored without file extension, the extension of the target markup language is added when rendering.
+ */
+public final class CrossReferenceNode extends PlanNode {
+
+    private static final long serialVersionUID = 1L;
+
+    private final boolean withDocument;
+    private final String document;
+    private final boolean markupDocument;
+    private final String anchor;
+    private final String text;
+
+    CrossReferenceNode(boolean withDocument, String document, boolean markupDocument, String anchor, String text) {
+        this.withDocument = withDocument;
+        this.document = document;
+        this.markupDocument = markupDocument;
+        this.anchor = anchor;
+        this.text = text;
+    }
+
+    /**
+     * @return true if the cross-reference has been built with a document, even null
+     */
+    public boolean isWithDocument() {
+        return withDocument;
+    }
+
+    /**
+     * @return the referenced document, without file extension if it is a markup document, or null
+     */
+    public String getDocument() {
+        return document;
+    }
+
+    /**
+     * @return true if the referenced document is a markup document, whose file extension depends on the markup language
+     */
+    public boolean isMarkupDocument() {
+        return markupDocument;
+    }
+
+    public String getAnchor() {
+        return anchor;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    void render(PlanRenderer renderer, MarkupDocBuilder docBuilder) {
+        renderer.renderCrossReference(this, docBuilder);
+    }
+}
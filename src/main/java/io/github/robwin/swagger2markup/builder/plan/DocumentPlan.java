@@ -0,0 +1,163 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.plan;
+
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+import io.github.robwin.markup.builder.MarkupLanguage;
+import org.apache.commons.lang3.Validate;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Markup-independent document tree: sections, paragraphs, tables, cross-references, source blocks and imported markup.<br/>
+ * A plan is produced once by building a document against a {@link #recorder(MarkupLanguage) recorder}, then is
+ * rendered into any {@link MarkupLanguage} by its {@link PlanRenderer} without walking the Swagger model again.
+ * <p/>
+ * Nodes store language-independent values: cross-references to generated documents are stored without file extension,
+ * and hand-written content is captured for every markup language in {@link LanguageNode language nodes}.
+ * <p/>
+ * Plans are immutable and serializable, so that they can be cached and rendered concurrently.
+ */
+public final class DocumentPlan implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String anchorPrefix;
+    private final List<PlanNode> nodes;
+
+    DocumentPlan(String anchorPrefix, List<PlanNode> nodes) {
+        this.anchorPrefix = anchorPrefix;
+        this.nodes = Collections.unmodifiableList(new ArrayList<>(nodes));
+    }
+
+    /**
+     * Creates a recording builder.
+     *
+     * @param markupLanguage the markup language used for file names during the recording
+     * @return a builder building a plan, to be retrieved with {@link #of(MarkupDocBuilder)}
+     */
+    public static MarkupDocBuilder recorder(MarkupLanguage markupLanguage) {
+        Validate.notNull(markupLanguage, "markupLanguage must not be null");
+        return PlanRecorder.newRecording(markupLanguage);
+    }
+
+    /**
+     * @param docBuilder a builder
+     * @return true if the builder has been created with {@link #recorder(MarkupLanguage)}, or is a copy of such a builder
+     */
+    public static boolean isRecorder(MarkupDocBuilder docBuilder) {
+        return PlanRecorder.of(docBuilder) != null;
+    }
+
+    /**
+     * Returns the plan built so far by a builder created with {@link #recorder(MarkupLanguage)}.
+     *
+     * @param recorder the recording builder
+     * @return the plan
+     */
+    public static DocumentPlan of(MarkupDocBuilder recorder) {
+        PlanRecorder planRecorder = PlanRecorder.of(recorder);
+        Validate.isTrue(planRecorder != null, "recorder must be created with DocumentPlan.recorder()");
+        return planRecorder.toPlan();
+    }
+
+    /**
+     * Returns the builders to use for content depending on the markup language, like hand-written content files.<br/>
+     * A recorder returns one builder per markup language, whose content is only rendered into this markup language.
+     * Any other builder is only returned for {@code markupLanguage}.
+     *
+     * @param docBuilder     the current builder
+     * @param markupLanguage the markup language of {@code docBuilder}, if not a recorder
+     * @return the builder of each markup language
+     */
+    public static Map<MarkupLanguage, MarkupDocBuilder> languageBuilders(MarkupDocBuilder docBuilder, MarkupLanguage markupLanguage) {
+        PlanRecorder planRecorder = PlanRecorder.of(docBuilder);
+        if (planRecorder == null)
+            return Collections.singletonMap(markupLanguage, docBuilder);
+        return planRecorder.languageBuilders();
+    }
+
+    /**
+     * Returns a text depending on the markup language, to be passed to the recorder or its copies.
+     *
+     * @param recorder a recording builder
+     * @param texts    the text of each markup language
+     * @return the text to build
+     */
+    public static String localizedText(MarkupDocBuilder recorder, Map<MarkupLanguage, String> texts) {
+        PlanRecorder planRecorder = PlanRecorder.of(recorder);
+        Validate.isTrue(planRecorder != null, "recorder must be created with DocumentPlan.recorder()");
+        return planRecorder.localizedText(texts);
+    }
+
+    /**
+     * @return the anchor prefix of the document, or null
+     */
+    public String getAnchorPrefix() {
+        return anchorPrefix;
+    }
+
+    public List<PlanNode> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return the number of top-level nodes
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Renders the plan into a markup language.
+     *
+     * @param markupLanguage the target markup language
+     * @return the rendered document
+     */
+    public String render(MarkupLanguage markupLanguage) {
+        return PlanRenderer.of(markupLanguage).render(this);
+    }
+
+    /**
+     * Renders the plan into a markup language and writes it to a file.
+     *
+     * @param markupLanguage the target markup language
+     * @param directory      the directory where the generated file should be stored
+     * @param fileName       the name of the file, without extension
+     * @param charset        the charset to use for encoding
+     * @throws IOException if the file cannot be written
+     */
+    public void writeToFile(MarkupLanguage markupLanguage, String directory, String fileName, Charset charset) throws IOException {
+        PlanRenderer renderer = PlanRenderer.of(markupLanguage);
+        Path file = Paths.get(directory).resolve(renderer.addfileExtension(fileName));
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null)
+            Files.createDirectories(parent);
+        Files.write(file, renderer.render(this).getBytes(charset));
+    }
+}
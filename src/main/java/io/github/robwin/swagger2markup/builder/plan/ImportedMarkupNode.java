@@ -0,0 +1,64 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.plan;
+
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+import io.github.robwin.markup.builder.MarkupLanguage;
+
+/**
+ * Imported markup, e.g. the content of an extension file.<br/>
+ * Markup imported by the hand-written content of a markup language is part of a {@link LanguageNode} of this language.
+ */
+public final class ImportedMarkupNode extends PlanNode {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String markup;
+    private final MarkupLanguage markupLanguage;
+    private final int levelOffset;
+
+    ImportedMarkupNode(String markup, MarkupLanguage markupLanguage, int levelOffset) {
+        this.markup = markup;
+        this.markupLanguage = markupLanguage;
+        this.levelOffset = levelOffset;
+    }
+
+    public String getMarkup() {
+        return markup;
+    }
+
+    /**
+     * @return the markup language the markup is written in
+     */
+    public MarkupLanguage getMarkupLanguage() {
+        return markupLanguage;
+    }
+
+    /**
+     * @return the offset applied to the section levels of the markup
+     */
+    public int getLevelOffset() {
+        return levelOffset;
+    }
+
+    @Override
+    void render(PlanRenderer renderer, MarkupDocBuilder docBuilder) {
+        renderer.renderImportedMarkup(this, docBuilder);
+    }
+}
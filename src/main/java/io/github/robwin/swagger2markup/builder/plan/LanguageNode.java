@@ -0,0 +1,55 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.plan;
+
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+import io.github.robwin.markup.builder.MarkupLanguage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Nodes only rendered into one markup language, e.g. a section built from hand-written content files of this language.
+ */
+public final class LanguageNode extends PlanNode {
+
+    private static final long serialVersionUID = 1L;
+
+    private final MarkupLanguage markupLanguage;
+    private final List<PlanNode> nodes;
+
+    LanguageNode(MarkupLanguage markupLanguage, List<PlanNode> nodes) {
+        this.markupLanguage = markupLanguage;
+        this.nodes = Collections.unmodifiableList(new ArrayList<>(nodes));
+    }
+
+    public MarkupLanguage getMarkupLanguage() {
+        return markupLanguage;
+    }
+
+    public List<PlanNode> getNodes() {
+        return nodes;
+    }
+
+    @Override
+    void render(PlanRenderer renderer, MarkupDocBuilder docBuilder) {
+        renderer.renderLanguage(this, docBuilder);
+    }
+}
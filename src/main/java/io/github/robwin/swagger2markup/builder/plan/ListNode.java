@@ -0,0 +1,48 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.plan;
+
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unordered list
+ */
+public final class ListNode extends PlanNode {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<PlanText> items;
+
+    ListNode(List<PlanText> items) {
+        this.items = Collections.unmodifiableList(new ArrayList<>(items));
+    }
+
+    public List<PlanText> getItems() {
+        return items;
+    }
+
+    @Override
+    void render(PlanRenderer renderer, MarkupDocBuilder docBuilder) {
+        renderer.renderList(this, docBuilder);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.plan;
+
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+
+import java.io.Serializable;
+
+/**
+ * Node of a {@link DocumentPlan}.<br/>
+ * Nodes only hold markup-independent values, and are rendered by the {@link PlanRenderer} of a markup language.
+ */
+public abstract class PlanNode implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    PlanNode() {
+    }
+
+    /**
+     * Renders this node into a builder.
+     *
+     * @param renderer   the renderer of the target markup language
+     * @param docBuilder the builder to render into
+     */
+    abstract void render(PlanRenderer renderer, MarkupDocBuilder docBuilder);
+}
@@ -0,0 +1,488 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.plan;
+
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+import io.github.robwin.markup.builder.MarkupDocBuilders;
+import io.github.robwin.markup.builder.MarkupLanguage;
+import io.github.robwin.markup.builder.MarkupTableColumn;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds the nodes of a {@link DocumentPlan} from the calls made to a {@link MarkupDocBuilder}.<br/>
+ * Documents build inline markup (cross-references in table cells, titles, ...) with {@code docBuilder.copy()...toString()}.
+ * The string returned by a recorder is a token, which is resolved into a {@link PlanText} part as soon as it is passed
+ * back to a recorder of the same recording. Tokens never end up in a plan.
+ * <p/>
+ * Builder methods which have no node type are rendered with a real builder of each markup language, and their output is
+ * stored as a line of each markup language. Inline output, which does not end with a line separator, is prepended to the
+ * next text or paragraph, or to the {@code toString()} of the recorder.
+ */
+class PlanRecorder implements InvocationHandler {
+
+    private static final char TOKEN_DELIMITER = '\u0000';
+    private static final String TOKEN_PREFIX = TOKEN_DELIMITER + "plan:";
+    private static final Pattern TOKEN_PATTERN = Pattern.compile(Pattern.quote(TOKEN_PREFIX) + "(\\d+):(\\d+)" + TOKEN_DELIMITER);
+    private static final Pattern SECTION_PATTERN = Pattern.compile("sectionTitle(WithAnchor)?Level([1-4])");
+    private static final AtomicInteger RECORDING_IDS = new AtomicInteger();
+
+    /**
+     * State shared by the recorders of a recording: a root recorder, its copies and its language recorders.
+     */
+    private static class Recording {
+        final int id = RECORDING_IDS.incrementAndGet();
+        final MarkupLanguage markupLanguage;
+        final MarkupDocBuilder extensionDocBuilder;
+        final String fileExtension;
+        final List<List<PlanText.Part>> inlineParts = new ArrayList<>();
+
+        Recording(MarkupLanguage markupLanguage) {
+            this.markupLanguage = markupLanguage;
+            this.extensionDocBuilder = MarkupDocBuilders.documentBuilder(markupLanguage);
+            this.fileExtension = markupLanguage.getFileNameExtensions().get(0);
+        }
+
+        String token(PlanText.Part part) {
+            return token(Collections.singletonList(part));
+        }
+
+        String token(List<PlanText.Part> parts) {
+            inlineParts.add(parts);
+            return TOKEN_PREFIX + id + ":" + (inlineParts.size() - 1) + TOKEN_DELIMITER;
+        }
+
+        List<PlanText.Part> inlineMarkup(int recordingId, int partId) {
+            if (recordingId != id || partId >= inlineParts.size())
+                throw new IllegalStateException("Unknown inline markup, strings built by a recorder can only be used by recorders of the same recording");
+            return inlineParts.get(partId);
+        }
+    }
+
+    private final Recording recording;
+    private final MarkupLanguage language;
+    private final List<Object> entries = new ArrayList<>();
+    private final Map<MarkupLanguage, String> pendingMarkup = new EnumMap<>(MarkupLanguage.class);
+    private final MarkupDocBuilder proxy;
+    private String anchorPrefix;
+
+    private PlanRecorder(Recording recording, MarkupLanguage language, String anchorPrefix) {
+        this.recording = recording;
+        this.language = language;
+        this.anchorPrefix = anchorPrefix;
+        this.proxy = (MarkupDocBuilder) Proxy.newProxyInstance(MarkupDocBuilder.class.getClassLoader(), new Class<?>[]{MarkupDocBuilder.class}, this);
+    }
+
+    /**
+     * Creates the root recorder of a new recording.
+     *
+     * @param markupLanguage the markup language file names are built with
+     * @return the recording builder
+     */
+    static MarkupDocBuilder newRecording(MarkupLanguage markupLanguage) {
+        return new PlanRecorder(new Recording(markupLanguage), null, null).proxy;
+    }
+
+    /**
+     * @param docBuilder a builder
+     * @return the recorder of the builder, or null if the builder is not a recording builder
+     */
+    static PlanRecorder of(MarkupDocBuilder docBuilder) {
+        if (docBuilder != null && Proxy.isProxyClass(docBuilder.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(docBuilder);
+            if (handler instanceof PlanRecorder)
+                return (PlanRecorder) handler;
+        }
+        return null;
+    }
+
+    /**
+     * @return the plan of the nodes recorded so far
+     */
+    DocumentPlan toPlan() {
+        return new DocumentPlan(anchorPrefix, nodes(true));
+    }
+
+    /**
+     * Returns one recorder per markup language, whose nodes are only rendered into this markup language.<br/>
+     * A language recorder only returns itself.
+     *
+     * @return the language recorders
+     */
+    Map<MarkupLanguage, MarkupDocBuilder> languageBuilders() {
+        if (language != null)
+            return Collections.singletonMap(language, proxy);
+
+        flushPendingMarkup();
+        Map<MarkupLanguage, MarkupDocBuilder> languageBuilders = new EnumMap<>(MarkupLanguage.class);
+        for (MarkupLanguage markupLanguage : MarkupLanguage.values()) {
+            PlanRecorder languageRecorder = new PlanRecorder(recording, markupLanguage, anchorPrefix);
+            entries.add(languageRecorder);
+            languageBuilders.put(markupLanguage, languageRecorder.proxy);
+        }
+        return languageBuilders;
+    }
+
+    /**
+     * Returns a string standing for a text depending on the markup language.
+     *
+     * @param texts the text of each markup language
+     * @return the text, or a token standing for the localized text
+     */
+    String localizedText(Map<MarkupLanguage, String> texts) {
+        if (language != null)
+            return texts.get(language);
+        if (new HashSet<>(texts.values()).size() == 1 && texts.size() == MarkupLanguage.values().length)
+            return texts.values().iterator().next();
+        return recording.token(new PlanText.Localized(Collections.unmodifiableMap(new EnumMap<>(texts))));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        int argCount = args == null ? 0 : args.length;
+        Matcher section = SECTION_PATTERN.matcher(method.getName());
+        if (section.matches()) {
+            boolean withAnchor = section.group(1) != null;
+            if (argCount == (withAnchor ? 2 : 1))
+                return add(new SectionNode(Integer.parseInt(section.group(2)), text(args[0]), withAnchor ? (String) args[1] : null));
+        }
+
+        switch (method.getName()) {
+            case "toString":
+                if (argCount == 0)
+                    return recording.token(snippetParts());
+                break;
+            case "hashCode":
+                if (argCount == 0)
+                    return System.identityHashCode(proxy);
+                break;
+            case "equals":
+                if (argCount == 1)
+                    return proxy == args[0];
+                break;
+            case "copy":
+                if (argCount == 0)
+                    return new PlanRecorder(recording, language, anchorPrefix).proxy;
+                break;
+            case "withAnchorPrefix":
+                anchorPrefix = (String) args[0];
+                return proxy;
+            case "getAnchorPrefix":
+                return anchorPrefix;
+            case "addfileExtension":
+                return recording.extensionDocBuilder.addfileExtension((String) args[0]);
+            case "writeToFile":
+                write(Paths.get((String) args[0]).resolve(recording.extensionDocBuilder.addfileExtension((String) args[1])), (Charset) args[2]);
+                return null;
+            case "writeToFileWithoutExtension":
+                write(Paths.get((String) args[0]).resolve((String) args[1]), (Charset) args[2]);
+                return null;
+            case "documentTitle":
+                return add(new SectionNode(0, text(args[0]), null));
+            case "textLine":
+                if (argCount == 1)
+                    return add(new TextNode(TextNode.Style.LINE, pendingText(args[0])));
+                break;
+            case "boldTextLine":
+                if (argCount == 1)
+                    return add(new TextNode(TextNode.Style.BOLD_LINE, pendingText(args[0])));
+                break;
+            case "italicText":
+                if (argCount == 1)
+                    return add(new TextNode(TextNode.Style.ITALIC, pendingText(args[0])));
+                break;
+            case "paragraph":
+                if (argCount == 1)
+                    return add(new ParagraphNode(pendingText(args[0])));
+                break;
+            case "unorderedList":
+                if (argCount == 1)
+                    return add(new ListNode(texts((List<String>) args[0])));
+                break;
+            case "tableWithColumnSpecs":
+                if (argCount == 2)
+                    return add(new TableNode(columns((List<MarkupTableColumn>) args[0]), rows((List<List<String>>) args[1])));
+                break;
+            case "source":
+                if (argCount == 2)
+                    return add(new SourceBlockNode((String) args[0], (String) args[1], false));
+                break;
+            case "listing":
+                if (argCount == 1)
+                    return add(new SourceBlockNode((String) args[0], null, true));
+                break;
+            case "anchor":
+                if (argCount == 1 || argCount == 2)
+                    return add(new AnchorNode((String) args[0], argCount == 2, argCount == 2 ? (String) args[1] : null));
+                break;
+            case "crossReference":
+                if (argCount == 2)
+                    return add(new CrossReferenceNode(false, null, false, (String) args[0], (String) args[1]));
+                if (argCount == 3)
+                    return add(crossReference((String) args[0], (String) args[1], (String) args[2]));
+                break;
+            case "newLine":
+                if (argCount == 0) {
+                    // A pending inline markup is terminated by this line separator
+                    if (!pendingMarkup.isEmpty()) {
+                        flushPendingMarkup();
+                        return proxy;
+                    }
+                    return add(new NewLineNode());
+                }
+                break;
+            case "importMarkup":
+                if (argCount == 2)
+                    return add(new ImportedMarkupNode(IOUtils.toString((Reader) args[0]), language == null ? recording.markupLanguage : language, (Integer) args[1]));
+                break;
+            default:
+                break;
+        }
+        return renderedCall(method, args);
+    }
+
+    private MarkupDocBuilder add(PlanNode node) {
+        flushPendingMarkup();
+        entries.add(node);
+        return proxy;
+    }
+
+    /**
+     * Builds a method having no node type with a real builder of each markup language, and records the output of each
+     * markup language. Methods which do not return a builder are not building methods, and are called with a builder
+     * of the recording markup language.
+     */
+    private Object renderedCall(Method method, Object[] args) throws Throwable {
+        if (!MarkupDocBuilder.class.isAssignableFrom(method.getReturnType()))
+            return call(method, args, recording.markupLanguage, newDocBuilder(recording.markupLanguage));
+
+        for (MarkupLanguage markupLanguage : languages()) {
+            MarkupDocBuilder docBuilder = newDocBuilder(markupLanguage);
+            call(method, args, markupLanguage, docBuilder);
+            addMarkup(markupLanguage, docBuilder.toString());
+        }
+        return proxy;
+    }
+
+    private MarkupDocBuilder newDocBuilder(MarkupLanguage markupLanguage) {
+        return MarkupDocBuilders.documentBuilder(markupLanguage).withAnchorPrefix(anchorPrefix);
+    }
+
+    private Object call(Method method, Object[] args, MarkupLanguage markupLanguage, MarkupDocBuilder docBuilder) throws Throwable {
+        Object[] markupArgs = null;
+        if (args != null) {
+            markupArgs = new Object[args.length];
+            for (int i = 0; i < args.length; i++)
+                markupArgs[i] = markupArgument(args[i], PlanRenderer.of(markupLanguage), docBuilder);
+        }
+
+        try {
+            return method.invoke(docBuilder, markupArgs);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Resolves the tokens of string arguments, also in lists, into the markup of the target markup language.
+     */
+    private Object markupArgument(Object arg, PlanRenderer renderer, MarkupDocBuilder docBuilder) {
+        if (arg instanceof String) {
+            String string = (String) arg;
+            if (string.indexOf(TOKEN_DELIMITER) < 0)
+                return string;
+            return text(string).render(renderer, docBuilder);
+        } else if (arg instanceof List) {
+            List<?> list = (List<?>) arg;
+            List<Object> markupList = new ArrayList<>(list.size());
+            for (Object element : list)
+                markupList.add(markupArgument(element, renderer, docBuilder));
+            return markupList;
+        }
+        return arg;
+    }
+
+    private List<MarkupLanguage> languages() {
+        if (language != null)
+            return Collections.singletonList(language);
+        return Arrays.asList(MarkupLanguage.values());
+    }
+
+    /**
+     * Adds the output of a builder of a markup language. Complete lines are recorded, the remaining inline markup is pending.
+     */
+    private void addMarkup(MarkupLanguage markupLanguage, String markup) {
+        String pending = StringUtils.defaultString(pendingMarkup.remove(markupLanguage)) + markup;
+        if (pending.endsWith("\n"))
+            entries.add(markupLine(markupLanguage, pending));
+        else if (!pending.isEmpty())
+            pendingMarkup.put(markupLanguage, pending);
+    }
+
+    /**
+     * Records the pending inline markup as lines, since a node which does not start with a text follows.
+     */
+    private void flushPendingMarkup() {
+        for (Map.Entry<MarkupLanguage, String> pending : pendingMarkup.entrySet())
+            entries.add(markupLine(pending.getKey(), pending.getValue()));
+        pendingMarkup.clear();
+    }
+
+    /**
+     * The line separator of a markup line is appended back by {@link MarkupDocBuilder#textLine(String)}.
+     */
+    private PlanNode markupLine(MarkupLanguage markupLanguage, String markup) {
+        String line = StringUtils.removeEnd(StringUtils.removeEnd(markup, "\n"), "\r");
+        PlanNode node = new TextNode(TextNode.Style.LINE, new PlanText(Collections.<PlanText.Part>singletonList(new PlanText.Literal(line))));
+        if (language != null)
+            return node;
+        return new LanguageNode(markupLanguage, Collections.singletonList(node));
+    }
+
+    /**
+     * @return the pending inline markup of each markup language, or null
+     */
+    private PlanText.Part pendingPart() {
+        if (pendingMarkup.isEmpty())
+            return null;
+        return new PlanText.Localized(Collections.unmodifiableMap(new EnumMap<>(pendingMarkup)));
+    }
+
+    /**
+     * Returns the text of a node starting with a text, prepended with the pending inline markup.
+     */
+    private PlanText pendingText(Object text) {
+        PlanText.Part pending = pendingPart();
+        if (pending == null)
+            return text(text);
+
+        pendingMarkup.clear();
+        List<PlanText.Part> parts = new ArrayList<>();
+        parts.add(pending);
+        if (text != null)
+            parts.addAll(text(text).getParts());
+        return new PlanText(parts);
+    }
+
+    private List<PlanText.Part> snippetParts() {
+        List<PlanText.Part> parts = new ArrayList<>();
+        List<PlanNode> nodes = nodes(false);
+        if (!nodes.isEmpty() || pendingMarkup.isEmpty())
+            parts.add(new PlanText.Snippet(nodes));
+        PlanText.Part pending = pendingPart();
+        if (pending != null)
+            parts.add(pending);
+        return parts;
+    }
+
+    private List<PlanNode> nodes(boolean withPendingMarkup) {
+        List<PlanNode> nodes = new ArrayList<>(entries.size());
+        for (Object entry : entries) {
+            if (entry instanceof PlanRecorder) {
+                PlanRecorder languageRecorder = (PlanRecorder) entry;
+                List<PlanNode> languageNodes = languageRecorder.nodes(true);
+                if (!languageNodes.isEmpty())
+                    nodes.add(new LanguageNode(languageRecorder.language, languageNodes));
+            } else {
+                nodes.add((PlanNode) entry);
+            }
+        }
+        if (withPendingMarkup) {
+            for (Map.Entry<MarkupLanguage, String> pending : pendingMarkup.entrySet())
+                nodes.add(markupLine(pending.getKey(), pending.getValue()));
+        }
+        return Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * Cross-references to generated documents are stored without the file extension of the recording markup language.
+     */
+    private CrossReferenceNode crossReference(String document, String anchor, String text) {
+        if (document != null && document.endsWith(recording.fileExtension))
+            return new CrossReferenceNode(true, document.substring(0, document.length() - recording.fileExtension.length()), true, anchor, text);
+        return new CrossReferenceNode(true, document, false, anchor, text);
+    }
+
+    private PlanText text(Object text) {
+        if (text == null)
+            return null;
+
+        String string = (String) text;
+        List<PlanText.Part> parts = new ArrayList<>();
+        if (string.indexOf(TOKEN_DELIMITER) < 0) {
+            parts.add(new PlanText.Literal(string));
+        } else {
+            Matcher matcher = TOKEN_PATTERN.matcher(string);
+            int start = 0;
+            while (matcher.find()) {
+                if (matcher.start() > start)
+                    parts.add(new PlanText.Literal(string.substring(start, matcher.start())));
+                parts.addAll(recording.inlineMarkup(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+                start = matcher.end();
+            }
+            if (start < string.length() || parts.isEmpty())
+                parts.add(new PlanText.Literal(string.substring(start)));
+        }
+        return new PlanText(parts);
+    }
+
+    private List<PlanText> texts(List<String> strings) {
+        List<PlanText> texts = new ArrayList<>(strings.size());
+        for (String string : strings)
+            texts.add(text(string));
+        return texts;
+    }
+
+    private List<List<PlanText>> rows(List<List<String>> cells) {
+        List<List<PlanText>> rows = new ArrayList<>(cells.size());
+        for (List<String> row : cells)
+            rows.add(texts(row));
+        return rows;
+    }
+
+    private static List<TableNode.Column> columns(List<MarkupTableColumn> columnSpecs) {
+        List<TableNode.Column> columns = new ArrayList<>(columnSpecs.size());
+        for (MarkupTableColumn columnSpec : columnSpecs)
+            columns.add(new TableNode.Column(columnSpec));
+        return columns;
+    }
+
+    private void write(Path file, Charset charset) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null)
+            Files.createDirectories(parent);
+        Files.write(file, PlanRenderer.of(recording.markupLanguage).render(toPlan()).getBytes(charset));
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.plan;
+
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+import io.github.robwin.markup.builder.MarkupDocBuilders;
+import io.github.robwin.markup.builder.MarkupLanguage;
+import io.github.robwin.markup.builder.MarkupTableColumn;
+import org.apache.commons.lang3.Validate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.*;
+
+/**
+ * Renders {@link DocumentPlan document plans} into a markup language.<br/>
+ * There is one stateless renderer per markup language, see {@link #of(MarkupLanguage)}.
+ */
+public final class PlanRenderer {
+
+    private static final Map<MarkupLanguage, PlanRenderer> RENDERERS;
+
+    static {
+        Map<MarkupLanguage, PlanRenderer> renderers = new EnumMap<>(MarkupLanguage.class);
+        for (MarkupLanguage markupLanguage : MarkupLanguage.values())
+            renderers.put(markupLanguage, new PlanRenderer(markupLanguage));
+        RENDERERS = Collections.unmodifiableMap(renderers);
+    }
+
+    private final MarkupLanguage markupLanguage;
+
+    private PlanRenderer(MarkupLanguage markupLanguage) {
+        this.markupLanguage = markupLanguage;
+    }
+
+    /**
+     * Returns the renderer of a markup language.
+     *
+     * @param markupLanguage the target markup language
+     * @return the renderer
+     */
+    public static PlanRenderer of(MarkupLanguage markupLanguage) {
+        Validate.notNull(markupLanguage, "markupLanguage must not be null");
+        return RENDERERS.get(markupLanguage);
+    }
+
+    public MarkupLanguage getMarkupLanguage() {
+        return markupLanguage;
+    }
+
+    /**
+     * Adds the file extension of this markup language to a document name.
+     *
+     * @param fileName the document name, without extension
+     * @return the document file name
+     */
+    public String addfileExtension(String fileName) {
+        return MarkupDocBuilders.documentBuilder(markupLanguage).addfileExtension(fileName);
+    }
+
+    /**
+     * Renders a plan.
+     *
+     * @param plan the plan to render
+     * @return the rendered document
+     */
+    public String render(DocumentPlan plan) {
+        Validate.notNull(plan, "plan must not be null");
+        MarkupDocBuilder docBuilder = MarkupDocBuilders.documentBuilder(markupLanguage).withAnchorPrefix(plan.getAnchorPrefix());
+        renderNodes(plan.getNodes(), docBuilder);
+        return docBuilder.toString();
+    }
+
+    void renderNodes(List<PlanNode> nodes, MarkupDocBuilder docBuilder) {
+        for (PlanNode node : nodes)
+            node.render(this, docBuilder);
+    }
+
+    String renderSnippet(List<PlanNode> nodes, MarkupDocBuilder docBuilder) {
+        MarkupDocBuilder snippetDocBuilder = docBuilder.copy();
+        renderNodes(nodes, snippetDocBuilder);
+        return snippetDocBuilder.toString();
+    }
+
+    private String renderPlanText(PlanText text, MarkupDocBuilder docBuilder) {
+        return text == null ? null : text.render(this, docBuilder);
+    }
+
+    void renderSection(SectionNode section, MarkupDocBuilder docBuilder) {
+        String title = renderPlanText(section.getTitle(), docBuilder);
+        String anchor = section.getAnchor();
+        switch (section.getLevel()) {
+            case 0:
+                docBuilder.documentTitle(title);
+                break;
+            case 1:
+                if (anchor == null)
+                    docBuilder.sectionTitleLevel1(title);
+                else
+                    docBuilder.sectionTitleWithAnchorLevel1(title, anchor);
+                break;
+            case 2:
+                if (anchor == null)
+                    docBuilder.sectionTitleLevel2(title);
+                else
+                    docBuilder.sectionTitleWithAnchorLevel2(title, anchor);
+                break;
+            case 3:
+                if (anchor == null)
+                    docBuilder.sectionTitleLevel3(title);
+                else
+                    docBuilder.sectionTitleWithAnchorLevel3(title, anchor);
+                break;
+            case 4:
+                if (anchor == null)
+                    docBuilder.sectionTitleLevel4(title);
+                else
+                    docBuilder.sectionTitleWithAnchorLevel4(title, anchor);
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Unsupported section level: %d", section.getLevel()));
+        }
+    }
+
+    void renderText(TextNode text, MarkupDocBuilder docBuilder) {
+        String rendered = renderPlanText(text.getText(), docBuilder);
+        switch (text.getStyle()) {
+            case BOLD_LINE:
+                docBuilder.boldTextLine(rendered);
+                break;
+            case ITALIC:
+                docBuilder.italicText(rendered);
+                break;
+            default:
+                docBuilder.textLine(rendered);
+                break;
+        }
+    }
+
+    void renderParagraph(ParagraphNode paragraph, MarkupDocBuilder docBuilder) {
+        docBuilder.paragraph(renderPlanText(paragraph.getText(), docBuilder));
+    }
+
+    void renderList(ListNode list, MarkupDocBuilder docBuilder) {
+        List<String> items = new ArrayList<>(list.getItems().size());
+        for (PlanText item : list.getItems())
+            items.add(renderPlanText(item, docBuilder));
+        docBuilder.unorderedList(items);
+    }
+
+    void renderTable(TableNode table, MarkupDocBuilder docBuilder) {
+        List<MarkupTableColumn> columns = new ArrayList<>(table.getColumns().size());
+        for (TableNode.Column column : table.getColumns())
+            columns.add(column.toMarkupTableColumn());
+
+        List<List<String>> cells = new ArrayList<>(table.getRows().size());
+        for (List<PlanText> row : table.getRows()) {
+            List<String> rowCells = new ArrayList<>(row.size());
+            for (PlanText cell : row)
+                rowCells.add(renderPlanText(cell, docBuilder));
+            cells.add(rowCells);
+        }
+        docBuilder.tableWithColumnSpecs(columns, cells);
+    }
+
+    void renderSourceBlock(SourceBlockNode sourceBlock, MarkupDocBuilder docBuilder) {
+        if (sourceBlock.isListing())
+            docBuilder.listing(sourceBlock.getText());
+        else
+            docBuilder.source(sourceBlock.getText(), sourceBlock.getLanguage());
+    }
+
+    void renderAnchor(AnchorNode anchor, MarkupDocBuilder docBuilder) {
+        if (anchor.isWithText())
+            docBuilder.anchor(anchor.getAnchor(), anchor.getText());
+        else
+            docBuilder.anchor(anchor.getAnchor());
+    }
+
+    void renderCrossReference(CrossReferenceNode crossReference, MarkupDocBuilder docBuilder) {
+        if (!crossReference.isWithDocument()) {
+            docBuilder.crossReference(crossReference.getAnchor(), crossReference.getText());
+            return;
+        }
+
+        String document = crossReference.getDocument();
+        if (document != null && crossReference.isMarkupDocument())
+            document = docBuilder.addfileExtension(document);
+        docBuilder.crossReference(document, crossReference.getAnchor(), crossReference.getText());
+    }
+
+    void renderImportedMarkup(ImportedMarkupNode importedMarkup, MarkupDocBuilder docBuilder) {
+        try {
+            docBuilder.importMarkup(new StringReader(importedMarkup.getMarkup()), importedMarkup.getLevelOffset());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to import markup", e);
+        }
+    }
+
+    void renderNewLine(MarkupDocBuilder docBuilder) {
+        docBuilder.newLine();
+    }
+
+    void renderLanguage(LanguageNode language, MarkupDocBuilder docBuilder) {
+        if (language.getMarkupLanguage() == markupLanguage)
+            renderNodes(language.getNodes(), docBuilder);
+    }
+}
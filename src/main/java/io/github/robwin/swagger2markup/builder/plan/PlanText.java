@@ -0,0 +1,145 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.plan;
+
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+import io.github.robwin.markup.builder.MarkupLanguage;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Text of a plan node: a title, a paragraph, a table cell, ...<br/>
+ * A text is a sequence of literal strings and of inline markup, e.g. cross-references built with {@code docBuilder.copy()},
+ * rendered with the target markup language.
+ */
+public final class PlanText implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Part of a text
+     */
+    public abstract static class Part implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        Part() {
+        }
+
+        abstract void render(PlanRenderer renderer, MarkupDocBuilder docBuilder, StringBuilder sb);
+    }
+
+    /**
+     * Literal string, rendered as is
+     */
+    public static final class Literal extends Part {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String text;
+
+        Literal(String text) {
+            this.text = text;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        void render(PlanRenderer renderer, MarkupDocBuilder docBuilder, StringBuilder sb) {
+            sb.append(text);
+        }
+    }
+
+    /**
+     * Inline markup built in its own builder
+     */
+    public static final class Snippet extends Part {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<PlanNode> nodes;
+
+        Snippet(List<PlanNode> nodes) {
+            this.nodes = nodes;
+        }
+
+        public List<PlanNode> getNodes() {
+            return nodes;
+        }
+
+        @Override
+        void render(PlanRenderer renderer, MarkupDocBuilder docBuilder, StringBuilder sb) {
+            sb.append(renderer.renderSnippet(nodes, docBuilder));
+        }
+    }
+
+    /**
+     * Text depending on the markup language, e.g. a hand-written description
+     */
+    public static final class Localized extends Part {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Map<MarkupLanguage, String> texts;
+
+        Localized(Map<MarkupLanguage, String> texts) {
+            this.texts = texts;
+        }
+
+        /**
+         * @return the text of each markup language
+         */
+        public Map<MarkupLanguage, String> getTexts() {
+            return texts;
+        }
+
+        @Override
+        void render(PlanRenderer renderer, MarkupDocBuilder docBuilder, StringBuilder sb) {
+            String text = texts.get(renderer.getMarkupLanguage());
+            if (text != null)
+                sb.append(text);
+        }
+    }
+
+    private final List<Part> parts;
+
+    PlanText(List<Part> parts) {
+        this.parts = Collections.unmodifiableList(new ArrayList<>(parts));
+    }
+
+    /**
+     * @return the parts of this text
+     */
+    public List<Part> getParts() {
+        return parts;
+    }
+
+    String render(PlanRenderer renderer, MarkupDocBuilder docBuilder) {
+        if (parts.size() == 1 && parts.get(0) instanceof Literal)
+            return ((Literal) parts.get(0)).getText();
+
+        StringBuilder sb = new StringBuilder();
+        for (Part part : parts)
+            part.render(renderer, docBuilder, sb);
+        return sb.toString();
+    }
+}
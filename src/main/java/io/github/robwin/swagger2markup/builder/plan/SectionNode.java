@@ -0,0 +1,62 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.plan;
+
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+
+/**
+ * Document title or section title
+ */
+public final class SectionNode extends PlanNode {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int level;
+    private final PlanText title;
+    private final String anchor;
+
+    SectionNode(int level, PlanText title, String anchor) {
+        this.level = level;
+        this.title = title;
+        this.anchor = anchor;
+    }
+
+    /**
+     * @return the section level, from 1 to 4, or 0 for the document title
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    public PlanText getTitle() {
+        return title;
+    }
+
+    /**
+     * @return the section anchor, or null if the section has no explicit anchor
+     */
+    public String getAnchor() {
+        return anchor;
+    }
+
+    @Override
+    void render(PlanRenderer renderer, MarkupDocBuilder docBuilder) {
+        renderer.renderSection(this, docBuilder);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.plan;
+
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+
+/**
+ * Source block with a source language, or listing block
+ */
+public final class SourceBlockNode extends PlanNode {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String text;
+    private final String language;
+    private final boolean listing;
+
+    SourceBlockNode(String text, String language, boolean listing) {
+        this.text = text;
+        this.language = language;
+        this.listing = listing;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @return the source language, e.g. json, or null for a listing block
+     */
+    public String getLanguage() {
+        return language;
+    }
+
+    public boolean isListing() {
+        return listing;
+    }
+
+    @Override
+    void render(PlanRenderer renderer, MarkupDocBuilder docBuilder) {
+        renderer.renderSourceBlock(this, docBuilder);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.plan;
+
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+import io.github.robwin.markup.builder.MarkupLanguage;
+import io.github.robwin.markup.builder.MarkupTableColumn;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Table with column specifications
+ */
+public final class TableNode extends PlanNode {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Column specification, see {@link MarkupTableColumn}
+     */
+    public static final class Column implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String header;
+        private final Integer widthRatio;
+        private final Map<MarkupLanguage, String> markupSpecifiers;
+
+        Column(MarkupTableColumn column) {
+            this.header = column.header;
+            this.widthRatio = column.widthRatio;
+            if (column.markupSpecifiers == null || column.markupSpecifiers.isEmpty())
+                this.markupSpecifiers = Collections.emptyMap();
+            else
+                this.markupSpecifiers = Collections.unmodifiableMap(new EnumMap<>(column.markupSpecifiers));
+        }
+
+        public String getHeader() {
+            return header;
+        }
+
+        public Integer getWidthRatio() {
+            return widthRatio;
+        }
+
+        /**
+         * @return the column specifiers of each markup language
+         */
+        public Map<MarkupLanguage, String> getMarkupSpecifiers() {
+            return markupSpecifiers;
+        }
+
+        MarkupTableColumn toMarkupTableColumn() {
+            MarkupTableColumn column = new MarkupTableColumn(header, widthRatio);
+            for (Map.Entry<MarkupLanguage, String> markupSpecifier : markupSpecifiers.entrySet())
+                column.withMarkupSpecifiers(markupSpecifier.getKey(), markupSpecifier.getValue());
+            return column;
+        }
+    }
+
+    private final List<Column> columns;
+    private final List<List<PlanText>> rows;
+
+    TableNode(List<Column> columns, List<List<PlanText>> rows) {
+        this.columns = Collections.unmodifiableList(new ArrayList<>(columns));
+        List<List<PlanText>> unmodifiableRows = new ArrayList<>(rows.size());
+        for (List<PlanText> row : rows)
+            unmodifiableRows.add(Collections.unmodifiableList(new ArrayList<>(row)));
+        this.rows = Collections.unmodifiableList(unmodifiableRows);
+    }
+
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return the table cells, row by row
+     */
+    public List<List<PlanText>> getRows() {
+        return rows;
+    }
+
+    @Override
+    void render(PlanRenderer renderer, MarkupDocBuilder docBuilder) {
+        renderer.renderTable(this, docBuilder);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.plan;
+
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+
+/**
+ * Line of text, or inline text without line break
+ */
+public final class TextNode extends PlanNode {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Style {
+        /** Text followed by a line break */
+        LINE,
+        /** Bold text followed by a line break */
+        BOLD_LINE,
+        /** Italic text, without line break */
+        ITALIC
+    }
+
+    private final Style style;
+    private final PlanText text;
+
+    TextNode(Style style, PlanText text) {
+        this.style = style;
+        this.text = text;
+    }
+
+    public Style getStyle() {
+        return style;
+    }
+
+    public PlanText getText() {
+        return text;
+    }
+
+    @Override
+    void render(PlanRenderer renderer, MarkupDocBuilder docBuilder) {
+        renderer.renderText(this, docBuilder);
+    }
+}
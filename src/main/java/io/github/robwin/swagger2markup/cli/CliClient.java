@@ -0,0 +1,118 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.cli;
+
+import com.google.common.base.Optional;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Thin client sending command lines to a {@link CliDaemon} over a loopback socket.
+ */
+public class CliClient {
+
+    private static final int CONNECT_TIMEOUT = 1000;
+
+    public static class Response {
+        private final int exitCode;
+        private final String message;
+
+        Response(int exitCode, String message) {
+            this.exitCode = exitCode;
+            this.message = message;
+        }
+
+        public int getExitCode() {
+            return exitCode;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private final int port;
+    private final String token;
+
+    CliClient(int port, String token) {
+        this.port = port;
+        this.token = token;
+    }
+
+    /**
+     * Creates a client of the daemon described by a state file.
+     *
+     * @param stateFile the daemon state file
+     * @return the client, or absent if no daemon has been started
+     * @throws IOException if the state file cannot be read
+     */
+    public static Optional<CliClient> connect(Path stateFile) throws IOException {
+        if (!Files.isRegularFile(stateFile))
+            return Optional.absent();
+
+        Properties state = new Properties();
+        try (InputStream in = Files.newInputStream(stateFile)) {
+            state.load(in);
+        }
+        String port = state.getProperty(CliDaemon.PORT);
+        String token = state.getProperty(CliDaemon.TOKEN);
+        if (port == null || token == null)
+            return Optional.absent();
+
+        return Optional.of(new CliClient(Integer.parseInt(port), token));
+    }
+
+    /**
+     * Sends a command to the daemon and waits for its completion.
+     *
+     * @param command          the command
+     * @param args             the command arguments
+     * @param workingDirectory the working directory, used to resolve relative paths
+     * @return the daemon response
+     * @throws IOException if the daemon is not reachable
+     */
+    public Response send(String command, List<String> args, Path workingDirectory) throws IOException {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), CONNECT_TIMEOUT);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.writeUTF(token);
+            out.writeUTF(command);
+            out.writeInt(args.size());
+            for (String arg : args) {
+                out.writeUTF(arg);
+            }
+            out.writeUTF(workingDirectory.toString());
+            out.flush();
+
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            return new Response(in.readInt(), in.readUTF());
+        }
+    }
+
+    public int getPort() {
+        return port;
+    }
+}
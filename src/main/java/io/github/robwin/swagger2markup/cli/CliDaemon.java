@@ -0,0 +1,259 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.cli;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Background daemon keeping warmed conversion engines and content caches for {@link CliClient}s.<br/>
+ * The daemon only listens on the loopback interface. Its port and a random token are written to a state file readable
+ * by the current user only, and requests without the token are rejected.
+ */
+public class CliDaemon implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CliDaemon.class);
+
+    static final String PORT = "port";
+    static final String TOKEN = "token";
+
+    private static final int WORKERS = Runtime.getRuntime().availableProcessors();
+    private static final int REQUEST_TIMEOUT = 10000;
+    private static final int MAX_ARGS = 256;
+    private static final int MAX_MESSAGE_LENGTH = 16 * 1024;
+
+    private final Path stateFile;
+    private final String token;
+    private final ServerSocket serverSocket;
+    private final ExecutorService workers;
+    private final ConversionEngines engines = new ConversionEngines();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    private CliDaemon(Path stateFile, String token, ServerSocket serverSocket) {
+        this.stateFile = stateFile;
+        this.token = token;
+        this.serverSocket = serverSocket;
+        this.workers = Executors.newFixedThreadPool(WORKERS, new ThreadFactoryBuilder().setNameFormat("swagger2markup-daemon-%d").setDaemon(true).build());
+    }
+
+    /**
+     * @return the default state file, {@code ~/.swagger2markup/daemon.properties}, overridable with the
+     * {@code swagger2markup.daemon.stateFile} system property
+     */
+    public static Path defaultStateFile() {
+        String stateFile = System.getProperty("swagger2markup.daemon.stateFile");
+        if (stateFile != null)
+            return Paths.get(stateFile);
+        return Paths.get(System.getProperty("user.home"), ".swagger2markup", "daemon.properties");
+    }
+
+    /**
+     * Starts a daemon on an ephemeral loopback port and writes its state file.
+     *
+     * @param stateFile the daemon state file
+     * @return the running daemon
+     * @throws IOException if the daemon cannot be started
+     * @throws IllegalStateException if a daemon is already running with this state file
+     */
+    public static CliDaemon start(Path stateFile) throws IOException {
+        Optional<CliClient> runningDaemon = CliClient.connect(stateFile);
+        if (runningDaemon.isPresent()) {
+            try {
+                runningDaemon.get().send(Swagger2MarkupCli.PING, Collections.<String>emptyList(), stateFile.toAbsolutePath().getParent());
+                throw new IllegalStateException(String.format("A daemon is already running on port %d", runningDaemon.get().getPort()));
+            } catch (IOException e) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Replacing stale daemon state file {}", stateFile);
+                }
+            }
+        }
+
+        String token = new BigInteger(130, new SecureRandom()).toString(32);
+        ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        final CliDaemon daemon = new CliDaemon(stateFile, token, serverSocket);
+        try {
+            daemon.writeStateFile();
+        } catch (IOException e) {
+            serverSocket.close();
+            throw e;
+        }
+
+        Thread acceptor = new Thread(new Runnable() {
+            public void run() {
+                daemon.serve();
+            }
+        }, "swagger2markup-daemon");
+        acceptor.start();
+        return daemon;
+    }
+
+    private void writeStateFile() throws IOException {
+        Path folder = stateFile.toAbsolutePath().getParent();
+        Files.createDirectories(folder);
+        Path tempFile = Files.createTempFile(folder, "daemon", ".tmp");
+        try {
+            Files.setPosixFilePermissions(tempFile, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Cannot restrict the permissions of {}", stateFile);
+            }
+        }
+
+        Properties state = new Properties();
+        state.setProperty(PORT, Integer.toString(serverSocket.getLocalPort()));
+        state.setProperty(TOKEN, token);
+        try (OutputStream out = Files.newOutputStream(tempFile)) {
+            state.store(out, "swagger2markup daemon");
+        }
+        Files.move(tempFile, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void serve() {
+        while (!serverSocket.isClosed()) {
+            try {
+                final Socket socket = serverSocket.accept();
+                workers.execute(new Runnable() {
+                    public void run() {
+                        handle(socket);
+                    }
+                });
+            } catch (SocketException e) {
+                if (!serverSocket.isClosed() && logger.isWarnEnabled()) {
+                    logger.warn("Daemon socket failed", e);
+                }
+            } catch (IOException e) {
+                if (logger.isWarnEnabled()) {
+                    logger.warn("Failed to accept a client connection", e);
+                }
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (Socket client = socket) {
+            client.setSoTimeout(REQUEST_TIMEOUT);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(client.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(client.getOutputStream()));
+            try {
+                execute(client, in, out);
+            } catch (IllegalArgumentException e) {
+                respond(out, Swagger2MarkupCli.EXIT_USAGE, e.getMessage() + System.lineSeparator() + Swagger2MarkupCli.USAGE);
+            } catch (IOException | RuntimeException e) {
+                if (logger.isWarnEnabled()) {
+                    logger.warn("Daemon request failed", e);
+                }
+                respond(out, Swagger2MarkupCli.EXIT_FAILURE, String.format("Conversion failed: %s", e));
+            }
+        } catch (IOException e) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Failed to respond to client", e);
+            }
+        }
+    }
+
+    private void execute(Socket client, DataInputStream in, DataOutputStream out) throws IOException {
+        if (!MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), in.readUTF().getBytes(StandardCharsets.UTF_8))) {
+            respond(out, Swagger2MarkupCli.EXIT_FAILURE, "Invalid daemon token");
+            return;
+        }
+        String command = in.readUTF();
+        int argCount = in.readInt();
+        if (argCount < 0 || argCount > MAX_ARGS)
+            throw new IllegalArgumentException("Too many arguments");
+        List<String> args = new ArrayList<>(argCount);
+        for (int i = 0; i < argCount; i++) {
+            args.add(in.readUTF());
+        }
+        Path workingDirectory = Paths.get(in.readUTF());
+        client.setSoTimeout(0);
+
+        switch (command) {
+            case Swagger2MarkupCli.PING:
+                respond(out, Swagger2MarkupCli.EXIT_OK, "pong");
+                break;
+            case Swagger2MarkupCli.STOP:
+                respond(out, Swagger2MarkupCli.EXIT_OK, "Daemon stopped");
+                close();
+                break;
+            case Swagger2MarkupCli.CONVERT:
+                respond(out, Swagger2MarkupCli.EXIT_OK, Swagger2MarkupCli.convert(engines, args, workingDirectory));
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown command %s", command));
+        }
+    }
+
+    private static void respond(DataOutputStream out, int exitCode, String message) throws IOException {
+        out.writeInt(exitCode);
+        out.writeUTF(StringUtils.abbreviate(message, MAX_MESSAGE_LENGTH));
+        out.flush();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Waits until the daemon is stopped.
+     *
+     * @throws InterruptedException if the current thread is interrupted
+     */
+    public void await() throws InterruptedException {
+        stopped.await();
+    }
+
+    /**
+     * Stops the daemon and deletes its state file. Requests in progress are completed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (stopped.getCount() == 0)
+            return;
+
+        try {
+            serverSocket.close();
+            workers.shutdown();
+            Files.deleteIfExists(stateFile);
+        } finally {
+            stopped.countDown();
+        }
+    }
+}
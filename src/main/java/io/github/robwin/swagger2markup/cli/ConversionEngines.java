@@ -0,0 +1,106 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.cli;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.github.robwin.swagger2markup.ConversionEngine;
+import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
+import io.github.robwin.swagger2markup.content.CachingContentLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Conversion engines by configuration file, sharing a content cache.<br/>
+ * An engine is rebuilt when its configuration file is modified. Shard options are part of the engine key, so the least
+ * recently used engines are evicted once {@link #MAX_ENGINES} engines are cached, e.g. by a daemon serving many shards.
+ */
+class ConversionEngines {
+
+    private static final String DEFAULT_CONFIG = "";
+    static final int MAX_ENGINES = 16;
+
+    private final CachingContentLoader contentLoader = new CachingContentLoader();
+    private final Cache<String, ConversionEngine> engines = CacheBuilder.newBuilder().maximumSize(MAX_ENGINES).build();
+
+    /**
+     * Returns the engine of a configuration file.
+     *
+     * @param configFile the configuration properties file, or null for the default configuration
+     * @return the conversion engine
+     * @throws IOException if the configuration file cannot be read
+     */
+    ConversionEngine get(Path configFile) throws IOException {
+        return get(configFile, ShardOptions.NONE);
+    }
+
+    /**
+     * Returns the engine of a configuration file with shard options.
+     *
+     * @param configFile   the configuration properties file, or null for the default configuration
+     * @param shardOptions the shard options overriding the configuration file
+     * @return the conversion engine
+     * @throws IOException if the configuration file cannot be read
+     */
+    ConversionEngine get(Path configFile, ShardOptions shardOptions) throws IOException {
+        String configKey = configFile == null ? DEFAULT_CONFIG : configFile.toAbsolutePath() + "@" + Files.getLastModifiedTime(configFile).toMillis();
+        String key = configKey + "|" + shardOptions.getKey();
+        ConversionEngine engine = engines.getIfPresent(key);
+        if (engine == null) {
+            engine = ConversionEngine.ofDefaults()
+                    .withConfig(shardOptions.applyTo(config(configFile)).build())
+                    .withContentLoader(contentLoader)
+                    .build();
+            ConversionEngine existingEngine = engines.asMap().putIfAbsent(key, engine);
+            if (existingEngine != null)
+                return existingEngine;
+
+            if (configFile != null) {
+                String outdatedKeyPrefix = configFile.toAbsolutePath() + "@";
+                for (String engineKey : engines.asMap().keySet()) {
+                    if (engineKey.startsWith(outdatedKeyPrefix) && !engineKey.startsWith(configKey + "|"))
+                        engines.invalidate(engineKey);
+                }
+            }
+        }
+        return engine;
+    }
+
+    /**
+     * @return the number of cached engines
+     */
+    long size() {
+        return engines.size();
+    }
+
+    private static Swagger2MarkupConfig.Builder config(Path configFile) throws IOException {
+        if (configFile == null)
+            return Swagger2MarkupConfig.ofDefaults();
+
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(configFile)) {
+            properties.load(in);
+        }
+        return Swagger2MarkupConfig.ofProperties(properties);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.cli;
+
+import io.github.robwin.swagger2markup.ShardBy;
+import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
+
+import java.nio.file.Path;
+
+/**
+ * Shard options of a convert command, applied on top of the configuration file.
+ */
+class ShardOptions {
+
+    static final ShardOptions NONE = new ShardOptions(0, 1, ShardBy.OPERATION, null);
+
+    private final int index;
+    private final int count;
+    private final ShardBy shardBy;
+    private final Path mergeFolder;
+
+    ShardOptions(int index, int count, ShardBy shardBy, Path mergeFolder) {
+        this.index = index;
+        this.count = count;
+        this.shardBy = shardBy;
+        this.mergeFolder = mergeFolder;
+    }
+
+    /**
+     * Parses the value of the {@code --shard} option.
+     *
+     * @param shard   the shard, formatted as {@code index/count}
+     * @param shardBy the value of the {@code --shard-by} option, or null
+     * @return the shard options
+     * @throws IllegalArgumentException if a value is invalid
+     */
+    static ShardOptions parse(String shard, String shardBy) {
+        String[] parts = shard.split("/", -1);
+        if (parts.length != 2)
+            throw new IllegalArgumentException(String.format("Invalid shard '%s', expected <index>/<count>", shard));
+
+        int index;
+        int count;
+        try {
+            index = Integer.parseInt(parts[0]);
+            count = Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Invalid shard '%s', expected <index>/<count>", shard));
+        }
+        if (count <= 0 || index < 0 || index >= count)
+            throw new IllegalArgumentException(String.format("Invalid shard '%s', index must be >= 0 and < count", shard));
+
+        return new ShardOptions(index, count, shardBy == null ? ShardBy.OPERATION : parseShardBy(shardBy), null);
+    }
+
+    private static ShardBy parseShardBy(String shardBy) {
+        try {
+            return ShardBy.valueOf(shardBy.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Invalid shard-by '%s', expected operation or tag", shardBy));
+        }
+    }
+
+    /**
+     * Returns these options with a shard merge folder.
+     *
+     * @param mergeFolder the folder where the fragment files of all shards reside
+     * @return the shard options
+     */
+    ShardOptions withMergeFolder(Path mergeFolder) {
+        return new ShardOptions(index, count, shardBy, mergeFolder);
+    }
+
+    /**
+     * Applies these options to a configuration builder.
+     *
+     * @param builder the configuration builder
+     * @return the configuration builder
+     */
+    Swagger2MarkupConfig.Builder applyTo(Swagger2MarkupConfig.Builder builder) {
+        if (count > 1)
+            builder.withShard(index, count, shardBy);
+        if (mergeFolder != null)
+            builder.withShardMerge(mergeFolder);
+        return builder;
+    }
+
+    /**
+     * @return a key identifying these options, to look up the conversion engine using them
+     */
+    String getKey() {
+        if (count == 1 && mergeFolder == null)
+            return "";
+        return index + "/" + count + "/" + shardBy + (mergeFolder == null ? "" : "/" + mergeFolder.toAbsolutePath());
+    }
+}
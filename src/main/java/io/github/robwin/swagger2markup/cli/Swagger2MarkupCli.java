@@ -0,0 +1,185 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.cli;
+
+import com.google.common.base.Optional;
+import io.github.robwin.swagger2markup.output.FolderOutputTarget;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Command line interface.<br/>
+ * Conversions are delegated to a running {@link CliDaemon}, which keeps warmed conversion engines and content caches,
+ * or executed in-process if no daemon is running.
+ */
+public class Swagger2MarkupCli {
+
+    static final String USAGE = String.format("Usage: swagger2markup convert -i <swagger file or URL> -d <output folder> [-c <config properties file>]%n"
+            + "                             [--shard <index>/<count> [--shard-by operation|tag]] [--merge <fragments folder>]%n"
+            + "       swagger2markup daemon%n"
+            + "       swagger2markup stop");
+
+    static final String CONVERT = "convert";
+    static final String PING = "ping";
+    static final String STOP = "stop";
+
+    static final int EXIT_OK = 0;
+    static final int EXIT_FAILURE = 1;
+    static final int EXIT_USAGE = 2;
+
+    public static void main(String[] args) {
+        System.exit(run(Arrays.asList(args), CliDaemon.defaultStateFile(), System.out, System.err));
+    }
+
+    /**
+     * Runs a command line.
+     *
+     * @param args      the command line arguments
+     * @param stateFile the daemon state file
+     * @param out       the standard output
+     * @param err       the error output
+     * @return the exit code
+     */
+    public static int run(List<String> args, Path stateFile, PrintStream out, PrintStream err) {
+        if (args.isEmpty()) {
+            err.println(USAGE);
+            return EXIT_USAGE;
+        }
+
+        String command = args.get(0);
+        List<String> commandArgs = args.subList(1, args.size());
+        Path workingDirectory = Paths.get("").toAbsolutePath();
+        try {
+            switch (command) {
+                case CONVERT:
+                    Optional<CliClient> client = CliClient.connect(stateFile);
+                    if (client.isPresent()) {
+                        try {
+                            return print(client.get().send(CONVERT, commandArgs, workingDirectory), out, err);
+                        } catch (IOException e) {
+                            err.println(String.format("Daemon is not reachable, converting in-process: %s", e.getMessage()));
+                        }
+                    }
+                    out.println(convert(new ConversionEngines(), commandArgs, workingDirectory));
+                    return EXIT_OK;
+                case "daemon":
+                    CliDaemon daemon = CliDaemon.start(stateFile);
+                    out.println(String.format("Daemon listening on port %d", daemon.getPort()));
+                    daemon.await();
+                    return EXIT_OK;
+                case STOP:
+                    Optional<CliClient> daemonClient = CliClient.connect(stateFile);
+                    if (!daemonClient.isPresent()) {
+                        err.println("No daemon is running");
+                        return EXIT_FAILURE;
+                    }
+                    return print(daemonClient.get().send(STOP, commandArgs, workingDirectory), out, err);
+                default:
+                    err.println(USAGE);
+                    return EXIT_USAGE;
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return EXIT_USAGE;
+        } catch (IllegalStateException | IOException e) {
+            err.println(e.getMessage());
+            return EXIT_FAILURE;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return EXIT_FAILURE;
+        }
+    }
+
+    private static int print(CliClient.Response response, PrintStream out, PrintStream err) {
+        (response.getExitCode() == EXIT_OK ? out : err).println(response.getMessage());
+        return response.getExitCode();
+    }
+
+    /**
+     * Executes a convert command. Relative paths are resolved against the working directory of the command line.<br/>
+     * {@code --shard} only renders the fragment files of a shard, {@code --merge} assembles the documents from the fragment
+     * files of all shards, see {@link io.github.robwin.swagger2markup.config.Swagger2MarkupConfig.Builder#withShard(int, int, io.github.robwin.swagger2markup.ShardBy)}.
+     *
+     * @param engines          the conversion engines
+     * @param args             the convert command arguments
+     * @param workingDirectory the working directory of the command line
+     * @return the command output
+     * @throws IOException if the conversion fails
+     * @throws IllegalArgumentException if the arguments are invalid
+     */
+    static String convert(ConversionEngines engines, List<String> args, Path workingDirectory) throws IOException {
+        String input = null;
+        String outputFolder = null;
+        String configFile = null;
+        String shard = null;
+        String shardBy = null;
+        String mergeFolder = null;
+        for (int i = 0; i < args.size(); i++) {
+            String option = args.get(i);
+            if (i + 1 == args.size())
+                throw new IllegalArgumentException(String.format("Missing value of option %s", option));
+            String value = args.get(++i);
+            switch (option) {
+                case "-i":
+                    input = value;
+                    break;
+                case "-d":
+                    outputFolder = value;
+                    break;
+                case "-c":
+                    configFile = value;
+                    break;
+                case "--shard":
+                    shard = value;
+                    break;
+                case "--shard-by":
+                    shardBy = value;
+                    break;
+                case "--merge":
+                    mergeFolder = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException(String.format("Unknown option %s", option));
+            }
+        }
+        if (input == null || outputFolder == null)
+            throw new IllegalArgumentException("Options -i and -d are required");
+        if (shardBy != null && shard == null)
+            throw new IllegalArgumentException("Option --shard-by requires --shard");
+        if (shard != null && mergeFolder != null)
+            throw new IllegalArgumentException("Options --shard and --merge are exclusive");
+
+        ShardOptions shardOptions = shard == null ? ShardOptions.NONE : ShardOptions.parse(shard, shardBy);
+        if (mergeFolder != null)
+            shardOptions = shardOptions.withMergeFolder(workingDirectory.resolve(mergeFolder));
+
+        URI swaggerUri = input.matches("^[a-zA-Z][a-zA-Z0-9+.-]+:/.*") ? URI.create(input) : workingDirectory.resolve(input).toUri();
+        Path outputPath = workingDirectory.resolve(outputFolder);
+        engines.get(configFile == null ? null : workingDirectory.resolve(configFile), shardOptions)
+                .convert(swaggerUri, new FolderOutputTarget(outputPath.toString()));
+        return String.format("Converted %s into %s", swaggerUri, outputPath);
+    }
+}
@@ -25,6 +25,7 @@ import io.github.robwin.swagger2markup.*;
 import io.github.robwin.swagger2markup.utils.IOUtils;
 import io.swagger.models.HttpMethod;
 import io.swagger.models.parameters.Parameter;
+import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,7 +36,12 @@ import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.Properties;
 
-public class Swagger2MarkupConfig {
+/**
+ * Swagger2Markup configuration.<br/>
+ * Built configurations are never modified, so that one configuration can be shared by concurrent conversions.
+ * Each conversion uses its own {@link #resolve(Swagger2MarkupConverter.Context) resolved} copy.
+ */
+public class Swagger2MarkupConfig implements Cloneable {
 
     private static final Logger logger = LoggerFactory.getLogger(Swagger2MarkupConfig.class);
 
@@ -55,6 +61,14 @@ public class Swagger2MarkupConfig {
     private OrderBy definitionsOrderedBy;
     private Language outputLanguage;
     private int inlineSchemaDepthLevel;
+    private boolean inlineSchemaDeduplication;
+    private int contentPrefetchThreads;
+    private boolean virtualThreads;
+    private long memoryBudget;
+    private int shardIndex;
+    private int shardCount;
+    private ShardBy shardBy;
+    private URI shardMergeUri;
     private Comparator<String> tagOrdering;
     private Comparator<PathOperation> operationOrdering;
     private Comparator<String> definitionOrdering;
@@ -70,6 +84,7 @@ public class Swagger2MarkupConfig {
     private String pathsDocument;
     private String definitionsDocument;
     private String securityDocument;
+    private String changelogDocument;
     private String separatedOperationsFolder;
     private String separatedDefinitionsFolder;
 
@@ -85,12 +100,36 @@ public class Swagger2MarkupConfig {
      * Global context lazy initialization
      *
      * @param globalContext Partially initialized global context (globalContext.extensionRegistry == null)
+     * @deprecated mutates this configuration, which can then not be shared by several conversions. Use {@link #resolve(Swagger2MarkupConverter.Context)} instead.
      */
+    @Deprecated
     public void setGlobalContext(Swagger2MarkupConverter.Context globalContext) {
         configureDefaultContentPaths(globalContext.swaggerLocation);
         onUpdateGlobalContext(globalContext);
     }
 
+    /**
+     * Returns the configuration of a single conversion, with default content paths resolved from the Swagger location.<br/>
+     * This configuration is left unchanged, so that it can be shared by concurrent conversions.
+     *
+     * @param globalContext Partially initialized global context (globalContext.extensionRegistry == null)
+     * @return the resolved configuration
+     */
+    public Swagger2MarkupConfig resolve(Swagger2MarkupConverter.Context globalContext) {
+        Swagger2MarkupConfig resolvedConfig = copy();
+        resolvedConfig.configureDefaultContentPaths(globalContext.swaggerLocation);
+        resolvedConfig.onUpdateGlobalContext(globalContext);
+        return resolvedConfig;
+    }
+
+    private Swagger2MarkupConfig copy() {
+        try {
+            return (Swagger2MarkupConfig) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     /**
      * Overridable onUpdateGlobalContext event listener.
      *
@@ -213,6 +252,45 @@ public class Swagger2MarkupConfig {
         return inlineSchemaDepthLevel;
     }
 
+    public boolean isInlineSchemaDeduplication() {
+        return inlineSchemaDeduplication;
+    }
+
+    public int getContentPrefetchThreads() {
+        return contentPrefetchThreads;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public ShardBy getShardBy() {
+        return shardBy;
+    }
+
+    /**
+     * @return true if this conversion only renders the operation and definition fragments of its shard
+     */
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    public URI getShardMergeUri() {
+        return shardMergeUri;
+    }
+
     public Comparator<String> getTagOrdering() {
         return tagOrdering;
     }
@@ -269,6 +347,10 @@ public class Swagger2MarkupConfig {
         return securityDocument;
     }
 
+    public String getChangelogDocument() {
+        return changelogDocument;
+    }
+
     public String getSeparatedOperationsFolder() {
         return separatedOperationsFolder;
     }
@@ -314,6 +396,11 @@ public class Swagger2MarkupConfig {
                     }
                 });
 
+        /**
+         * Default properties, loaded once. Only read through {@link Properties#getProperty(String)}, never modified.
+         */
+        private static final Properties DEFAULT_PROPERTIES = loadDefaultProperties();
+
         private Swagger2MarkupConfig config = new Swagger2MarkupConfig();
 
         Builder() {
@@ -322,7 +409,7 @@ public class Swagger2MarkupConfig {
 
         Builder(Properties properties) {
 
-            Properties safeProperties = new Properties(defaultProperties());
+            Properties safeProperties = new Properties(DEFAULT_PROPERTIES);
             safeProperties.putAll(properties);
 
             config.markupLanguage = MarkupLanguage.valueOf(safeProperties.getProperty(PROPERTIES_PREFIX + "markupLanguage"));
@@ -344,6 +431,15 @@ public class Swagger2MarkupConfig {
             config.definitionsOrderedBy = OrderBy.valueOf(safeProperties.getProperty(PROPERTIES_PREFIX + "definitionsOrderedBy"));
             config.outputLanguage = Language.valueOf(safeProperties.getProperty(PROPERTIES_PREFIX + "outputLanguage"));
             config.inlineSchemaDepthLevel = Integer.valueOf(safeProperties.getProperty(PROPERTIES_PREFIX + "inlineSchemaDepthLevel"));
+            config.inlineSchemaDeduplication = Boolean.valueOf(safeProperties.getProperty(PROPERTIES_PREFIX + "inlineSchemaDeduplication"));
+            config.contentPrefetchThreads = Integer.valueOf(safeProperties.getProperty(PROPERTIES_PREFIX + "contentPrefetchThreads"));
+            config.virtualThreads = Boolean.valueOf(safeProperties.getProperty(PROPERTIES_PREFIX + "virtualThreads"));
+            config.memoryBudget = Long.valueOf(safeProperties.getProperty(PROPERTIES_PREFIX + "memoryBudget"));
+            config.shardIndex = Integer.valueOf(safeProperties.getProperty(PROPERTIES_PREFIX + "shardIndex"));
+            config.shardCount = Integer.valueOf(safeProperties.getProperty(PROPERTIES_PREFIX + "shardCount"));
+            config.shardBy = ShardBy.valueOf(safeProperties.getProperty(PROPERTIES_PREFIX + "shardBy"));
+            if (safeProperties.containsKey(PROPERTIES_PREFIX + "shardMergeUri"))
+                config.shardMergeUri = URI.create(safeProperties.getProperty(PROPERTIES_PREFIX + "shardMergeUri"));
             config.interDocumentCrossReferences = Boolean.valueOf(safeProperties.getProperty(PROPERTIES_PREFIX + "interDocumentCrossReferences"));
             config.interDocumentCrossReferencesPrefix = safeProperties.getProperty(PROPERTIES_PREFIX + "interDocumentCrossReferencesPrefix");
             config.flatBody = Boolean.valueOf(safeProperties.getProperty(PROPERTIES_PREFIX + "flatBody"));
@@ -352,6 +448,7 @@ public class Swagger2MarkupConfig {
             config.pathsDocument = safeProperties.getProperty(PROPERTIES_PREFIX + "pathsDocument");
             config.definitionsDocument = safeProperties.getProperty(PROPERTIES_PREFIX + "definitionsDocument");
             config.securityDocument = safeProperties.getProperty(PROPERTIES_PREFIX + "securityDocument");
+            config.changelogDocument = safeProperties.getProperty(PROPERTIES_PREFIX + "changelogDocument");
             config.separatedOperationsFolder = safeProperties.getProperty(PROPERTIES_PREFIX + "separatedOperationsFolder");
             config.separatedDefinitionsFolder = safeProperties.getProperty(PROPERTIES_PREFIX + "separatedDefinitionsFolder");
 
@@ -363,10 +460,9 @@ public class Swagger2MarkupConfig {
             config.responseOrdering = Ordering.natural();
         }
 
-        private Properties defaultProperties() {
+        private static Properties loadDefaultProperties() {
             Properties defaultProperties = new Properties();
-            try {
-                InputStream defaultPropertiesStream = Swagger2MarkupConfig.class.getResourceAsStream(PROPERTIES_DEFAULT);
+            try (InputStream defaultPropertiesStream = Swagger2MarkupConfig.class.getResourceAsStream(PROPERTIES_DEFAULT)) {
                 if (defaultPropertiesStream == null)
                     throw new RuntimeException(String.format("Can't load default properties '%s'", PROPERTIES_DEFAULT));
                 defaultProperties.load(defaultPropertiesStream);
@@ -377,8 +473,13 @@ public class Swagger2MarkupConfig {
             return defaultProperties;
         }
 
+        /**
+         * Builds an immutable configuration. Later changes to this builder do not affect built configurations.
+         *
+         * @return the configuration
+         */
         public Swagger2MarkupConfig build() {
-            return config;
+            return config.copy();
         }
 
         /**
@@ -596,6 +697,111 @@ public class Swagger2MarkupConfig {
             return this;
         }
 
+        /**
+         * Render structurally identical inline schemas only once per document.<br/>
+         * Later occurrences link to the first rendered schema.
+         *
+         * @return this builder
+         */
+        public Builder withInlineSchemaDeduplication() {
+            config.inlineSchemaDeduplication = true;
+            return this;
+        }
+
+        /**
+         * Loads all content files (examples, descriptions, schemas, dynamic extensions) in parallel before rendering.<br/>
+         * Rendering then reads the content from memory (0 = no prefetch, content is read while rendering).
+         *
+         * @param contentPrefetchThreads number of threads used to prefetch content files
+         * @return this builder
+         */
+        public Builder withContentPrefetch(int contentPrefetchThreads) {
+            Validate.isTrue(contentPrefetchThreads >= 0, "contentPrefetchThreads must be >= 0");
+            config.contentPrefetchThreads = contentPrefetchThreads;
+            return this;
+        }
+
+        /**
+         * On Java 21+, prefetches content files and writes separated operation and definition files on virtual threads.<br/>
+         * On older JVMs, this option is ignored.
+         *
+         * @return this builder
+         */
+        public Builder withVirtualThreads() {
+            config.virtualThreads = true;
+            return this;
+        }
+
+        /**
+         * Limits the heap used by rendered operations and definitions of a document written to a folder or an archive.<br/>
+         * Once the budget is exceeded, further fragments are spilled to a temporary file and transferred to the output
+         * when the document is written (0 = no limit).
+         *
+         * @param memoryBudget approximate budget in bytes
+         * @return this builder
+         */
+        public Builder withMemoryBudget(long memoryBudget) {
+            Validate.isTrue(memoryBudget >= 0, "memoryBudget must be >= 0");
+            config.memoryBudget = memoryBudget;
+            return this;
+        }
+
+        /**
+         * Only renders the operations and definitions of a shard, so that a conversion can be distributed over several processes.<br/>
+         * Each operation and definition of the shard is written to a fragment file, in the separated operations and definitions folders.
+         * The fragments of all shards are then assembled by a conversion configured with {@link #withShardMerge(URI)}.
+         *
+         * @param index   the shard index, from 0 to count - 1
+         * @param count   the number of shards
+         * @param shardBy whether operations are partitioned by operation id or by tag
+         * @return this builder
+         */
+        public Builder withShard(int index, int count, ShardBy shardBy) {
+            Validate.isTrue(count > 0, "count must be > 0");
+            Validate.isTrue(index >= 0 && index < count, "index must be >= 0 and < count");
+            Validate.notNull(shardBy, "shardBy must not be null");
+            config.shardIndex = index;
+            config.shardCount = count;
+            config.shardBy = shardBy;
+            return this;
+        }
+
+        /**
+         * Only renders the operations and definitions of a shard, operations being partitioned by operation id.
+         *
+         * @param index the shard index, from 0 to count - 1
+         * @param count the number of shards
+         * @return this builder
+         */
+        public Builder withShard(int index, int count) {
+            return withShard(index, count, ShardBy.OPERATION);
+        }
+
+        /**
+         * Assembles the Paths and Definitions documents from the fragment files written by sharded conversions.<br/>
+         * Fragments are included in {@code operationOrdering} and {@code definitionOrdering} order. Missing fragments are rendered.
+         * All conversions must use the same configuration, apart from the shard options.
+         *
+         * @param shardMergeUri the URI of the folder where the fragment files of all shards reside
+         * @return this builder
+         */
+        public Builder withShardMerge(URI shardMergeUri) {
+            Validate.notNull(shardMergeUri, "shardMergeUri must not be null");
+            config.shardMergeUri = shardMergeUri;
+            return this;
+        }
+
+        /**
+         * Assembles the Paths and Definitions documents from the fragment files written by sharded conversions.
+         *
+         * @param shardMergePath the folder where the fragment files of all shards reside
+         * @return this builder
+         */
+        public Builder withShardMerge(Path shardMergePath) {
+            Validate.notNull(shardMergePath, "shardMergePath must not be null");
+            return withShardMerge(shardMergePath.toUri());
+        }
+
 
         /**
          * Specifies a custom comparator function to order tags.
@@ -0,0 +1,178 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.content;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.cache.Weigher;
+import org.apache.commons.lang3.Validate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content loader keeping loaded content in a bounded LRU cache, which can be shared by several conversions.<br/>
+ * Only {@code file} URIs are cached. Entries are checked against the file modification time and size
+ * on each load, and reloaded when the file changed.<br/>
+ * The cache uses a single segment, so that the memory bound and the LRU order apply to the whole cache.
+ */
+public class CachingContentLoader implements ContentLoader {
+
+    /**
+     * Default memory bound of the cache, in bytes.
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 32 * 1024 * 1024;
+
+    private static CachingContentLoader shared;
+
+    private final ContentLoader loader;
+    private final Cache<URI, Entry> cache;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong invalidationCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong weight = new AtomicLong();
+
+    /**
+     * Cached content, with the file attributes it was read with.
+     */
+    private static class Entry {
+        final String content;
+        final long lastModified;
+        final long size;
+
+        Entry(String content, long lastModified, long size) {
+            this.content = content;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        int weight() {
+            return 64 + 2 * content.length();
+        }
+    }
+
+    /**
+     * Creates a cache of {@link #DEFAULT_MAXIMUM_WEIGHT} bytes in front of the default loader.
+     */
+    public CachingContentLoader() {
+        this(new UriContentLoader(), DEFAULT_MAXIMUM_WEIGHT);
+    }
+
+    /**
+     * Creates a cache in front of a loader.
+     *
+     * @param loader        the loader reading uncached content
+     * @param maximumWeight memory bound of the cache, in bytes
+     */
+    public CachingContentLoader(ContentLoader loader, long maximumWeight) {
+        Validate.notNull(loader, "loader must not be null");
+        Validate.isTrue(maximumWeight >= 0, "maximumWeight must be >= 0");
+        this.loader = loader;
+        this.cache = CacheBuilder.newBuilder()
+                .concurrencyLevel(1)
+                .maximumWeight(maximumWeight)
+                .weigher(new Weigher<URI, Entry>() {
+                    @Override
+                    public int weigh(URI uri, Entry entry) {
+                        return entry.weight();
+                    }
+                })
+                .removalListener(new RemovalListener<URI, Entry>() {
+                    @Override
+                    public void onRemoval(RemovalNotification<URI, Entry> notification) {
+                        weight.addAndGet(-notification.getValue().weight());
+                        if (notification.getCause() == RemovalCause.SIZE)
+                            evictionCount.incrementAndGet();
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Returns the cache shared by all conversions of this JVM, created with the default memory bound on first use.
+     *
+     * @return the shared cache
+     */
+    public static synchronized CachingContentLoader shared() {
+        if (shared == null)
+            shared = new CachingContentLoader();
+        return shared;
+    }
+
+    @Override
+    public String load(URI uri) throws IOException {
+        if (!"file".equals(uri.getScheme()))
+            return loader.load(uri);
+
+        Path file = Paths.get(uri);
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            cache.invalidate(uri);
+            missCount.incrementAndGet();
+            throw e;
+        }
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        Entry entry = cache.getIfPresent(uri);
+        if (entry != null) {
+            if (entry.lastModified == lastModified && entry.size == attributes.size()) {
+                hitCount.incrementAndGet();
+                return entry.content;
+            }
+            cache.invalidate(uri);
+            invalidationCount.incrementAndGet();
+        }
+
+        missCount.incrementAndGet();
+        String content = loader.load(uri);
+        Entry loaded = new Entry(content, lastModified, attributes.size());
+        weight.addAndGet(loaded.weight());
+        cache.put(uri, loaded);
+        return content;
+    }
+
+    /**
+     * Discards all cached content. Statistics are kept.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics.
+     *
+     * @return cache statistics
+     */
+    public ContentCacheStats stats() {
+        cache.cleanUp();
+        return new ContentCacheStats(hitCount.get(), missCount.get(), invalidationCount.get(), evictionCount.get(), cache.size(), weight.get());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.content;
+
+/**
+ * Immutable snapshot of content cache statistics.
+ */
+public class ContentCacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long invalidationCount;
+    private final long evictionCount;
+    private final long size;
+    private final long weight;
+
+    ContentCacheStats(long hitCount, long missCount, long invalidationCount, long evictionCount, long size, long weight) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.invalidationCount = invalidationCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+        this.weight = weight;
+    }
+
+    /**
+     * @return the number of loads served from the cache
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of loads which had to read the content, including invalidated entries
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of entries discarded because their file changed
+     */
+    public long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    /**
+     * @return the number of entries evicted to respect the memory bound
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the number of cached entries
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the approximate memory used by cached content, in bytes
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    /**
+     * @return the ratio of loads served from the cache, or 1.0 if there was no load
+     */
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d, misses=%d, invalidations=%d, evictions=%d, size=%d, weight=%d",
+                hitCount, missCount, invalidationCount, evictionCount, size, weight);
+    }
+}
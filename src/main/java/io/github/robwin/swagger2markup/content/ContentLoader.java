@@ -0,0 +1,37 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.content;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Loads content files (examples, descriptions, schemas, extensions) referenced by the documents.
+ */
+public interface ContentLoader {
+
+    /**
+     * Loads the content of a file.
+     *
+     * @param uri the content URI
+     * @return the content
+     * @throws IOException if the content cannot be read
+     */
+    String load(URI uri) throws IOException;
+}
@@ -0,0 +1,121 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.content;
+
+import io.github.robwin.swagger2markup.PathOperation;
+import io.github.robwin.swagger2markup.PathOperationIndex;
+import io.github.robwin.swagger2markup.Swagger2MarkupConverter;
+import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
+import io.github.robwin.swagger2markup.extension.Extension;
+import io.github.robwin.swagger2markup.extension.PrefetchableExtension;
+import io.swagger.models.Model;
+import io.swagger.models.parameters.Parameter;
+
+import java.io.File;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static io.github.robwin.swagger2markup.utils.IOUtils.normalizeName;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+/**
+ * Computes the content files the documents can read while rendering, from the operation and definition index.<br/>
+ * Candidates follow the same folder search order as the documents. Most of them do not exist.
+ */
+public final class ContentPrefetcher {
+
+    private static final List<String> EXAMPLE_FILE_NAMES = Arrays.asList("curl-request", "http-request", "http-response");
+    private static final String DESCRIPTION_FILE_NAME = "description";
+    private static final List<String> SCHEMA_EXTENSIONS = Arrays.asList(".json", ".xsd");
+
+    private ContentPrefetcher() {
+    }
+
+    /**
+     * Returns all content URIs which can be read while rendering this context.
+     *
+     * @param globalContext global context, with its operation index built
+     * @return the candidate content URIs
+     */
+    public static Set<URI> getContentCandidates(Swagger2MarkupConverter.Context globalContext) {
+        Set<URI> candidates = new LinkedHashSet<>();
+        Swagger2MarkupConfig config = globalContext.config;
+        List<String> fileNameExtensions = config.getMarkupLanguage().getFileNameExtensions();
+
+        PathOperationIndex operationIndex = globalContext.operationIndex;
+        for (PathOperation operation : operationIndex.getOperations()) {
+            PathOperationIndex.Entry entry = operationIndex.get(operation);
+
+            for (String folderName : Arrays.asList(entry.getFolderName(), entry.getTitleFolderName())) {
+                if (config.isExamples()) {
+                    for (String exampleFileName : EXAMPLE_FILE_NAMES)
+                        addCandidates(candidates, config.getExamplesUri(), folderName, exampleFileName, fileNameExtensions);
+                }
+                if (config.isOperationDescriptions()) {
+                    addCandidates(candidates, config.getOperationDescriptionsUri(), folderName, DESCRIPTION_FILE_NAME, fileNameExtensions);
+
+                    List<Parameter> parameters = operation.getOperation().getParameters();
+                    if (parameters != null) {
+                        for (Parameter parameter : parameters) {
+                            if (isNotBlank(parameter.getName()))
+                                addCandidates(candidates, config.getOperationDescriptionsUri(), new File(folderName, parameter.getName()).getPath(), DESCRIPTION_FILE_NAME, fileNameExtensions);
+                        }
+                    }
+                }
+            }
+        }
+
+        Map<String, Model> definitions = globalContext.swagger.getDefinitions();
+        if (definitions != null) {
+            for (Map.Entry<String, Model> definition : definitions.entrySet()) {
+                String definitionName = definition.getKey();
+                if (config.isDefinitionDescriptions()) {
+                    addCandidates(candidates, config.getDefinitionDescriptionsUri(), normalizeName(definitionName), DESCRIPTION_FILE_NAME, fileNameExtensions);
+
+                    if (definition.getValue().getProperties() != null) {
+                        for (String propertyName : definition.getValue().getProperties().keySet())
+                            addCandidates(candidates, config.getDefinitionDescriptionsUri(), new File(normalizeName(definitionName), normalizeName(propertyName)).toString(), DESCRIPTION_FILE_NAME, fileNameExtensions);
+                    }
+                }
+                if (config.isSchemas() && isNotBlank(definitionName)) {
+                    for (String schemaExtension : SCHEMA_EXTENSIONS)
+                        candidates.add(config.getSchemasUri().resolve(definitionName + schemaExtension));
+                }
+            }
+        }
+
+        for (Extension extension : globalContext.extensionRegistry.getExtensions()) {
+            if (extension instanceof PrefetchableExtension)
+                candidates.addAll(((PrefetchableExtension) extension).getContentCandidates());
+        }
+
+        return candidates;
+    }
+
+    private static void addCandidates(Collection<URI> candidates, URI baseUri, String folderName, String fileName, List<String> fileNameExtensions) {
+        URI folderUri = baseUri.resolve(folderName);
+        for (String fileNameExtension : fileNameExtensions)
+            candidates.add(folderUri.resolve(fileName + fileNameExtension));
+    }
+}
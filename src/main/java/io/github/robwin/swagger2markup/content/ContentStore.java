@@ -0,0 +1,179 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.content;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-memory store of prefetched content.<br/>
+ * Content files are loaded in parallel before rendering, so that rendering does not wait on slow file systems.
+ * Missing files are remembered too. URIs which were not prefetched are loaded from the underlying loader.
+ */
+public class ContentStore implements ContentLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentStore.class);
+
+    private final ContentLoader loader;
+    private final ConcurrentMap<URI, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Prefetched content, or the reason why it could not be loaded.
+     */
+    private static class Entry {
+        final String content;
+        final IOException failure;
+
+        Entry(String content, IOException failure) {
+            this.content = content;
+            this.failure = failure;
+        }
+    }
+
+    /**
+     * Creates an empty store.
+     *
+     * @param loader the loader used to prefetch content
+     */
+    public ContentStore(ContentLoader loader) {
+        Validate.notNull(loader, "loader must not be null");
+        this.loader = loader;
+    }
+
+    /**
+     * Loads all content URIs into the store.
+     *
+     * @param uris    the content URIs
+     * @param threads number of threads loading content concurrently
+     */
+    public void prefetch(Collection<URI> uris, int threads) {
+        Validate.notNull(uris, "uris must not be null");
+        Validate.isTrue(threads > 0, "threads must be > 0");
+
+        Set<URI> pendingUris = pendingUris(uris);
+        if (threads == 1 || pendingUris.size() <= 1) {
+            for (URI uri : pendingUris)
+                fetch(uri);
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, pendingUris.size()),
+                new ThreadFactoryBuilder().setNameFormat("swagger2markup-prefetch-%d").setDaemon(true).build());
+        try {
+            prefetch(pendingUris, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Loads all content URIs into the store, using an executor owned by the caller.
+     *
+     * @param uris     the content URIs
+     * @param executor the executor loading content
+     */
+    public void prefetch(Collection<URI> uris, ExecutorService executor) {
+        Validate.notNull(uris, "uris must not be null");
+        Validate.notNull(executor, "executor must not be null");
+
+        Set<URI> pendingUris = pendingUris(uris);
+        if (pendingUris.isEmpty())
+            return;
+
+        List<Callable<Void>> tasks = new ArrayList<>(pendingUris.size());
+        for (final URI uri : pendingUris) {
+            tasks.add(new Callable<Void>() {
+                public Void call() {
+                    fetch(uri);
+                    return null;
+                }
+            });
+        }
+
+        try {
+            executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (logger.isWarnEnabled()) {
+                logger.warn("Content prefetch interrupted, remaining content will be loaded while rendering");
+            }
+        }
+    }
+
+    private Set<URI> pendingUris(Collection<URI> uris) {
+        Set<URI> pendingUris = new LinkedHashSet<>(uris);
+        pendingUris.removeAll(entries.keySet());
+        return pendingUris;
+    }
+
+    private void fetch(URI uri) {
+        try {
+            entries.putIfAbsent(uri, new Entry(loader.load(uri), null));
+        } catch (IOException e) {
+            entries.putIfAbsent(uri, new Entry(null, e));
+        } catch (RuntimeException e) {
+            entries.putIfAbsent(uri, new Entry(null, new IOException(e.getMessage(), e)));
+        }
+    }
+
+    @Override
+    public String load(URI uri) throws IOException {
+        Entry entry = entries.get(uri);
+        if (entry == null)
+            return loader.load(uri);
+        if (entry.failure != null)
+            throw new IOException(entry.failure.getMessage(), entry.failure);
+
+        return entry.content;
+    }
+
+    /**
+     * Returns true if this URI has been prefetched, whether or not its content could be loaded.
+     *
+     * @param uri the content URI
+     * @return true if this URI has been prefetched
+     */
+    public boolean contains(URI uri) {
+        return entries.containsKey(uri);
+    }
+
+    /**
+     * Returns the number of prefetched URIs.
+     *
+     * @return the number of prefetched URIs
+     */
+    public int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.content;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content loader for {@code http} and {@code https} URIs. Other URIs are read by a fallback loader.<br/>
+ * <ul>
+ * <li>connections are kept alive and reused from the JDK connection pool, response bodies are always fully consumed</li>
+ * <li>at most {@code maxConcurrentRequests} requests are in flight, callers wait for a free slot</li>
+ * <li>missing content (404, 410) is remembered for {@code notFoundTtl} milliseconds</li>
+ * <li>loaded content is revalidated with conditional requests ({@code If-None-Match}, {@code If-Modified-Since})</li>
+ * </ul>
+ */
+public class RemoteContentLoader implements ContentLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteContentLoader.class);
+
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 8;
+    public static final int DEFAULT_TIMEOUT = 10000;
+    public static final long DEFAULT_NOT_FOUND_TTL = TimeUnit.MINUTES.toMillis(5);
+    private static final long MAXIMUM_CACHED_WEIGHT = 16 * 1024 * 1024;
+
+    private final ContentLoader fallbackLoader;
+    private final Semaphore requests;
+    private final int timeout;
+    private final long notFoundTtl;
+    private final Cache<URI, Long> notFound;
+    private final Cache<URI, Entry> validated;
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong notModifiedCount = new AtomicLong();
+
+    /**
+     * Loaded content, with its validators.
+     */
+    private static class Entry {
+        final String content;
+        final String etag;
+        final long lastModified;
+
+        Entry(String content, String etag, long lastModified) {
+            this.content = content;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+    }
+
+    /**
+     * Creates a remote loader with default settings, reading non-http URIs with the default loader.
+     */
+    public RemoteContentLoader() {
+        this(new UriContentLoader(), DEFAULT_MAX_CONCURRENT_REQUESTS, DEFAULT_TIMEOUT, DEFAULT_NOT_FOUND_TTL);
+    }
+
+    /**
+     * Creates a remote loader.
+     *
+     * @param fallbackLoader        the loader reading non-http URIs
+     * @param maxConcurrentRequests maximum number of requests in flight
+     * @param timeout               connect and read timeout, in milliseconds
+     * @param notFoundTtl           how long missing content is remembered, in milliseconds (0 = not remembered)
+     */
+    public RemoteContentLoader(ContentLoader fallbackLoader, int maxConcurrentRequests, int timeout, long notFoundTtl) {
+        Validate.notNull(fallbackLoader, "fallbackLoader must not be null");
+        Validate.isTrue(maxConcurrentRequests > 0, "maxConcurrentRequests must be > 0");
+        Validate.isTrue(timeout >= 0, "timeout must be >= 0");
+        Validate.isTrue(notFoundTtl >= 0, "notFoundTtl must be >= 0");
+        this.fallbackLoader = fallbackLoader;
+        this.requests = new Semaphore(maxConcurrentRequests, true);
+        this.timeout = timeout;
+        this.notFoundTtl = notFoundTtl;
+        this.notFound = CacheBuilder.newBuilder().maximumSize(10000).build();
+        this.validated = CacheBuilder.newBuilder()
+                .maximumWeight(MAXIMUM_CACHED_WEIGHT)
+                .weigher(new Weigher<URI, Entry>() {
+                    @Override
+                    public int weigh(URI uri, Entry entry) {
+                        return 64 + 2 * entry.content.length();
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public String load(URI uri) throws IOException {
+        String scheme = uri.getScheme();
+        if (!"http".equalsIgnoreCase(scheme) && !"https".equalsIgnoreCase(scheme))
+            return fallbackLoader.load(uri);
+
+        Long notFoundTime = notFound.getIfPresent(uri);
+        if (notFoundTime != null) {
+            if (System.currentTimeMillis() - notFoundTime < notFoundTtl)
+                throw new FileNotFoundException(uri.toString());
+            notFound.invalidate(uri);
+        }
+
+        try {
+            requests.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(String.format("Interrupted while waiting to load %s", uri));
+        }
+        try {
+            return fetch(uri);
+        } finally {
+            requests.release();
+        }
+    }
+
+    private String fetch(URI uri) throws IOException {
+        Entry entry = validated.getIfPresent(uri);
+
+        URLConnection urlConnection = uri.toURL().openConnection();
+        Validate.isTrue(urlConnection instanceof HttpURLConnection, "Not an HTTP connection: %s", uri);
+        HttpURLConnection connection = (HttpURLConnection) urlConnection;
+        connection.setConnectTimeout(timeout);
+        connection.setReadTimeout(timeout);
+        connection.setUseCaches(false);
+        connection.setRequestProperty("Connection", "keep-alive");
+        if (entry != null) {
+            if (entry.etag != null)
+                connection.setRequestProperty("If-None-Match", entry.etag);
+            if (entry.lastModified > 0)
+                connection.setIfModifiedSince(entry.lastModified);
+        }
+
+        requestCount.incrementAndGet();
+        int status = connection.getResponseCode();
+        if (status == HttpURLConnection.HTTP_NOT_MODIFIED && entry != null) {
+            consume(connection.getInputStream());
+            notModifiedCount.incrementAndGet();
+            return entry.content;
+        }
+        if (status == HttpURLConnection.HTTP_NOT_FOUND || status == HttpURLConnection.HTTP_GONE) {
+            consume(connection.getErrorStream());
+            validated.invalidate(uri);
+            if (notFoundTtl > 0)
+                notFound.put(uri, System.currentTimeMillis());
+            throw new FileNotFoundException(uri.toString());
+        }
+        if (status != HttpURLConnection.HTTP_OK) {
+            consume(connection.getErrorStream());
+            throw new IOException(String.format("Failed to load %s : HTTP %d", uri, status));
+        }
+
+        String content;
+        try (InputStream body = connection.getInputStream()) {
+            content = IOUtils.toString(body, StandardCharsets.UTF_8);
+        }
+        String etag = connection.getHeaderField("ETag");
+        long lastModified = connection.getLastModified();
+        if (etag != null || lastModified > 0)
+            validated.put(uri, new Entry(content, etag, lastModified));
+        else
+            validated.invalidate(uri);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Loaded remote content {}", uri);
+        }
+        return content;
+    }
+
+    /**
+     * Reads a response body to the end, so that the connection can be reused.
+     */
+    private static void consume(InputStream body) {
+        if (body == null)
+            return;
+        try (InputStream stream = body) {
+            IOUtils.skip(stream, Long.MAX_VALUE);
+        } catch (IOException e) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Failed to consume response body > {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns the number of HTTP requests sent.
+     *
+     * @return the number of requests
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Returns the number of requests answered with 304 Not Modified.
+     *
+     * @return the number of not modified responses
+     */
+    public long getNotModifiedCount() {
+        return notModifiedCount.get();
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.content;
+
+import io.github.robwin.swagger2markup.utils.IOUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URI;
+
+/**
+ * Default content loader, reading content from its URI as UTF-8.
+ */
+public class UriContentLoader implements ContentLoader {
+
+    @Override
+    public String load(URI uri) throws IOException {
+        try (Reader reader = IOUtils.uriReader(uri)) {
+            return org.apache.commons.io.IOUtils.toString(reader);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.extension;
+
+import java.net.URI;
+import java.util.Collection;
+
+/**
+ * Extension reading content files, which can be prefetched before rendering.
+ */
+public interface PrefetchableExtension extends Extension {
+
+    /**
+     * Returns the content files this extension can read while rendering.
+     *
+     * @return the content URIs
+     */
+    Collection<URI> getContentCandidates();
+}
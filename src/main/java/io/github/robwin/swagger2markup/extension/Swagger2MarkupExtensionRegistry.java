@@ -1,5 +1,6 @@
 package io.github.robwin.swagger2markup.extension;
 
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.MultimapBuilder;
 import io.github.robwin.swagger2markup.extension.repository.DynamicDefinitionsContentExtension;
@@ -9,8 +10,11 @@ import io.github.robwin.swagger2markup.extension.repository.DynamicSecurityConte
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class Swagger2MarkupExtensionRegistry {
 
@@ -23,9 +27,10 @@ public class Swagger2MarkupExtensionRegistry {
     );
 
     protected final Multimap<Class<? extends Extension>, Extension> extensions;
+    private final ConcurrentMap<Class<? extends Extension>, List<? extends Extension>> dispatchTable = new ConcurrentHashMap<>();
 
     public Swagger2MarkupExtensionRegistry(Multimap<Class<? extends Extension>, Extension> extensions) {
-        this.extensions = extensions;
+        this.extensions = ImmutableListMultimap.copyOf(extensions);
     }
 
     public static Builder ofEmpty() {
@@ -71,10 +76,20 @@ public class Swagger2MarkupExtensionRegistry {
         }
     }
 
+    /**
+     * Get all extensions of an extension point.<br/>
+     * The registry is immutable, so the result is computed once per extension point and shared.
+     *
+     * @param extensionClass extension point
+     * @return unmodifiable list of extensions
+     */
     @SuppressWarnings(value = "unchecked")
     public <T extends Extension> List<T> getExtensions(Class<T> extensionClass) {
-        List<T> ret = new ArrayList<>();
+        List<T> ret = (List<T>) dispatchTable.get(extensionClass);
+        if (ret != null)
+            return ret;
 
+        ret = new ArrayList<>();
         for (Map.Entry<Class<? extends Extension>, Extension> entry : extensions.entries()) {
             if (extensionClass.isAssignableFrom(entry.getKey())) {
                 if (extensionClass.isInstance(entry.getValue()))
@@ -82,6 +97,8 @@ public class Swagger2MarkupExtensionRegistry {
             }
         }
 
+        ret = Collections.unmodifiableList(ret);
+        dispatchTable.putIfAbsent(extensionClass, ret);
         return ret;
     }
 
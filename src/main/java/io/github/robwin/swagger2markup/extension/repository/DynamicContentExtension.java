@@ -5,21 +5,26 @@ import com.google.common.base.Optional;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Ordering;
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+import io.github.robwin.markup.builder.MarkupLanguage;
 import io.github.robwin.swagger2markup.Swagger2MarkupConverter;
+import io.github.robwin.swagger2markup.builder.plan.DocumentPlan;
 import io.github.robwin.swagger2markup.extension.ContentContext;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.StringReader;
+import java.net.URI;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 public class DynamicContentExtension {
 
@@ -35,14 +40,61 @@ public class DynamicContentExtension {
     }
 
     /**
-     * Builds extension sections
+     * Builds extension sections.<br/>
+     * When building document plans, the extension files of every markup language are imported, each one only rendered into its markup language.
      *
      * @param contentPath the path where the content files reside
      * @param prefix      extension file prefix
      * @param levelOffset import markup level offset
      */
     public void extensionsSection(Path contentPath, final String prefix, int levelOffset) {
-        final Collection<String> filenameExtensions = Collections2.transform(globalContext.config.getMarkupLanguage().getFileNameExtensions(), new Function<String, String>() {
+        try {
+            Map<MarkupLanguage, MarkupDocBuilder> languageBuilders = DocumentPlan.languageBuilders(contentContext.docBuilder, globalContext.config.getMarkupLanguage());
+            for (Map.Entry<MarkupLanguage, MarkupDocBuilder> languageBuilder : languageBuilders.entrySet()) {
+                for (Path extension : extensionFiles(globalContext, contentPath, prefix, languageBuilder.getKey())) {
+                    Optional<String> extensionContent = operationExtension(extension);
+
+                    if (extensionContent.isPresent()) {
+                        try {
+                            languageBuilder.getValue().importMarkup(new StringReader(extensionContent.get()), levelOffset);
+                        } catch (IOException e) {
+                            throw new RuntimeException(String.format("Failed to read extension file: %s", extension), e);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            if (logger.isDebugEnabled())
+                logger.debug("Failed to read extension files from {}", contentPath);
+
+        }
+    }
+
+    /**
+     * Lists the extension files of a folder, in the natural order of their names
+     *
+     * @param globalContext global context
+     * @param contentPath   the path where the content files reside
+     * @param prefix        extension file prefix
+     * @return extension files
+     * @throws IOException if the folder cannot be listed
+     */
+    static List<Path> extensionFiles(Swagger2MarkupConverter.Context globalContext, Path contentPath, String prefix) throws IOException {
+        return extensionFiles(globalContext, contentPath, prefix, globalContext.config.getMarkupLanguage());
+    }
+
+    /**
+     * Lists the extension files of a markup language in a folder, in the natural order of their names
+     *
+     * @param globalContext  global context
+     * @param contentPath    the path where the content files reside
+     * @param prefix         extension file prefix
+     * @param markupLanguage the markup language of the extension files
+     * @return extension files
+     * @throws IOException if the folder cannot be listed
+     */
+    static List<Path> extensionFiles(Swagger2MarkupConverter.Context globalContext, Path contentPath, final String prefix, MarkupLanguage markupLanguage) throws IOException {
+        final Collection<String> filenameExtensions = Collections2.transform(markupLanguage.getFileNameExtensions(), new Function<String, String>() {
             public String apply(String input) {
                 return StringUtils.stripStart(input, ".");
             }
@@ -57,27 +109,30 @@ public class DynamicContentExtension {
         };
 
         try (DirectoryStream<Path> extensionFiles = Files.newDirectoryStream(contentPath, filter)) {
+            List<Path> extensions = Lists.newArrayList(extensionFiles);
+            Collections.sort(extensions, Ordering.natural());
+            return extensions;
+        }
+    }
 
-            if (extensionFiles != null) {
-                List<Path> extensions = Lists.newArrayList(extensionFiles);
-                Collections.sort(extensions, Ordering.natural());
-
-                for (Path extension : extensions) {
-                    Optional<FileReader> extensionContent = operationExtension(extension);
+    /**
+     * Adds the extension files of a folder to prefetch candidates. Missing folders are ignored.
+     *
+     * @param globalContext global context
+     * @param contentPath   the path where the content files reside
+     * @param prefix        extension file prefix
+     * @param candidates    prefetch candidates
+     */
+    static void collectContentCandidates(Swagger2MarkupConverter.Context globalContext, Path contentPath, String prefix, Collection<URI> candidates) {
+        if (!Files.isDirectory(contentPath))
+            return;
 
-                    if (extensionContent.isPresent()) {
-                        try {
-                            contentContext.docBuilder.importMarkup(extensionContent.get(), levelOffset);
-                        } catch (IOException e) {
-                            throw new RuntimeException(String.format("Failed to read extension file: %s", extension), e);
-                        }
-                    }
-                }
-            }
+        try {
+            for (Path extension : extensionFiles(globalContext, contentPath, prefix))
+                candidates.add(extension.toUri());
         } catch (IOException e) {
             if (logger.isDebugEnabled())
-                logger.debug("Failed to read extension files from {}", contentPath);
-
+                logger.debug("Failed to list extension files from {}", contentPath);
         }
     }
 
@@ -85,24 +140,18 @@ public class DynamicContentExtension {
      * Reads an extension
      *
      * @param extension extension file
-     * @return extension content reader
+     * @return extension content
      */
-    protected Optional<FileReader> operationExtension(Path extension) {
+    protected Optional<String> operationExtension(Path extension) {
+        URI extensionUri = extension.toUri();
 
-        if (Files.isReadable(extension)) {
-            if (logger.isInfoEnabled()) {
-                logger.info("Extension file processed: {}", extension);
-            }
-            try {
-                return Optional.of(new FileReader(extension.toFile()));
-            } catch (IOException e) {
-                if (logger.isWarnEnabled()) {
-                    logger.warn(String.format("Failed to read extension file: %s", extension), e);
-                }
-            }
-        } else {
+        try {
+            String content = globalContext.contentLoader.load(extensionUri);
+            globalContext.progressListener.onContentResolved(extensionUri);
+            return Optional.of(content);
+        } catch (IOException e) {
             if (logger.isWarnEnabled()) {
-                logger.warn("Extension file is not readable: {}", extension);
+                logger.warn(String.format("Failed to read extension file: %s", extension), e);
             }
         }
         return Optional.absent();
@@ -2,13 +2,18 @@ package io.github.robwin.swagger2markup.extension.repository;
 
 import io.github.robwin.swagger2markup.Swagger2MarkupConverter;
 import io.github.robwin.swagger2markup.extension.DefinitionsContentExtension;
+import io.github.robwin.swagger2markup.extension.PrefetchableExtension;
 import io.github.robwin.swagger2markup.utils.IOUtils;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.URI;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import static org.apache.commons.lang3.StringUtils.defaultString;
 
@@ -23,7 +28,7 @@ import static org.apache.commons.lang3.StringUtils.defaultString;
  * <p/>
  * Markup files are appended in the natural order of their names, for each category.
  */
-public class DynamicDefinitionsContentExtension extends DefinitionsContentExtension {
+public class DynamicDefinitionsContentExtension extends DefinitionsContentExtension implements PrefetchableExtension {
 
     protected static final String EXTENSION_FILENAME_PREFIX = "dyndefs-";
     private static final Logger logger = LoggerFactory.getLogger(DynamicDefinitionsContentExtension.class);
@@ -53,6 +58,20 @@ public class DynamicDefinitionsContentExtension extends DefinitionsContentExtens
         }
     }
 
+    @Override
+    public Collection<URI> getContentCandidates() {
+        List<URI> candidates = new ArrayList<>();
+        if (contentPath == null)
+            return candidates;
+
+        DynamicContentExtension.collectContentCandidates(globalContext, contentPath, EXTENSION_FILENAME_PREFIX, candidates);
+        if (globalContext.swagger.getDefinitions() != null) {
+            for (String definitionName : globalContext.swagger.getDefinitions().keySet())
+                DynamicContentExtension.collectContentCandidates(globalContext, contentPath.resolve(Paths.get(IOUtils.normalizeName(definitionName))), EXTENSION_FILENAME_PREFIX, candidates);
+        }
+        return candidates;
+    }
+
     public void apply(Context context) {
         Validate.notNull(context);
 
@@ -1,15 +1,20 @@
 package io.github.robwin.swagger2markup.extension.repository;
 
 import io.github.robwin.swagger2markup.GroupBy;
+import io.github.robwin.swagger2markup.PathOperation;
 import io.github.robwin.swagger2markup.Swagger2MarkupConverter;
 import io.github.robwin.swagger2markup.extension.OperationsContentExtension;
-import io.github.robwin.swagger2markup.utils.IOUtils;
+import io.github.robwin.swagger2markup.extension.PrefetchableExtension;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.URI;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import static org.apache.commons.lang3.StringUtils.defaultString;
 
@@ -24,7 +29,7 @@ import static org.apache.commons.lang3.StringUtils.defaultString;
  * <p/>
  * Markup files are appended in the natural order of their names, for each category.
  */
-public class DynamicOperationsContentExtension extends OperationsContentExtension {
+public class DynamicOperationsContentExtension extends OperationsContentExtension implements PrefetchableExtension {
 
     protected static final String EXTENSION_FILENAME_PREFIX = "dynops-";
     private static final Logger logger = LoggerFactory.getLogger(DynamicOperationsContentExtension.class);
@@ -54,6 +59,18 @@ public class DynamicOperationsContentExtension extends OperationsContentExtensio
         }
     }
 
+    @Override
+    public Collection<URI> getContentCandidates() {
+        List<URI> candidates = new ArrayList<>();
+        if (contentPath == null)
+            return candidates;
+
+        DynamicContentExtension.collectContentCandidates(globalContext, contentPath, EXTENSION_FILENAME_PREFIX, candidates);
+        for (PathOperation operation : globalContext.operationIndex.getOperations())
+            DynamicContentExtension.collectContentCandidates(globalContext, contentPath.resolve(globalContext.operationIndex.get(operation).getFolderName()), EXTENSION_FILENAME_PREFIX, candidates);
+        return candidates;
+    }
+
     public void apply(Context context) {
         Validate.notNull(context);
 
@@ -78,7 +95,7 @@ public class DynamicOperationsContentExtension extends OperationsContentExtensio
                     if (globalContext.config.getOperationsGroupedBy() == GroupBy.AS_IS) {
                         levelOffset = 2;
                     }
-                    dynamicContent.extensionsSection(contentPath.resolve(IOUtils.normalizeName(context.operation.getId())), contentPrefix(context.position), levelOffset);
+                    dynamicContent.extensionsSection(contentPath.resolve(globalContext.operationIndex.get(context.operation).getFolderName()), contentPrefix(context.position), levelOffset);
                     break;
                 default:
                     throw new RuntimeException(String.format("Unknown position '%s'", context.position));
@@ -2,12 +2,17 @@ package io.github.robwin.swagger2markup.extension.repository;
 
 import io.github.robwin.swagger2markup.Swagger2MarkupConverter;
 import io.github.robwin.swagger2markup.extension.OverviewContentExtension;
+import io.github.robwin.swagger2markup.extension.PrefetchableExtension;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.URI;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import static org.apache.commons.lang3.StringUtils.defaultString;
 
@@ -20,7 +25,7 @@ import static org.apache.commons.lang3.StringUtils.defaultString;
  * <p/>
  * Markup files are appended in the natural order of their names, for each category.
  */
-public class DynamicOverviewContentExtension extends OverviewContentExtension {
+public class DynamicOverviewContentExtension extends OverviewContentExtension implements PrefetchableExtension {
 
     protected static final String EXTENSION_FILENAME_PREFIX = "dynoview-";
     private static final Logger logger = LoggerFactory.getLogger(DynamicOverviewContentExtension.class);
@@ -50,6 +55,16 @@ public class DynamicOverviewContentExtension extends OverviewContentExtension {
         }
     }
 
+    @Override
+    public Collection<URI> getContentCandidates() {
+        List<URI> candidates = new ArrayList<>();
+        if (contentPath == null)
+            return candidates;
+
+        DynamicContentExtension.collectContentCandidates(globalContext, contentPath, EXTENSION_FILENAME_PREFIX, candidates);
+        return candidates;
+    }
+
     public void apply(Context context) {
         Validate.notNull(context);
 
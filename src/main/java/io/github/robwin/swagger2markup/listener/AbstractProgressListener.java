@@ -0,0 +1,53 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.listener;
+
+import io.github.robwin.swagger2markup.PathOperation;
+
+import java.net.URI;
+
+/**
+ * Empty {@link ProgressListener} implementation, to only override the events of interest.
+ */
+public abstract class AbstractProgressListener implements ProgressListener {
+
+    @Override
+    public void onConversionStarted() {
+    }
+
+    @Override
+    public void onOperationRendered(PathOperation operation) {
+    }
+
+    @Override
+    public void onDefinitionRendered(String definitionName) {
+    }
+
+    @Override
+    public void onContentResolved(URI contentUri) {
+    }
+
+    @Override
+    public void onFileWritten(String path) {
+    }
+
+    @Override
+    public void onConversionFinished() {
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.listener;
+
+import io.github.robwin.swagger2markup.PathOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+
+/**
+ * Default {@link ProgressListener} : logs each event at DEBUG level and a conversion summary at INFO level.
+ */
+public class LoggingProgressListener implements ProgressListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingProgressListener.class);
+
+    private long startTime;
+    private int operations;
+    private int definitions;
+    private int contents;
+    private int files;
+
+    @Override
+    public void onConversionStarted() {
+        startTime = System.currentTimeMillis();
+        operations = 0;
+        definitions = 0;
+        contents = 0;
+        files = 0;
+    }
+
+    @Override
+    public void onOperationRendered(PathOperation operation) {
+        operations++;
+        if (logger.isDebugEnabled()) {
+            logger.debug("Operation processed: {}", operation);
+        }
+    }
+
+    @Override
+    public void onDefinitionRendered(String definitionName) {
+        definitions++;
+        if (logger.isDebugEnabled()) {
+            logger.debug("Definition processed: {}", definitionName);
+        }
+    }
+
+    @Override
+    public void onContentResolved(URI contentUri) {
+        contents++;
+        if (logger.isDebugEnabled()) {
+            logger.debug("Content processed: {}", contentUri);
+        }
+    }
+
+    @Override
+    public void onFileWritten(String path) {
+        files++;
+        if (logger.isDebugEnabled()) {
+            logger.debug("File produced: {}", path);
+        }
+    }
+
+    @Override
+    public void onConversionFinished() {
+        if (logger.isInfoEnabled()) {
+            logger.info("Conversion finished in {} ms : {} operations, {} definitions, {} content files, {} files written",
+                    System.currentTimeMillis() - startTime, operations, definitions, contents, files);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.listener;
+
+import io.github.robwin.swagger2markup.PathOperation;
+
+import java.net.URI;
+
+/**
+ * Listener notified of the conversion progress.<br/>
+ * Listeners are called from the conversion thread and should return quickly.
+ */
+public interface ProgressListener {
+
+    /**
+     * Called before the documents are built.
+     */
+    void onConversionStarted();
+
+    /**
+     * Called once an operation has been rendered.
+     *
+     * @param operation the rendered operation
+     */
+    void onOperationRendered(PathOperation operation);
+
+    /**
+     * Called once a definition has been rendered.
+     *
+     * @param definitionName the rendered definition name
+     */
+    void onDefinitionRendered(String definitionName);
+
+    /**
+     * Called once a content file (example, description, schema, extension) has been read.
+     *
+     * @param contentUri the content URI
+     */
+    void onContentResolved(URI contentUri);
+
+    /**
+     * Called once a document has been written.
+     *
+     * @param path the written file path
+     */
+    void onFileWritten(String path);
+
+    /**
+     * Called after all documents have been built.
+     */
+    void onConversionFinished();
+}
@@ -0,0 +1,78 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.listener;
+
+import io.github.robwin.swagger2markup.PathOperation;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Composite {@link ProgressListener} dispatching each event to all registered listeners, in registration order.
+ */
+public class ProgressListeners implements ProgressListener {
+
+    private final List<ProgressListener> listeners;
+
+    public ProgressListeners(List<ProgressListener> listeners) {
+        this.listeners = Collections.unmodifiableList(new ArrayList<>(listeners));
+    }
+
+    public List<ProgressListener> getListeners() {
+        return listeners;
+    }
+
+    @Override
+    public void onConversionStarted() {
+        for (ProgressListener listener : listeners)
+            listener.onConversionStarted();
+    }
+
+    @Override
+    public void onOperationRendered(PathOperation operation) {
+        for (ProgressListener listener : listeners)
+            listener.onOperationRendered(operation);
+    }
+
+    @Override
+    public void onDefinitionRendered(String definitionName) {
+        for (ProgressListener listener : listeners)
+            listener.onDefinitionRendered(definitionName);
+    }
+
+    @Override
+    public void onContentResolved(URI contentUri) {
+        for (ProgressListener listener : listeners)
+            listener.onContentResolved(contentUri);
+    }
+
+    @Override
+    public void onFileWritten(String path) {
+        for (ProgressListener listener : listeners)
+            listener.onFileWritten(path);
+    }
+
+    @Override
+    public void onConversionFinished() {
+        for (ProgressListener listener : listeners)
+            listener.onConversionFinished();
+    }
+}
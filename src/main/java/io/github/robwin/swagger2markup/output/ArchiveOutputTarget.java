@@ -0,0 +1,100 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.output;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams all documents into a single ZIP archive, keeping the folder layout relative to the archive root.<br/>
+ * Call {@link #finish()} or {@link #close()} once all documents are written.
+ */
+public class ArchiveOutputTarget implements FileRegionOutputTarget, Closeable {
+
+    private final ZipOutputStream zip;
+    private final String name;
+
+    /**
+     * Creates an archive target.
+     *
+     * @param outputStream the stream to write the archive to
+     * @param name         the archive name, for display purpose
+     */
+    public ArchiveOutputTarget(OutputStream outputStream, String name) {
+        Validate.notNull(outputStream, "outputStream must not be null");
+        this.zip = new ZipOutputStream(new BufferedOutputStream(outputStream));
+        this.name = name;
+    }
+
+    @Override
+    public synchronized void write(String path, String content, Charset charset) throws IOException {
+        zip.putNextEntry(new ZipEntry(entryName(path)));
+        zip.write(content.getBytes(charset));
+        zip.closeEntry();
+    }
+
+    @Override
+    public synchronized void write(String path, String content, Map<String, FileRegion> regions, Charset charset) throws IOException {
+        zip.putNextEntry(new ZipEntry(entryName(path)));
+        FileRegion.write(content, regions, charset, Channels.newChannel(zip));
+        zip.closeEntry();
+    }
+
+    @Override
+    public String getLocation(String path) {
+        return name + "!/" + entryName(path);
+    }
+
+    /**
+     * Writes the archive central directory, without closing the underlying stream.
+     *
+     * @throws IOException if the archive cannot be written
+     */
+    public synchronized void finish() throws IOException {
+        zip.finish();
+        zip.flush();
+    }
+
+    /**
+     * Finishes the archive and closes the underlying stream.
+     *
+     * @throws IOException if the archive cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        zip.close();
+    }
+
+    private static String entryName(String path) {
+        String entryName = path.replace(File.separatorChar, '/');
+        while (entryName.startsWith("/") || entryName.startsWith("./"))
+            entryName = entryName.substring(entryName.startsWith("/") ? 1 : 2);
+        return entryName;
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.output;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * A region of a file, included as-is in a document.<br/>
+ * Documents reference regions with a placeholder, which is replaced by the region bytes when the document is written,
+ * so that large files are transferred to the output without being decoded.
+ */
+public class FileRegion {
+
+    private static final char PLACEHOLDER_DELIMITER = '\u0000';
+    private static final String PLACEHOLDER_PREFIX = PLACEHOLDER_DELIMITER + "region:";
+    private static final int EDGE_BUFFER_SIZE = 512;
+
+    private final Path file;
+    private final long position;
+    private final long count;
+
+    public FileRegion(Path file, long position, long count) {
+        Validate.notNull(file, "file must not be null");
+        Validate.isTrue(position >= 0 && count >= 0, "position and count must be >= 0");
+        this.file = file;
+        this.position = position;
+        this.count = count;
+    }
+
+    /**
+     * Creates a region covering a file without its leading and trailing whitespaces, like {@link String#trim()}.<br/>
+     * Only the edges of the file are read. The file must be encoded in an ASCII compatible charset.
+     *
+     * @param file the file
+     * @return the trimmed region
+     * @throws IOException if the file cannot be read
+     */
+    public static FileRegion trimmed(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate(EDGE_BUFFER_SIZE);
+
+            long start = 0;
+            scan:
+            while (start < size) {
+                buffer.clear();
+                int read = channel.read(buffer, start);
+                if (read <= 0)
+                    break;
+                for (int i = 0; i < read; i++) {
+                    if (!isWhitespace(buffer.get(i)))
+                        break scan;
+                    start++;
+                }
+            }
+
+            long end = size;
+            scan:
+            while (end > start) {
+                int length = (int) Math.min(EDGE_BUFFER_SIZE, end - start);
+                buffer.clear();
+                buffer.limit(length);
+                int read = channel.read(buffer, end - length);
+                if (read < length)
+                    throw new IOException(String.format("Failed to read %s", file));
+                for (int i = length - 1; i >= 0; i--) {
+                    if (!isWhitespace(buffer.get(i)))
+                        break scan;
+                    end--;
+                }
+            }
+
+            return new FileRegion(file, start, end - start);
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b >= 0 && b <= ' ';
+    }
+
+    /**
+     * Returns the placeholder referencing a region in document content.
+     *
+     * @param id region identifier, unique in a document
+     * @return the placeholder
+     */
+    public static String placeholder(int id) {
+        return PLACEHOLDER_PREFIX + id + PLACEHOLDER_DELIMITER;
+    }
+
+    /**
+     * Replaces region placeholders with the decoded region contents.
+     *
+     * @param content document content
+     * @param regions regions by placeholder
+     * @param charset the charset of the region files
+     * @return the resolved content
+     * @throws IOException if a region cannot be read
+     */
+    public static String resolve(String content, Map<String, FileRegion> regions, Charset charset) throws IOException {
+        if (regions.isEmpty() || content.indexOf(PLACEHOLDER_PREFIX) < 0)
+            return content;
+
+        StringBuilder sb = new StringBuilder(content.length());
+        int index = 0;
+        int start;
+        while ((start = content.indexOf(PLACEHOLDER_PREFIX, index)) >= 0) {
+            int end = content.indexOf(PLACEHOLDER_DELIMITER, start + 1);
+            FileRegion region = end < 0 ? null : regions.get(content.substring(start, end + 1));
+            if (region == null) {
+                sb.append(content, index, start + 1);
+                index = start + 1;
+            } else {
+                sb.append(content, index, start).append(region.read(charset));
+                index = end + 1;
+            }
+        }
+        return sb.append(content, index, content.length()).toString();
+    }
+
+    /**
+     * Writes document content to a channel, transferring region bytes directly from their files.
+     *
+     * @param content document content
+     * @param regions regions by placeholder
+     * @param charset the charset used to encode the content text
+     * @param out     the channel to write to
+     * @throws IOException if the content cannot be written
+     */
+    public static void write(String content, Map<String, FileRegion> regions, Charset charset, WritableByteChannel out) throws IOException {
+        int index = 0;
+        int start;
+        while ((start = content.indexOf(PLACEHOLDER_PREFIX, index)) >= 0) {
+            int end = content.indexOf(PLACEHOLDER_DELIMITER, start + 1);
+            FileRegion region = end < 0 ? null : regions.get(content.substring(start, end + 1));
+            if (region == null) {
+                writeText(content, index, start + 1, charset, out);
+                index = start + 1;
+            } else {
+                writeText(content, index, start, charset, out);
+                region.transferTo(out);
+                index = end + 1;
+            }
+        }
+        writeText(content, index, content.length(), charset, out);
+    }
+
+    private static void writeText(String content, int start, int end, Charset charset, WritableByteChannel out) throws IOException {
+        if (start == end)
+            return;
+
+        ByteBuffer bytes = charset.encode(CharBuffer.wrap(content, start, end));
+        while (bytes.hasRemaining())
+            out.write(bytes);
+    }
+
+    /**
+     * Transfers the region bytes to a channel.
+     *
+     * @param out the channel to write to
+     * @throws IOException if the region cannot be transferred
+     */
+    public void transferTo(WritableByteChannel out) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long transferred = 0;
+            while (transferred < count) {
+                long n = channel.transferTo(position + transferred, count - transferred, out);
+                if (n <= 0)
+                    throw new IOException(String.format("File %s has been truncated while writing", file));
+                transferred += n;
+            }
+        }
+    }
+
+    /**
+     * Reads and decodes the region.
+     *
+     * @param charset the charset of the file
+     * @return the region content
+     * @throws IOException if the region cannot be read
+     */
+    public String read(Charset charset) throws IOException {
+        Validate.isTrue(count <= Integer.MAX_VALUE, "File region is too large to be read in memory");
+
+        ByteBuffer bytes = ByteBuffer.allocate((int) count);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (bytes.hasRemaining()) {
+                if (channel.read(bytes, position + bytes.position()) < 0)
+                    throw new IOException(String.format("File %s has been truncated while reading", file));
+            }
+        }
+        bytes.flip();
+        return charset.decode(bytes).toString();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
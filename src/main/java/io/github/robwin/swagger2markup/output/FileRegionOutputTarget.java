@@ -0,0 +1,42 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.output;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Map;
+
+/**
+ * Output target able to copy file regions into documents without decoding them.
+ */
+public interface FileRegionOutputTarget extends OutputTarget {
+
+    /**
+     * Writes a document, replacing each region placeholder of the content with the bytes of the region.<br/>
+     * Region files must be encoded with the document charset.
+     *
+     * @param path    document path relative to the output root, with file extension
+     * @param content document content, with region placeholders
+     * @param regions regions by placeholder
+     * @param charset the charset to use for encoding
+     * @throws IOException if the document cannot be written
+     * @see FileRegion#placeholder(int)
+     */
+    void write(String path, String content, Map<String, FileRegion> regions, Charset charset) throws IOException;
+}
@@ -0,0 +1,67 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.output;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Writes each document to a file in a folder.
+ */
+public class FolderOutputTarget implements FileRegionOutputTarget {
+
+    private final Path folder;
+
+    public FolderOutputTarget(String folder) {
+        Validate.notEmpty(folder, "folder must not be empty");
+        this.folder = Paths.get(folder);
+    }
+
+    @Override
+    public void write(String path, String content, Charset charset) throws IOException {
+        Path file = folder.resolve(path);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(file, charset)) {
+            writer.write(content);
+        }
+    }
+
+    @Override
+    public void write(String path, String content, Map<String, FileRegion> regions, Charset charset) throws IOException {
+        Path file = folder.resolve(path);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            FileRegion.write(content, regions, charset, channel);
+        }
+    }
+
+    @Override
+    public String getLocation(String path) {
+        return folder.resolve(path).toString();
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.output;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+/**
+ * Destination of the generated documents.
+ */
+public interface OutputTarget {
+
+    /**
+     * Writes a document.
+     *
+     * @param path    document path relative to the output root, with file extension
+     * @param content document content
+     * @param charset the charset to use for encoding
+     * @throws IOException if the document cannot be written
+     */
+    void write(String path, String content, Charset charset) throws IOException;
+
+    /**
+     * Returns the location of a document, for display purpose.
+     *
+     * @param path document path relative to the output root
+     * @return the document location
+     */
+    String getLocation(String path);
+}
@@ -0,0 +1,234 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.preview;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.github.robwin.swagger2markup.PathOperation;
+import io.github.robwin.swagger2markup.PathOperationIndex;
+import io.github.robwin.swagger2markup.Swagger2MarkupConverter;
+import io.github.robwin.swagger2markup.builder.document.*;
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lightweight HTTP server serving rendered documents straight from memory, for local preview purpose.<br/>
+ * Documents are lazily rendered on first request from a single prepared {@link Swagger2MarkupConverter.Context},
+ * then cached with LRU eviction and served with an ETag. Available documents :<br/>
+ * - {@code /} : index of all documents<br/>
+ * - {@code /overview}, {@code /paths}, {@code /definitions}, {@code /security} : main documents<br/>
+ * - {@code /operations/<normalized operation id>} : a single operation<br/>
+ * <p/>
+ * Separated operations and definitions are not supported, use the per-operation documents instead.
+ */
+public class PreviewServer {
+
+    public static final int DEFAULT_CACHE_SIZE = 100;
+
+    private static final Logger logger = LoggerFactory.getLogger(PreviewServer.class);
+
+    private static final String OVERVIEW_PATH = "/overview";
+    private static final String PATHS_PATH = "/paths";
+    private static final String DEFINITIONS_PATH = "/definitions";
+    private static final String SECURITY_PATH = "/security";
+    private static final String OPERATIONS_PATH = "/operations/";
+
+    private final Swagger2MarkupConverter.Context globalContext;
+    private final RenderedDocumentCache cache;
+    private final HttpServer server;
+
+    /**
+     * Creates a preview server with the default cache size.
+     *
+     * @param converter the converter providing the global context
+     * @param address   the address to bind to. Use port 0 for an ephemeral port.
+     * @throws IOException if the server can't be bound
+     */
+    public PreviewServer(Swagger2MarkupConverter converter, InetSocketAddress address) throws IOException {
+        this(converter, address, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a preview server.
+     *
+     * @param converter the converter providing the global context
+     * @param address   the address to bind to. Use port 0 for an ephemeral port.
+     * @param cacheSize maximum number of rendered documents kept in memory
+     * @throws IOException if the server can't be bound
+     */
+    public PreviewServer(Swagger2MarkupConverter converter, InetSocketAddress address, int cacheSize) throws IOException {
+        Validate.notNull(converter, "converter must not be null");
+        Validate.notNull(address, "address must not be null");
+
+        this.globalContext = converter.getContext();
+        Validate.isTrue(!globalContext.config.isSeparatedOperations() && !globalContext.config.isSeparatedDefinitions(),
+                "Separated operations and definitions are not supported by the preview server");
+
+        this.cache = new RenderedDocumentCache(cacheSize);
+        this.server = HttpServer.create(address, 0);
+        this.server.createContext("/", new PreviewHandler());
+    }
+
+    /**
+     * Starts the server in a background thread.
+     */
+    public void start() {
+        server.start();
+        if (logger.isInfoEnabled()) {
+            logger.info("Preview server started on http://{}:{}/", getAddress().getHostString(), getAddress().getPort());
+        }
+    }
+
+    /**
+     * Stops the server immediately.
+     */
+    public void stop() {
+        server.stop(0);
+    }
+
+    /**
+     * Returns the bound address, with the effective port if an ephemeral port was requested.
+     *
+     * @return the bound address
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Drops all cached documents. Documents are rendered again on next request.
+     */
+    public void invalidate() {
+        cache.clear();
+    }
+
+    /**
+     * Renders the document for the specified request path.
+     *
+     * @param path request path
+     * @return the rendered document, or null if there's no document for this path
+     * @throws IOException if the document cannot be rendered
+     */
+    private String render(String path) throws IOException {
+        switch (path) {
+            case OVERVIEW_PATH:
+                return new OverviewDocument(globalContext, null).build().toString();
+            case PATHS_PATH:
+                return new PathsDocument(globalContext, null).build().toString();
+            case DEFINITIONS_PATH:
+                return new DefinitionsDocument(globalContext, null).build().toString();
+            case SECURITY_PATH:
+                return new SecurityDocument(globalContext, null).build().toString();
+            default:
+                if (path.startsWith(OPERATIONS_PATH)) {
+                    PathOperation operation = globalContext.operationIndex.getByFolderName(path.substring(OPERATIONS_PATH.length()));
+                    if (operation != null)
+                        return new PathsDocument(globalContext, null).buildOperation(operation).toString();
+                }
+                return null;
+        }
+    }
+
+    private String index() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>Swagger2Markup preview</title></head><body>\n<ul>\n");
+        for (String path : new String[]{OVERVIEW_PATH, PATHS_PATH, DEFINITIONS_PATH, SECURITY_PATH}) {
+            sb.append("<li><a href=\"").append(path).append("\">").append(path.substring(1)).append("</a></li>\n");
+        }
+        sb.append("</ul>\n<ul>\n");
+        for (PathOperation operation : globalContext.operationIndex.getOperations()) {
+            PathOperationIndex.Entry entry = globalContext.operationIndex.get(operation);
+            sb.append("<li><a href=\"").append(OPERATIONS_PATH).append(entry.getFolderName()).append("\">")
+                    .append(StringEscapeUtils.escapeHtml4(entry.getTitle())).append("</a></li>\n");
+        }
+        sb.append("</ul>\n</body></html>\n");
+        return sb.toString();
+    }
+
+    private class PreviewHandler implements HttpHandler {
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            try {
+                String method = exchange.getRequestMethod();
+                if (!method.equals("GET") && !method.equals("HEAD")) {
+                    exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                    send(exchange, 405, null, null);
+                    return;
+                }
+
+                String path = exchange.getRequestURI().getPath();
+                if (path.equals("/")) {
+                    send(exchange, 200, "text/html; charset=utf-8", index());
+                    return;
+                }
+
+                RenderedDocumentCache.Entry entry = cache.get(path);
+                if (entry == null) {
+                    String content;
+                    try {
+                        content = render(path);
+                    } catch (RuntimeException | IOException e) {
+                        if (logger.isWarnEnabled()) {
+                            logger.warn(String.format("Failed to render document: %s", path), e);
+                        }
+                        send(exchange, 500, "text/plain; charset=utf-8", e.toString());
+                        return;
+                    }
+                    if (content == null) {
+                        send(exchange, 404, "text/plain; charset=utf-8", String.format("No document for '%s'", path));
+                        return;
+                    }
+                    entry = cache.put(path, content);
+                }
+
+                exchange.getResponseHeaders().set("ETag", entry.etag);
+                if (entry.etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    send(exchange, 304, null, null);
+                } else {
+                    send(exchange, 200, "text/plain; charset=utf-8", entry.content);
+                }
+            } finally {
+                exchange.close();
+            }
+        }
+
+        private void send(HttpExchange exchange, int status, String contentType, String content) throws IOException {
+            if (content == null || exchange.getRequestMethod().equals("HEAD")) {
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+
+            byte[] body = content.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        }
+    }
+}
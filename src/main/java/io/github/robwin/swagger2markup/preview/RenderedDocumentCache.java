@@ -0,0 +1,73 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.preview;
+
+import com.google.common.hash.Hashing;
+import org.apache.commons.lang3.Validate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of rendered documents, keyed by request path.
+ */
+class RenderedDocumentCache {
+
+    static class Entry {
+        final String content;
+        final String etag;
+
+        Entry(String content) {
+            this.content = content;
+            this.etag = "\"" + Hashing.sha1().hashString(content, StandardCharsets.UTF_8) + "\"";
+        }
+    }
+
+    private final Map<String, Entry> entries;
+
+    RenderedDocumentCache(final int maximumSize) {
+        Validate.isTrue(maximumSize > 0, "maximumSize must be > 0");
+
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    synchronized Entry put(String key, String content) {
+        Entry entry = new Entry(content);
+        entries.put(key, entry);
+        return entry;
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
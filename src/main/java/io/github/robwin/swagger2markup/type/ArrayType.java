@@ -1,6 +1,7 @@
 package io.github.robwin.swagger2markup.type;
 
 import io.github.robwin.markup.builder.MarkupDocBuilder;
+import io.github.robwin.swagger2markup.utils.CrossReferenceCache;
 
 /**
  * Array type abstraction
@@ -27,4 +28,12 @@ public class ArrayType extends Type {
             collectionFormat = this.collectionFormat + " ";
         return collectionFormat + ofType.displaySchema(docBuilder) + " array";
     }
+
+    @Override
+    public String displaySchema(MarkupDocBuilder docBuilder, CrossReferenceCache crossReferences) {
+        String collectionFormat = "";
+        if (this.collectionFormat != null)
+            collectionFormat = this.collectionFormat + " ";
+        return collectionFormat + ofType.displaySchema(docBuilder, crossReferences) + " array";
+    }
 }
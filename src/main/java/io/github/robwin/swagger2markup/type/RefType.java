@@ -2,6 +2,7 @@ package io.github.robwin.swagger2markup.type;
 
 import io.github.robwin.markup.builder.MarkupDocBuilder;
 import io.github.robwin.markup.builder.MarkupDocBuilders;
+import io.github.robwin.swagger2markup.utils.CrossReferenceCache;
 
 /**
  * Reference to a type defined elsewhere
@@ -24,6 +25,11 @@ public class RefType extends Type {
         return docBuilder.copy().crossReference(getDocument(), getUniqueName(), getName()).toString();
     }
 
+    @Override
+    public String displaySchema(MarkupDocBuilder docBuilder, CrossReferenceCache crossReferences) {
+        return crossReferences.crossReference(docBuilder, getDocument(), getUniqueName(), getName());
+    }
+
     public String getDocument() {
         return document;
     }
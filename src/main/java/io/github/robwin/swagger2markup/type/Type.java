@@ -1,6 +1,7 @@
 package io.github.robwin.swagger2markup.type;
 
 import io.github.robwin.markup.builder.MarkupDocBuilder;
+import io.github.robwin.swagger2markup.utils.CrossReferenceCache;
 import org.apache.commons.lang3.Validate;
 
 /**
@@ -39,4 +40,15 @@ public abstract class Type {
     }
 
     public abstract String displaySchema(MarkupDocBuilder docBuilder);
+
+    /**
+     * Same as {@link #displaySchema(MarkupDocBuilder)}, reusing already rendered cross-references.
+     *
+     * @param docBuilder the builder used to render cross-references
+     * @param crossReferences the cross-references cache
+     * @return the schema display
+     */
+    public String displaySchema(MarkupDocBuilder docBuilder, CrossReferenceCache crossReferences) {
+        return displaySchema(docBuilder);
+    }
 }
@@ -0,0 +1,72 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.utils;
+
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Memoizes rendered cross-reference snippets, so that each distinct cross-reference only allocates a throwaway builder copy once.<br/>
+ * A cache must only be used with builders sharing the same markup language and anchor prefix, typically a document builder and its copies.
+ */
+public class CrossReferenceCache {
+
+    private final Map<List<String>, String> crossReferences = new HashMap<>();
+
+    /**
+     * Renders an inter-document cross-reference, see {@link MarkupDocBuilder#crossReference(String, String, String)}.
+     *
+     * @param docBuilder the builder used to render the cross-reference
+     * @param document   the referenced document, or null
+     * @param anchor     the anchor
+     * @param text       the cross-reference text
+     * @return the rendered cross-reference
+     */
+    public String crossReference(MarkupDocBuilder docBuilder, String document, String anchor, String text) {
+        List<String> key = Arrays.asList(document, anchor, text);
+        String crossReference = crossReferences.get(key);
+        if (crossReference == null) {
+            crossReference = docBuilder.copy().crossReference(document, anchor, text).toString();
+            crossReferences.put(key, crossReference);
+        }
+        return crossReference;
+    }
+
+    /**
+     * Renders a cross-reference, see {@link MarkupDocBuilder#crossReference(String, String)}.
+     *
+     * @param docBuilder the builder used to render the cross-reference
+     * @param anchor     the anchor
+     * @param text       the cross-reference text
+     * @return the rendered cross-reference
+     */
+    public String crossReference(MarkupDocBuilder docBuilder, String anchor, String text) {
+        List<String> key = Arrays.asList(anchor, text);
+        String crossReference = crossReferences.get(key);
+        if (crossReference == null) {
+            crossReference = docBuilder.copy().crossReference(anchor, text).toString();
+            crossReferences.put(key, crossReference);
+        }
+        return crossReference;
+    }
+}
@@ -1,6 +1,8 @@
 package io.github.robwin.swagger2markup.utils;
 
-import org.apache.commons.lang3.StringUtils;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -8,24 +10,63 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
-import java.util.regex.Pattern;
 
 public class IOUtils {
-    private static final Pattern NAME_FORBIDDEN_PATTERN = Pattern.compile("[^0-9A-Za-z-_]+");
+    private static final int NORMALIZED_NAMES_CACHE_SIZE = 10000;
+
+    private static final LoadingCache<String, String> NORMALIZED_NAMES = CacheBuilder.newBuilder()
+            .maximumSize(NORMALIZED_NAMES_CACHE_SIZE)
+            .build(new CacheLoader<String, String>() {
+                @Override
+                public String load(String name) {
+                    return normalizeNameUncached(name);
+                }
+            });
 
     /**
      * Create a normalized name from an arbitrary string.<br/>
-     * Paths separators are replaced, so this function can't be applied on a whole path, but must be called on each path sections.
+     * Paths separators are replaced, so this function can't be applied on a whole path, but must be called on each path sections.<br/>
+     * Normalized names are cached, so that repeated names are only normalized once in the JVM.
      *
      * @param name current name of the file
      * @return a normalized filename
      */
     public static String normalizeName(String name) {
-        String fileName = NAME_FORBIDDEN_PATTERN.matcher(name).replaceAll("_");
-        fileName = fileName.replaceAll(String.format("([%1$s])([%1$s]+)", "-_"), "$1");
-        fileName = StringUtils.strip(fileName, "_-");
-        fileName = fileName.trim().toLowerCase();
-        return fileName;
+        return NORMALIZED_NAMES.getUnchecked(name);
+    }
+
+    /**
+     * Single pass normalization : forbidden characters are replaced with '_', consecutive separators ('-', '_') are collapsed
+     * to the first one, leading and trailing separators are stripped, letters are lowercased.
+     *
+     * @param name current name of the file
+     * @return a normalized filename
+     */
+    static String normalizeNameUncached(String name) {
+        StringBuilder fileName = new StringBuilder(name.length());
+
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if ((c >= '0' && c <= '9') || (c >= 'a' && c <= 'z')) {
+                fileName.append(c);
+            } else if (c >= 'A' && c <= 'Z') {
+                fileName.append((char) (c + ('a' - 'A')));
+            } else {
+                int length = fileName.length();
+                if (length > 0 && !isNameSeparator(fileName.charAt(length - 1)))
+                    fileName.append(c == '-' ? '-' : '_');
+            }
+        }
+
+        int length = fileName.length();
+        if (length > 0 && isNameSeparator(fileName.charAt(length - 1)))
+            fileName.setLength(length - 1);
+
+        return fileName.toString();
+    }
+
+    private static boolean isNameSeparator(char c) {
+        return c == '-' || c == '_';
     }
 
     /**
@@ -19,13 +19,16 @@
 package io.github.robwin.swagger2markup.utils;
 
 import com.google.common.base.Function;
+import com.google.common.hash.Hashing;
 import io.github.robwin.swagger2markup.type.*;
 import io.swagger.models.properties.*;
 import io.swagger.models.refs.RefFormat;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.Validate;
 
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
@@ -107,4 +110,71 @@ public final class PropertyUtils {
         }
         return defaultValue;
     }
+
+    /**
+     * Computes a structural fingerprint of object properties.<br/>
+     * Two property maps having the same fingerprint are rendered identically : names, types, descriptions, required flags,
+     * default values and nested object properties are taken into account. Recursive properties are supported.
+     *
+     * @param properties the object properties
+     * @return the fingerprint
+     */
+    public static String getFingerprint(Map<String, Property> properties) {
+        StringBuilder sb = new StringBuilder();
+        appendProperties(sb, properties, new IdentityHashMap<Map<String, Property>, Integer>());
+        return Hashing.sha256().hashUnencodedChars(sb).toString();
+    }
+
+    /**
+     * @param path properties maps being appended, with their nesting level, to detect recursive properties
+     */
+    private static void appendProperties(StringBuilder sb, Map<String, Property> properties, Map<Map<String, Property>, Integer> path) {
+        if (properties == null) {
+            sb.append('-');
+            return;
+        }
+        Integer level = path.get(properties);
+        if (level != null) {
+            sb.append('^').append(path.size() - level);
+            return;
+        }
+        path.put(properties, path.size());
+        sb.append('{');
+        for (Map.Entry<String, Property> property : properties.entrySet()) {
+            appendValue(sb, property.getKey());
+            appendProperty(sb, property.getValue(), path);
+        }
+        sb.append('}');
+        path.remove(properties);
+    }
+
+    private static void appendProperty(StringBuilder sb, Property property, Map<Map<String, Property>, Integer> path) {
+        if (property == null) {
+            sb.append('-');
+            return;
+        }
+        appendValue(sb, property.getClass().getName());
+        appendValue(sb, property.getType());
+        appendValue(sb, property.getFormat());
+        appendValue(sb, property.getDescription());
+        appendValue(sb, Boolean.toString(property.getRequired()));
+        appendValue(sb, getDefaultValue(property));
+        if (property instanceof RefProperty) {
+            RefProperty refProperty = (RefProperty) property;
+            appendValue(sb, refProperty.getRefFormat() == RefFormat.RELATIVE ? null : refProperty.getSimpleRef());
+        } else if (property instanceof ArrayProperty) {
+            appendProperty(sb, ((ArrayProperty) property).getItems(), path);
+        } else if (property instanceof StringProperty) {
+            appendValue(sb, Objects.toString(((StringProperty) property).getEnum(), null));
+        } else if (property instanceof ObjectProperty) {
+            appendProperties(sb, ((ObjectProperty) property).getProperties(), path);
+        }
+    }
+
+    private static void appendValue(StringBuilder sb, String value) {
+        if (value == null)
+            sb.append('-');
+        else
+            sb.append(value.length()).append(':').append(value);
+    }
 }
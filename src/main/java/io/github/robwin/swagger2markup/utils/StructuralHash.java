@@ -0,0 +1,96 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.swagger.util.Json;
+
+import java.util.Iterator;
+import java.util.TreeSet;
+
+/**
+ * Structural hashes of Swagger model objects, independent of the order of object fields.<br/>
+ * Objects are converted to a JSON tree, whose fields are then streamed into the hash function in canonical order.
+ * The canonical JSON text itself is never built.
+ */
+public final class StructuralHash {
+
+    private StructuralHash() {
+    }
+
+    /**
+     * Computes the structural hash of a Swagger model object, e.g. an Operation or a Model.
+     *
+     * @param model the model object
+     * @return the hash, as a hexadecimal string
+     */
+    public static String of(Object model) {
+        return of((JsonNode) Json.mapper().valueToTree(model));
+    }
+
+    /**
+     * Computes the structural hash of a JSON tree.
+     *
+     * @param node the JSON tree
+     * @return the hash, as a hexadecimal string
+     */
+    public static String of(JsonNode node) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        putCanonical(node, hasher);
+        return hasher.hash().toString();
+    }
+
+    private static void putCanonical(JsonNode node, Hasher hasher) {
+        if (node.isObject()) {
+            hasher.putChar('{');
+            TreeSet<String> fields = new TreeSet<>();
+            for (Iterator<String> fieldNames = node.fieldNames(); fieldNames.hasNext(); ) {
+                fields.add(fieldNames.next());
+            }
+            for (String field : fields) {
+                putText(field, hasher);
+                hasher.putChar(':');
+                putCanonical(node.get(field), hasher);
+                hasher.putChar(',');
+            }
+            hasher.putChar('}');
+        } else if (node.isArray()) {
+            hasher.putChar('[');
+            for (JsonNode element : node) {
+                putCanonical(element, hasher);
+                hasher.putChar(',');
+            }
+            hasher.putChar(']');
+        } else if (node.isTextual()) {
+            putText(node.asText(), hasher);
+        } else {
+            hasher.putString(node.toString(), Charsets.UTF_8);
+        }
+    }
+
+    /**
+     * Texts are length-prefixed, so that no text can be confused with the structure around it.
+     */
+    private static void putText(String text, Hasher hasher) {
+        hasher.putChar('"').putInt(text.length()).putString(text, Charsets.UTF_8);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.utils;
+
+import io.github.robwin.swagger2markup.PathOperation;
+
+import java.util.*;
+
+/**
+ * Immutable grouping of operations by tag.<br/>
+ * Tags and operations are stored in their final display order, so that iterating the groups is allocation-free.
+ */
+public class TagOperationGroups {
+
+    private static final PathOperation[] EMPTY = new PathOperation[0];
+
+    private final List<String> tags;
+    private final Map<String, PathOperation[]> operationsByTag;
+
+    TagOperationGroups(List<String> tags, Map<String, PathOperation[]> operationsByTag) {
+        this.tags = Collections.unmodifiableList(tags);
+        this.operationsByTag = operationsByTag;
+    }
+
+    /**
+     * Returns all tags having at least one operation, in display order.
+     *
+     * @return tags
+     */
+    public List<String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Returns the operations of a tag, in display order.
+     *
+     * @param tag tag name
+     * @return the operations of this tag, or an empty list if tag is unknown
+     */
+    public List<PathOperation> getOperations(String tag) {
+        PathOperation[] operations = operationsByTag.get(tag);
+        return Collections.unmodifiableList(Arrays.asList(operations == null ? EMPTY : operations));
+    }
+
+    /**
+     * Returns the number of tags.
+     *
+     * @return the number of tags
+     */
+    public int size() {
+        return tags.size();
+    }
+}
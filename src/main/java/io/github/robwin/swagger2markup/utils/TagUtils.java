@@ -19,16 +19,9 @@
 package io.github.robwin.swagger2markup.utils;
 
 import com.google.common.base.Optional;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.MultimapBuilder;
-import com.google.common.collect.Ordering;
 import io.github.robwin.swagger2markup.PathOperation;
-import io.swagger.models.HttpMethod;
-import io.swagger.models.Operation;
-import io.swagger.models.Path;
 import io.swagger.models.Tag;
 import org.apache.commons.lang3.Validate;
-import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -70,39 +63,67 @@ public class TagUtils {
     }
 
     /**
-     * Groups the operations by tag. The key of the Multimap is the tag name.
-     * The value of the Multimap is a PathOperation
+     * Groups the operations by tag, keeping tags with no explicit ordering in their order of first appearance.
      *
      * @param allOperations all operations
-     * @param tagOrdering comparator for tags
-     * @param operationOrdering comparator for operations, for a given tag
+     * @param tagOrdering comparator for tags. Use null to keep Swagger original order.
+     * @param operationOrdering comparator for operations, for a given tag. Use null to keep Swagger original order.
      * @return Operations grouped by Tag
      */
-    public static Multimap<String, PathOperation> groupOperationsByTag(Set<PathOperation> allOperations, Comparator<String> tagOrdering, Comparator<PathOperation> operationOrdering) {
-        MultimapBuilder.MultimapBuilderWithKeys<String> multimapBuilderWithKeys;
+    public static TagOperationGroups groupOperationsByTag(Collection<PathOperation> allOperations, Comparator<String> tagOrdering, Comparator<PathOperation> operationOrdering) {
+        return groupOperationsByTag(allOperations, null, tagOrdering, operationOrdering);
+    }
 
-        if (tagOrdering == null)
-            multimapBuilderWithKeys = MultimapBuilder.SortedSetMultimapBuilder.treeKeys(Ordering.<String>natural()); // FIXME as-is sorting not supported because of limitations in MultiMap::hashkeys(). Replaced with Ordering.natural()
-        else
-            multimapBuilderWithKeys = MultimapBuilder.SortedSetMultimapBuilder.treeKeys(tagOrdering);
+    /**
+     * Groups the operations by tag.<br/>
+     * Operations are sorted once, then bucketed by tag, so each bucket is already in {@code operationOrdering} order.
+     *
+     * @param allOperations all operations
+     * @param declaredTags the global Tag list, used to order tags when {@code tagOrdering} is null. Tags which are not declared come next, in their order of first appearance.
+     * @param tagOrdering comparator for tags. Use null to keep declared order.
+     * @param operationOrdering comparator for operations, for a given tag. Use null to keep Swagger original order.
+     * @return Operations grouped by Tag
+     */
+    public static TagOperationGroups groupOperationsByTag(Collection<PathOperation> allOperations, List<Tag> declaredTags, Comparator<String> tagOrdering, Comparator<PathOperation> operationOrdering) {
+        PathOperation[] sortedOperations = allOperations.toArray(new PathOperation[allOperations.size()]);
+        if (operationOrdering != null)
+            Arrays.sort(sortedOperations, operationOrdering);
 
-        Multimap<String, PathOperation> operationsGroupedByTag;
-        if (operationOrdering == null)
-            operationsGroupedByTag = multimapBuilderWithKeys.hashSetValues().build();
-        else
-            operationsGroupedByTag = multimapBuilderWithKeys.treeSetValues(operationOrdering).build();
+        Map<String, List<PathOperation>> buckets = new LinkedHashMap<>();
+        if (tagOrdering == null && declaredTags != null) {
+            for (Tag tag : declaredTags)
+                buckets.put(tag.getName(), null);
+        }
 
-        for (PathOperation operation : allOperations) {
+        for (PathOperation operation : sortedOperations) {
             List<String> tags = operation.getOperation().getTags();
             Validate.notEmpty(tags, "Can't GroupBy.TAGS > Operation '%s' has not tags", operation);
             for (String tag : tags) {
-                if (LOG.isInfoEnabled()) {
-                    LOG.info("Added path operation '{}' to tag '{}'", operation, tag);
+                List<PathOperation> bucket = buckets.get(tag);
+                if (bucket == null) {
+                    bucket = new ArrayList<>();
+                    buckets.put(tag, bucket);
                 }
-                operationsGroupedByTag.put(tag, operation);
+                if (bucket.isEmpty() || bucket.get(bucket.size() - 1) != operation)
+                    bucket.add(operation);
+            }
+        }
+
+        List<String> tags = new ArrayList<>(buckets.size());
+        Map<String, PathOperation[]> operationsByTag = new HashMap<>();
+        for (Map.Entry<String, List<PathOperation>> bucket : buckets.entrySet()) {
+            if (bucket.getValue() != null) {
+                tags.add(bucket.getKey());
+                operationsByTag.put(bucket.getKey(), bucket.getValue().toArray(new PathOperation[bucket.getValue().size()]));
             }
         }
+        if (tagOrdering != null)
+            Collections.sort(tags, tagOrdering);
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Grouped {} path operations into {} tags", sortedOperations.length, tags.size());
+        }
 
-        return operationsGroupedByTag;
+        return new TagOperationGroups(tags, operationsByTag);
     }
 }
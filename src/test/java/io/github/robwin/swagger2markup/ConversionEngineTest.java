@@ -0,0 +1,84 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup;
+
+import io.github.robwin.swagger2markup.output.FolderOutputTarget;
+import io.swagger.parser.SwaggerParser;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.BDDAssertions.assertThat;
+
+public class ConversionEngineTest {
+
+    @Test
+    public void testConcurrentConversions() throws Exception {
+        //Given
+        final File file = new File(ConversionEngineTest.class.getResource("/json/swagger.json").getFile());
+        final ConversionEngine engine = ConversionEngine.ofDefaults()
+                .withoutLoggingProgressListener()
+                .build();
+        String expected = Swagger2MarkupConverter.from(new SwaggerParser().read(file.getAbsolutePath())).build().asString();
+
+        //When
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(new Callable<String>() {
+                    public String call() throws IOException {
+                        return engine.convertToString(new SwaggerParser().read(file.getAbsolutePath()));
+                    }
+                }));
+            }
+
+            //Then
+            for (Future<String> result : results)
+                assertThat(result.get()).isEqualTo(expected);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testConvertIntoOutputTarget() throws IOException {
+        //Given
+        File file = new File(ConversionEngineTest.class.getResource("/json/swagger.json").getFile());
+        File outputDirectory = new File("build/docs/asciidoc/engine");
+        FileUtils.deleteQuietly(outputDirectory);
+
+        //When
+        ConversionEngine.ofDefaults().build().convert(file.toURI(), new FolderOutputTarget(outputDirectory.getAbsolutePath()));
+
+        //Then
+        String[] files = outputDirectory.list();
+        assertThat(files).hasSize(4).containsAll(
+                asList("definitions.adoc", "overview.adoc", "paths.adoc", "security.adoc"));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup;
+
+import io.github.robwin.swagger2markup.DefinitionLinkTable.Origin;
+import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Swagger;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.assertj.core.api.BDDAssertions.assertThat;
+
+public class DefinitionLinkTableTest {
+
+    private static Swagger swagger() {
+        Swagger swagger = new Swagger();
+        swagger.addDefinition("Pet", new ModelImpl());
+        return swagger;
+    }
+
+    @Test
+    public void testLinksToDefinitionsDocument() {
+        Swagger2MarkupConfig config = Swagger2MarkupConfig.ofDefaults()
+                .withInterDocumentCrossReferences()
+                .build();
+
+        DefinitionLinkTable links = new DefinitionLinkTable(swagger(), config);
+
+        assertThat(links.get("Pet", Origin.DOCUMENT)).isEqualTo("definitions.adoc");
+        assertThat(links.get("Pet", Origin.OPERATION)).isEqualTo("definitions.adoc");
+        assertThat(links.get("Pet", Origin.DEFINITION)).isEqualTo("definitions.adoc");
+    }
+
+    @Test
+    public void testLinksToSeparatedDefinitions() {
+        Swagger2MarkupConfig config = Swagger2MarkupConfig.ofDefaults()
+                .withInterDocumentCrossReferences("api/")
+                .withSeparatedOperations()
+                .withSeparatedDefinitions()
+                .build();
+
+        DefinitionLinkTable links = new DefinitionLinkTable(swagger(), config);
+
+        assertThat(links.get("Pet", Origin.DOCUMENT)).isEqualTo("api/" + new File("definitions", "pet.adoc").getPath());
+        assertThat(links.get("Pet", Origin.OPERATION)).isEqualTo("api/" + new File("..", "api/" + new File("definitions", "pet.adoc").getPath()).getPath());
+        assertThat(links.get("Pet", Origin.DEFINITION)).isEqualTo("api/pet.adoc");
+        assertThat(links.get("Unknown", Origin.DEFINITION)).isEqualTo("api/unknown.adoc");
+    }
+
+    @Test
+    public void testNoLinksWithoutInterDocumentCrossReferences() {
+        DefinitionLinkTable links = new DefinitionLinkTable(swagger(), Swagger2MarkupConfig.ofDefaults().build());
+
+        assertThat(links.get("Pet", Origin.DOCUMENT)).isNull();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup;
+
+import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.BDDAssertions.assertThat;
+
+public class PathOperationIndexTest {
+
+    private static Operation operation(String operationId, String summary) {
+        Operation operation = new Operation();
+        operation.setOperationId(operationId);
+        operation.setSummary(summary);
+        return operation;
+    }
+
+    private static Swagger swagger() {
+        Path pets = new Path();
+        pets.setGet(operation("listPets", "List pets"));
+        pets.setPost(operation(null, null));
+        Path pet = new Path();
+        pet.setGet(operation("getPet", "Find pet"));
+        pet.setDelete(operation("deletePet", "Find pet"));
+
+        Map<String, Path> paths = new LinkedHashMap<>();
+        paths.put("/pets", pets);
+        paths.put("/pets/{petId}", pet);
+
+        Swagger swagger = new Swagger();
+        swagger.setPaths(paths);
+        return swagger;
+    }
+
+    private static PathOperationIndex.Entry entry(PathOperationIndex index, String path, String method) {
+        for (PathOperation operation : index.getOperations()) {
+            if (operation.getPath().equals(path) && operation.getMethod().name().equals(method))
+                return index.get(operation);
+        }
+        throw new AssertionError(method + " " + path + " not indexed");
+    }
+
+    @Test
+    public void testOperationsInSwaggerOrder() {
+        PathOperationIndex index = new PathOperationIndex(swagger(), Swagger2MarkupConfig.ofDefaults().build());
+
+        List<String> ids = new ArrayList<>();
+        for (PathOperation operation : index.getOperations())
+            ids.add(index.get(operation).getId());
+
+        assertThat(ids).containsExactly("listPets", "/pets POST", "getPet", "deletePet");
+    }
+
+    @Test
+    public void testEntryWithOperationId() {
+        PathOperationIndex index = new PathOperationIndex(swagger(), Swagger2MarkupConfig.ofDefaults().build());
+
+        PathOperationIndex.Entry entry = entry(index, "/pets", "GET");
+
+        assertThat(entry.getId()).isEqualTo("listPets");
+        assertThat(entry.getTitle()).isEqualTo("List pets");
+        assertThat(entry.getFolderName()).isEqualTo("listpets");
+        assertThat(entry.getTitleFolderName()).isEqualTo("list_pets");
+        assertThat(entry.getAnchor()).isEqualTo("List pets");
+        assertThat(entry.getDocument()).isEqualTo("paths.adoc");
+        assertThat(index.getByFolderName("listpets")).isSameAs(entry.getOperation());
+    }
+
+    @Test
+    public void testEntryWithoutOperationId() {
+        PathOperationIndex index = new PathOperationIndex(swagger(), Swagger2MarkupConfig.ofDefaults().build());
+
+        PathOperationIndex.Entry entry = entry(index, "/pets", "POST");
+
+        assertThat(entry.getId()).isEqualTo("/pets POST");
+        assertThat(entry.getTitle()).isEqualTo("POST /pets");
+        assertThat(entry.getFolderName()).isEqualTo("pets_post");
+        assertThat(entry.getTitleFolderName()).isEqualTo("post_pets");
+        assertThat(entry.getAnchor()).isEqualTo("POST /pets");
+        assertThat(index.getByFolderName("pets_post")).isSameAs(entry.getOperation());
+    }
+
+    @Test
+    public void testEntriesWithDuplicateSummaries() {
+        PathOperationIndex index = new PathOperationIndex(swagger(), Swagger2MarkupConfig.ofDefaults().build());
+
+        PathOperationIndex.Entry get = entry(index, "/pets/{petId}", "GET");
+        PathOperationIndex.Entry delete = entry(index, "/pets/{petId}", "DELETE");
+
+        assertThat(get.getTitle()).isEqualTo(delete.getTitle());
+        assertThat(get.getAnchor()).isEqualTo(delete.getAnchor());
+        assertThat(get.getTitleFolderName()).isEqualTo("find_pet").isEqualTo(delete.getTitleFolderName());
+        assertThat(get.getFolderName()).isEqualTo("getpet");
+        assertThat(delete.getFolderName()).isEqualTo("deletepet");
+        assertThat(index.getByFolderName("getpet")).isSameAs(get.getOperation());
+        assertThat(index.getByFolderName("deletepet")).isSameAs(delete.getOperation());
+    }
+
+    @Test
+    public void testSeparatedOperationDocuments() {
+        Swagger2MarkupConfig config = Swagger2MarkupConfig.ofDefaults()
+                .withSeparatedOperations()
+                .build();
+        PathOperationIndex index = new PathOperationIndex(swagger(), config);
+
+        assertThat(entry(index, "/pets", "GET").getDocument()).isEqualTo(new File("operations", "listpets.adoc").getPath());
+        assertThat(entry(index, "/pets", "POST").getDocument()).isEqualTo(new File("operations", "pets_post.adoc").getPath());
+    }
+
+    @Test
+    public void testUnindexedOperationIsComputedOnTheFly() {
+        PathOperationIndex index = new PathOperationIndex(swagger(), Swagger2MarkupConfig.ofDefaults().build());
+
+        PathOperationIndex.Entry entry = index.get(new PathOperation(HttpMethod.PUT, "/stores", operation(null, null)));
+
+        assertThat(entry.getId()).isEqualTo("/stores PUT");
+        assertThat(entry.getFolderName()).isEqualTo("stores_put");
+        assertThat(index.getByFolderName("stores_put")).isNull();
+    }
+}
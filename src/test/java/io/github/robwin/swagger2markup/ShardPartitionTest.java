@@ -0,0 +1,76 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup;
+
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Operation;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.BDDAssertions.assertThat;
+
+public class ShardPartitionTest {
+
+    private static PathOperation operation(String path, String... tags) {
+        Operation operation = new Operation();
+        operation.setTags(Arrays.asList(tags));
+        return new PathOperation(HttpMethod.GET, path, operation);
+    }
+
+    @Test
+    public void testEachOperationIsInOneShard() {
+        List<ShardPartition> shards = Arrays.asList(
+                new ShardPartition(0, 3, ShardBy.OPERATION),
+                new ShardPartition(1, 3, ShardBy.OPERATION),
+                new ShardPartition(2, 3, ShardBy.OPERATION));
+
+        for (int i = 0; i < 50; i++) {
+            PathOperation operation = operation("/pets/" + i, "pet");
+            List<Integer> containingShards = new ArrayList<>();
+            for (ShardPartition shard : shards) {
+                if (shard.contains(operation))
+                    containingShards.add(shard.getIndex());
+                if (shard.contains("Definition" + i))
+                    containingShards.add(-shard.getIndex() - 1);
+            }
+            assertThat(containingShards).hasSize(2);
+        }
+    }
+
+    @Test
+    public void testOperationsAreShardedByTag() {
+        ShardPartition shard = new ShardPartition(1, 4, ShardBy.TAG);
+
+        boolean contained = shard.contains(operation("/pets", "pet"));
+        for (int i = 0; i < 20; i++) {
+            assertThat(shard.contains(operation("/pets/" + i, "pet", "store"))).isEqualTo(contained);
+        }
+    }
+
+    @Test
+    public void testSingleShardContainsAll() {
+        ShardPartition shard = new ShardPartition(0, 1, ShardBy.OPERATION);
+
+        assertThat(shard.contains(operation("/pets"))).isTrue();
+        assertThat(shard.contains("Pet")).isTrue();
+    }
+}
@@ -25,22 +25,52 @@ import com.google.common.collect.Sets;
 import io.github.robwin.markup.builder.MarkupLanguage;
 import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
 import io.github.robwin.swagger2markup.extension.Swagger2MarkupExtensionRegistry;
+import io.github.robwin.swagger2markup.extension.SwaggerExtension;
 import io.github.robwin.swagger2markup.extension.repository.DynamicDefinitionsContentExtension;
 import io.github.robwin.swagger2markup.extension.repository.DynamicOperationsContentExtension;
+import io.github.robwin.swagger2markup.content.ContentStore;
+import io.github.robwin.swagger2markup.listener.AbstractProgressListener;
+import io.github.robwin.swagger2markup.output.ArchiveOutputTarget;
+import io.github.robwin.swagger2markup.output.OutputTarget;
+import io.github.robwin.swagger2markup.utils.VirtualThreads;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Info;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Response;
 import io.swagger.models.Swagger;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.StringProperty;
+import io.swagger.parser.SwaggerParser;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Assume;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.fail;
@@ -98,6 +128,36 @@ public class Swagger2MarkupConverterTest {
                 asList("definitions.adoc", "overview.adoc", "paths.adoc", "security.adoc"));
     }
 
+    @Test
+    public void testSwagger2AsciiDocConversionWithProgressListener() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        File outputDirectory = new File("build/docs/asciidoc/generated");
+        FileUtils.deleteQuietly(outputDirectory);
+        final List<String> filesWritten = new ArrayList<>();
+        final int[] operations = new int[1];
+
+        //When
+        Swagger2MarkupConverter.from(file.toURI())
+                .withProgressListener(new AbstractProgressListener() {
+                    @Override
+                    public void onOperationRendered(PathOperation operation) {
+                        operations[0]++;
+                    }
+
+                    @Override
+                    public void onFileWritten(String path) {
+                        filesWritten.add(new File(path).getName());
+                    }
+                })
+                .build()
+                .intoFolder(outputDirectory.getAbsolutePath());
+
+        //Then
+        assertThat(operations[0]).isEqualTo(18);
+        assertThat(filesWritten).containsExactly("overview.adoc", "paths.adoc", "definitions.adoc", "security.adoc");
+    }
+
     @Test
     public void testSwagger2AsciiDocWithInlineSchema() throws IOException {
         //Given
@@ -120,6 +180,124 @@ public class Swagger2MarkupConverterTest {
                 asList("definitions.adoc", "overview.adoc", "paths.adoc", "security.adoc"));
     }
 
+    private static ObjectProperty objectProperty(Map<String, Property> properties) {
+        ObjectProperty property = new ObjectProperty();
+        property.setProperties(properties);
+        return property;
+    }
+
+    private static Swagger swaggerWithDefinition(String definitionName, String propertyName, Property property) {
+        ModelImpl model = new ModelImpl();
+        model.addProperty(propertyName, property);
+        Swagger swagger = new Swagger().info(new Info().title("Inline schemas").version("1.0"));
+        swagger.addDefinition(definitionName, model);
+        return swagger;
+    }
+
+    @Test
+    public void testSwagger2AsciiDocWithRecursiveInlineSchema() throws IOException {
+        //Given
+        Map<String, Property> nodeProperties = new LinkedHashMap<>();
+        nodeProperties.put("name", new StringProperty());
+        nodeProperties.put("child", objectProperty(nodeProperties));
+        Swagger swagger = swaggerWithDefinition("Tree", "node", objectProperty(nodeProperties));
+
+        //When
+        Swagger2MarkupConfig config = Swagger2MarkupConfig.ofDefaults()
+                .withInlineSchemaDepthLevel(10)
+                .build();
+        String documents = Swagger2MarkupConverter.from(swagger).withConfig(config).build().asString();
+
+        //Then
+        assertThat(StringUtils.countMatches(documents, "*node*")).isEqualTo(1);
+        assertThat(StringUtils.countMatches(documents, "*child*")).isEqualTo(0);
+        assertThat(StringUtils.countMatches(documents, ",child>>")).isEqualTo(1);
+    }
+
+    @Test
+    public void testSwagger2AsciiDocWithDiamondShapedInlineSchema() throws IOException {
+        //Given
+        Map<String, Property> leafProperties = new LinkedHashMap<>();
+        leafProperties.put("name", new StringProperty());
+        ObjectProperty level = objectProperty(leafProperties);
+        for (int i = 0; i < 3; i++) {
+            Map<String, Property> properties = new LinkedHashMap<>();
+            properties.put("left", level);
+            properties.put("right", level);
+            level = objectProperty(properties);
+        }
+        Swagger swagger = swaggerWithDefinition("Diamond", "root", level);
+
+        //When
+        Swagger2MarkupConfig config = Swagger2MarkupConfig.ofDefaults()
+                .withInlineSchemaDepthLevel(10)
+                .build();
+        String documents = Swagger2MarkupConverter.from(swagger).withConfig(config).build().asString();
+
+        //Then
+        assertThat(StringUtils.countMatches(documents, "*root*")).isEqualTo(1);
+        assertThat(StringUtils.countMatches(documents, "*left*")).isEqualTo(3);
+        assertThat(StringUtils.countMatches(documents, "*right*")).isEqualTo(0);
+        assertThat(StringUtils.countMatches(documents, ",right>>")).isEqualTo(3);
+    }
+
+    private static Swagger swaggerWithIdenticalInlineResponses() {
+        Swagger swagger = new Swagger().info(new Info().title("Inline schemas").version("1.0"));
+        for (String resource : asList("owners", "pets")) {
+            Map<String, Property> properties = new LinkedHashMap<>();
+            properties.put("id", new StringProperty());
+            properties.put("name", new StringProperty());
+            Operation operation = new Operation();
+            operation.setOperationId("list_" + resource);
+            operation.addResponse("200", new Response().description("OK").schema(objectProperty(properties)));
+            Path path = new Path();
+            path.setGet(operation);
+            swagger.path("/" + resource, path);
+        }
+        return swagger;
+    }
+
+    private static Set<String> responseAnchors(String documents) {
+        Set<String> anchors = new HashSet<>();
+        Matcher matcher = Pattern.compile("<<([^,>]+),Response 200>>").matcher(documents);
+        while (matcher.find())
+            anchors.add(matcher.group(1));
+        return anchors;
+    }
+
+    @Test
+    public void testSwagger2AsciiDocWithInlineSchemaDeduplication() throws IOException {
+        //Given
+        Swagger2MarkupConfig config = Swagger2MarkupConfig.ofDefaults()
+                .withInlineSchemaDepthLevel(1)
+                .withInlineSchemaDeduplication()
+                .build();
+
+        //When
+        String documents = Swagger2MarkupConverter.from(swaggerWithIdenticalInlineResponses()).withConfig(config).build().asString();
+
+        //Then
+        assertThat(StringUtils.countMatches(documents, "*Response 200*")).isEqualTo(1);
+        assertThat(StringUtils.countMatches(documents, ",Response 200>>")).isEqualTo(2);
+        assertThat(responseAnchors(documents)).hasSize(1);
+    }
+
+    @Test
+    public void testSwagger2AsciiDocWithoutInlineSchemaDeduplication() throws IOException {
+        //Given
+        Swagger2MarkupConfig config = Swagger2MarkupConfig.ofDefaults()
+                .withInlineSchemaDepthLevel(1)
+                .build();
+
+        //When
+        String documents = Swagger2MarkupConverter.from(swaggerWithIdenticalInlineResponses()).withConfig(config).build().asString();
+
+        //Then
+        assertThat(StringUtils.countMatches(documents, "*Response 200*")).isEqualTo(2);
+        assertThat(StringUtils.countMatches(documents, ",Response 200>>")).isEqualTo(2);
+        assertThat(responseAnchors(documents)).hasSize(2);
+    }
+
     @Test
     public void testSwagger2AsciiDocGroupedByTags() throws IOException {
         //Given
@@ -337,6 +515,258 @@ public class Swagger2MarkupConverterTest {
         assertThat(paths).hasSize(18);
     }
 
+    @Test
+    public void testSwagger2AsciiDocConversionWithVirtualThreads() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        File outputDirectory = new File("build/docs/asciidoc/generated");
+        File virtualThreadsOutputDirectory = new File("build/docs/asciidoc/generated-virtual-threads");
+        FileUtils.deleteQuietly(outputDirectory);
+        FileUtils.deleteQuietly(virtualThreadsOutputDirectory);
+        final List<String> filesWritten = new ArrayList<>();
+
+        //When
+        Swagger2MarkupConfig config = Swagger2MarkupConfig.ofDefaults()
+                .withSeparatedOperations()
+                .withSeparatedDefinitions()
+                .build();
+        Swagger2MarkupConverter.from(file.toURI()).withConfig(config).build()
+                .intoFolder(outputDirectory.getAbsolutePath());
+        Swagger2MarkupConfig virtualThreadsConfig = Swagger2MarkupConfig.ofDefaults()
+                .withSeparatedOperations()
+                .withSeparatedDefinitions()
+                .withVirtualThreads()
+                .build();
+        Swagger2MarkupConverter.from(file.toURI()).withConfig(virtualThreadsConfig)
+                .withProgressListener(new AbstractProgressListener() {
+                    @Override
+                    public void onFileWritten(String path) {
+                        filesWritten.add(path);
+                    }
+                })
+                .build()
+                .intoFolder(virtualThreadsOutputDirectory.getAbsolutePath());
+
+        //Then
+        assertThat(new File(virtualThreadsOutputDirectory, "operations").list()).hasSize(18);
+        assertThat(new File(virtualThreadsOutputDirectory, "definitions").list()).hasSize(6);
+        assertThat(filesWritten).hasSize(28);
+        Collection<File> files = FileUtils.listFiles(outputDirectory, null, true);
+        assertThat(files).hasSize(28);
+        for (File expectedFile : files) {
+            String path = outputDirectory.toURI().relativize(expectedFile.toURI()).getPath();
+            assertThat(new String(Files.readAllBytes(new File(virtualThreadsOutputDirectory, path).toPath()))).as(path).isEqualTo(
+                    new String(Files.readAllBytes(expectedFile.toPath())));
+        }
+    }
+
+    @Test
+    public void testSwagger2AsciiDocConversionWritesOnVirtualThreads() throws IOException {
+        Assume.assumeTrue(VirtualThreads.isAvailable());
+
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        final Thread conversionThread = Thread.currentThread();
+        final Set<String> asyncWrites = Collections.synchronizedSet(new HashSet<String>());
+        OutputTarget target = new OutputTarget() {
+            @Override
+            public void write(String path, String content, Charset charset) {
+                if (Thread.currentThread() != conversionThread)
+                    asyncWrites.add(path);
+            }
+
+            @Override
+            public String getLocation(String path) {
+                return path;
+            }
+        };
+
+        //When
+        Swagger2MarkupConfig config = Swagger2MarkupConfig.ofDefaults()
+                .withSeparatedOperations()
+                .withSeparatedDefinitions()
+                .withVirtualThreads()
+                .build();
+        Swagger2MarkupConverter.from(file.toURI()).withConfig(config).build()
+                .intoOutputTarget(target);
+
+        //Then
+        assertThat(asyncWrites).hasSize(24).contains(new File("operations", "addpet.adoc").getPath(),
+                new File("definitions", "pet.adoc").getPath());
+    }
+
+    @Test
+    public void testSwagger2AsciiDocConversionWithMemoryBudget() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        File outputDirectory = new File("build/docs/asciidoc/generated");
+        File budgetOutputDirectory = new File("build/docs/asciidoc/generated-budget");
+        FileUtils.deleteQuietly(outputDirectory);
+        FileUtils.deleteQuietly(budgetOutputDirectory);
+
+        //When
+        Swagger2MarkupConverter.from(file.toURI()).build()
+                .intoFolder(outputDirectory.getAbsolutePath());
+        Swagger2MarkupConfig config = Swagger2MarkupConfig.ofDefaults()
+                .withMemoryBudget(1024)
+                .build();
+        Swagger2MarkupConverter.from(file.toURI()).withConfig(config).build()
+                .intoFolder(budgetOutputDirectory.getAbsolutePath());
+
+        //Then
+        for (String document : Arrays.asList("paths.adoc", "definitions.adoc")) {
+            assertThat(new String(Files.readAllBytes(new File(budgetOutputDirectory, document).toPath()))).isEqualTo(
+                    new String(Files.readAllBytes(new File(outputDirectory, document).toPath())));
+        }
+    }
+
+    @Test
+    public void testSwagger2AsciiDocConversionWithShards() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        File outputDirectory = new File("build/docs/asciidoc/generated");
+        File fragmentsDirectory = new File("build/docs/asciidoc/fragments");
+        File mergedOutputDirectory = new File("build/docs/asciidoc/generated-merged");
+        FileUtils.deleteQuietly(outputDirectory);
+        FileUtils.deleteQuietly(fragmentsDirectory);
+        FileUtils.deleteQuietly(mergedOutputDirectory);
+
+        //When
+        Swagger2MarkupConverter.from(file.toURI()).build()
+                .intoFolder(outputDirectory.getAbsolutePath());
+        for (int shard = 0; shard < 3; shard++) {
+            Swagger2MarkupConfig config = Swagger2MarkupConfig.ofDefaults()
+                    .withShard(shard, 3)
+                    .build();
+            Swagger2MarkupConverter.from(file.toURI()).withConfig(config).build()
+                    .intoFolder(fragmentsDirectory.getAbsolutePath());
+        }
+        Swagger2MarkupConfig config = Swagger2MarkupConfig.ofDefaults()
+                .withShardMerge(fragmentsDirectory.toPath())
+                .build();
+        Swagger2MarkupConverter.from(file.toURI()).withConfig(config).build()
+                .intoFolder(mergedOutputDirectory.getAbsolutePath());
+
+        //Then
+        assertThat(fragmentsDirectory.list()).containsOnly("operations", "definitions");
+        assertThat(new File(fragmentsDirectory, "operations").list()).hasSize(18);
+        assertThat(new File(fragmentsDirectory, "definitions").list()).hasSize(6);
+        for (String document : Arrays.asList("paths.adoc", "definitions.adoc")) {
+            assertThat(new String(Files.readAllBytes(new File(mergedOutputDirectory, document).toPath()))).isEqualTo(
+                    new String(Files.readAllBytes(new File(outputDirectory, document).toPath())));
+        }
+    }
+
+    @Test
+    public void testSwagger2AsciiDocConversionIntoArchive() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        File archive = new File("build/docs/asciidoc/generated.zip");
+        FileUtils.deleteQuietly(archive);
+
+        //When
+        Swagger2MarkupConfig config = Swagger2MarkupConfig.ofDefaults()
+                .withSeparatedOperations()
+                .withSeparatedDefinitions()
+                .build();
+        Swagger2MarkupConverter.from(file.toURI()).withConfig(config).build()
+                .intoArchive(archive.toPath());
+
+        //Then
+        List<String> entries = new ArrayList<>();
+        try (ZipFile zipFile = new ZipFile(archive)) {
+            for (ZipEntry entry : Collections.list(zipFile.entries()))
+                entries.add(entry.getName());
+        }
+        assertThat(entries).hasSize(28).contains("overview.adoc", "paths.adoc", "definitions.adoc", "security.adoc",
+                "definitions/pet.adoc", "operations/addpet.adoc");
+    }
+
+    @Test
+    public void testSwagger2AsciiDocConversionIntoArchiveWithWriteFailure() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        final List<String> writtenPaths = new ArrayList<>();
+        ArchiveOutputTarget archive = new ArchiveOutputTarget(new ByteArrayOutputStream(), "archive") {
+            @Override
+            public void write(String path, String content, Charset charset) throws IOException {
+                if (path.startsWith("operations"))
+                    throw new IOException("Disk full");
+                writtenPaths.add(path);
+                super.write(path, content, charset);
+            }
+        };
+
+        //When
+        Swagger2MarkupConfig config = Swagger2MarkupConfig.ofDefaults()
+                .withSeparatedOperations()
+                .build();
+        try {
+            Swagger2MarkupConverter.from(file.toURI()).withConfig(config).build()
+                    .intoOutputTarget(archive);
+            failBecauseExceptionWasNotThrown(IOException.class);
+        } catch (IOException e) {
+            //Then
+            assertThat(e).hasMessage("Disk full");
+            assertThat(e.getSuppressed()).isEmpty();
+        }
+        assertThat(writtenPaths).containsExactly("overview.adoc");
+    }
+
+    @Test
+    public void testSwagger2AsciiDocChangelog() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        Swagger previousSwagger = new SwaggerParser().read(file.getAbsolutePath());
+        previousSwagger.getDefinitions().remove("Order");
+        Swagger swagger = new SwaggerParser().read(file.getAbsolutePath());
+        swagger.getPaths().remove("/users/login");
+        swagger.getPaths().get("/pets").getOperationMap().get(HttpMethod.POST).getResponses().remove("405");
+        swagger.getDefinitions().get("Pet").getProperties().remove("tags");
+
+        //When
+        String changelog = Swagger2MarkupConverter.from(swagger).build().changelogAsString(previousSwagger);
+        String unchangedChangelog = Swagger2MarkupConverter.from(previousSwagger).build().changelogAsString(previousSwagger);
+
+        //Then
+        assertThat(changelog).contains("== Changelog", "=== Removed operations", "* GET /users/login",
+                "=== Changed operations", "==== Add a new pet to the store",
+                "=== Added definitions", "==== Order", "=== Changed definitions", "==== Pet")
+                .doesNotContain("=== Added operations", "=== Removed definitions", "==== User", "Update an existing pet");
+        assertThat(unchangedChangelog).contains("== Changelog", "No changes").doesNotContain("=== Changed");
+    }
+
+    @Test
+    public void testSwagger2AsciiDocChangelogWithSwaggerExtension() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        Swagger previousSwagger = new SwaggerParser().read(file.getAbsolutePath());
+        Swagger swagger = new SwaggerParser().read(file.getAbsolutePath());
+        Swagger2MarkupExtensionRegistry registry = Swagger2MarkupExtensionRegistry.ofEmpty()
+                .withExtension(new SwaggerExtension() {
+                    @Override
+                    public void apply(Swagger2MarkupConverter.Context globalContext) {
+                        for (Model model : globalContext.swagger.getDefinitions().values())
+                            model.setDescription("Extended " + model.getDescription());
+                        for (Path path : globalContext.swagger.getPaths().values()) {
+                            for (Operation operation : path.getOperations())
+                                operation.setDescription("Extended " + operation.getDescription());
+                        }
+                    }
+                })
+                .build();
+
+        //When
+        Swagger2MarkupConverter converter = Swagger2MarkupConverter.from(swagger).withExtensionRegistry(registry).build();
+        String changelog = converter.changelogAsString(previousSwagger);
+        String repeatedChangelog = converter.changelogAsString(previousSwagger);
+
+        //Then
+        assertThat(changelog).contains("== Changelog", "No changes").doesNotContain("=== Changed");
+        assertThat(repeatedChangelog).isEqualTo(changelog);
+        assertThat(previousSwagger.getDefinitions().get("Pet").getDescription()).isEqualTo(swagger.getDefinitions().get("Pet").getDescription());
+    }
+
     @Test
     public void testSwagger2MarkdownConversionWithSeparatedDefinitions() throws IOException {
         //Given
@@ -446,6 +876,49 @@ public class Swagger2MarkupConverterTest {
 
     }
 
+    @Test
+    public void testSwagger2AsciiDocConversionWithContentPrefetch() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        Swagger2MarkupExtensionRegistry registry = Swagger2MarkupExtensionRegistry.ofEmpty()
+                .withExtension(new DynamicDefinitionsContentExtension(Paths.get("src/docs/asciidoc/extensions")))
+                .withExtension(new DynamicOperationsContentExtension(Paths.get("src/docs/asciidoc/extensions")))
+                .build();
+        final List<URI> resolvedContents = new ArrayList<>();
+
+        //When
+        String expected = Swagger2MarkupConverter.from(file.toURI())
+                .withConfig(Swagger2MarkupConfig.ofDefaults()
+                        .withDefinitionDescriptions(Paths.get("src/docs/asciidoc/definitions"))
+                        .build())
+                .withExtensionRegistry(registry)
+                .build()
+                .asString();
+
+        Swagger2MarkupConverter converter = Swagger2MarkupConverter.from(file.toURI())
+                .withConfig(Swagger2MarkupConfig.ofDefaults()
+                        .withDefinitionDescriptions(Paths.get("src/docs/asciidoc/definitions"))
+                        .withContentPrefetch(4)
+                        .build())
+                .withExtensionRegistry(registry)
+                .withProgressListener(new AbstractProgressListener() {
+                    @Override
+                    public void onContentResolved(URI contentUri) {
+                        resolvedContents.add(contentUri);
+                    }
+                })
+                .build();
+        String result = converter.asString();
+
+        //Then
+        assertThat(result).isEqualTo(expected);
+        assertThat(converter.getContext().contentLoader).isInstanceOf(ContentStore.class);
+        ContentStore contentStore = (ContentStore) converter.getContext().contentLoader;
+        assertThat(resolvedContents).isNotEmpty();
+        for (URI contentUri : resolvedContents)
+            assertThat(contentStore.contains(contentUri)).isTrue();
+    }
+
     @Test
     public void testSwagger2MarkdownExtensions() throws IOException {
         //Given
@@ -0,0 +1,137 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup;
+
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Operation;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.RefParameter;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.parser.SwaggerParser;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.BDDAssertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class SwaggerAggregatorTest {
+
+    private static final String ERROR = "\"Error\": {\"type\": \"object\", \"properties\": {\"code\": {\"type\": \"integer\"}, \"message\": {\"type\": \"string\"}}}";
+
+    private static Swagger service(String path, String item) {
+        return new SwaggerParser().parse("{\"swagger\": \"2.0\", \"info\": {\"title\": \"" + path + " service\", \"version\": \"1\"}, "
+                + "\"basePath\": \"/v1\", \"paths\": {\"/" + path + "\": {\"get\": {\"tags\": [\"" + path + "\"], \"responses\": {"
+                + "\"200\": {\"description\": \"OK\", \"schema\": {\"$ref\": \"#/definitions/Order\"}}, "
+                + "\"500\": {\"description\": \"Error\", \"schema\": {\"$ref\": \"#/definitions/Error\"}}}}}}, "
+                + "\"definitions\": {" + ERROR + ", "
+                + "\"Item\": {\"type\": \"object\", \"properties\": {\"" + item + "\": {\"type\": \"string\"}}}, "
+                + "\"Order\": {\"type\": \"object\", \"properties\": {\"item\": {\"$ref\": \"#/definitions/Item\"}}}}}");
+    }
+
+    private static String responseRef(Swagger swagger, String path, String code) {
+        return ((RefProperty) swagger.getPaths().get(path).getOperationMap().get(HttpMethod.GET).getResponses().get(code).getSchema()).getSimpleRef();
+    }
+
+    private static Map<String, Swagger> services() {
+        Map<String, Swagger> services = new LinkedHashMap<>();
+        services.put("orders", service("orders", "name"));
+        services.put("billing", service("invoices", "amount"));
+        return services;
+    }
+
+    @Test
+    public void testSharedDefinitionsAreDeduplicated() throws IOException {
+        //When
+        Swagger swagger = SwaggerAggregator.ofDefaults().build().aggregate(services());
+
+        //Then
+        assertThat(swagger.getDefinitions().keySet()).containsOnly("Error", "Item", "Order", "billing_Item", "billing_Order");
+        assertThat(swagger.getPaths().keySet()).containsOnly("/v1/orders", "/v1/invoices");
+        assertThat(responseRef(swagger, "/v1/invoices", "200")).isEqualTo("billing_Order");
+        assertThat(responseRef(swagger, "/v1/invoices", "500")).isEqualTo("Error");
+        assertThat(((RefProperty) swagger.getDefinitions().get("billing_Order").getProperties().get("item")).getSimpleRef()).isEqualTo("billing_Item");
+    }
+
+    @Test
+    public void testPathPrefixesAndServiceTags() throws IOException {
+        //When
+        Swagger swagger = SwaggerAggregator.ofDefaults()
+                .withPathPrefixes()
+                .withServiceTags()
+                .build()
+                .aggregate(services());
+
+        //Then
+        assertThat(swagger.getPaths().keySet()).containsOnly("/orders/v1/orders", "/billing/v1/invoices");
+        assertThat(swagger.getPaths().get("/billing/v1/invoices").getOperationMap().get(HttpMethod.GET).getTags()).containsExactly("billing");
+        assertThat(swagger.getTag("billing").getDescription()).isEqualTo("invoices service");
+    }
+
+    private static Swagger serviceWithComponents(String path, int maximumLimit, String tokenUrl) {
+        return new SwaggerParser().parse("{\"swagger\": \"2.0\", \"info\": {\"title\": \"" + path + " service\", \"version\": \"1\"}, "
+                + "\"security\": [{\"oauth\": [\"read\"]}], "
+                + "\"paths\": {\"/" + path + "\": {\"get\": {\"parameters\": [{\"$ref\": \"#/parameters/limit\"}], \"responses\": {"
+                + "\"200\": {\"description\": \"OK\"}}}}}, "
+                + "\"parameters\": {\"limit\": {\"name\": \"limit\", \"in\": \"query\", \"type\": \"integer\", \"maximum\": " + maximumLimit + "}}, "
+                + "\"securityDefinitions\": {\"oauth\": {\"type\": \"oauth2\", \"flow\": \"implicit\", \"authorizationUrl\": \"" + tokenUrl + "\", "
+                + "\"scopes\": {\"read\": \"Read access\"}}}}");
+    }
+
+    @Test
+    public void testConflictingGlobalComponentsAreRenamed() throws IOException {
+        //Given
+        Map<String, Swagger> services = new LinkedHashMap<>();
+        services.put("orders", serviceWithComponents("orders", 100, "https://orders.example.com/oauth"));
+        services.put("billing", serviceWithComponents("invoices", 10, "https://billing.example.com/oauth"));
+        services.put("stock", serviceWithComponents("stock", 100, "https://orders.example.com/oauth"));
+
+        //When
+        Swagger swagger = SwaggerAggregator.ofDefaults().build().aggregate(services);
+
+        //Then
+        assertThat(swagger.getParameters().keySet()).containsOnly("limit", "billing_limit");
+        assertThat(swagger.getSecurityDefinitions().keySet()).containsOnly("oauth", "billing_oauth");
+
+        Operation invoices = swagger.getPaths().get("/invoices").getOperationMap().get(HttpMethod.GET);
+        assertThat(((RefParameter) invoices.getParameters().get(0)).getSimpleRef()).isEqualTo("billing_limit");
+        assertThat(invoices.getSecurity()).hasSize(1);
+        assertThat(invoices.getSecurity().get(0).keySet()).containsExactly("billing_oauth");
+
+        Operation stock = swagger.getPaths().get("/stock").getOperationMap().get(HttpMethod.GET);
+        assertThat(((RefParameter) stock.getParameters().get(0)).getSimpleRef()).isEqualTo("limit");
+        assertThat(stock.getSecurity().get(0).keySet()).containsExactly("oauth");
+    }
+
+    @Test
+    public void testConflictingPaths() throws IOException {
+        Map<String, Swagger> services = new LinkedHashMap<>();
+        services.put("orders", service("orders", "name"));
+        services.put("legacy", service("orders", "name"));
+
+        try {
+            SwaggerAggregator.ofDefaults().build().aggregate(services);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).contains("/v1/orders");
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.plan;
+
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+import io.github.robwin.markup.builder.MarkupDocBuilders;
+import io.github.robwin.markup.builder.MarkupLanguage;
+import io.github.robwin.markup.builder.MarkupTableColumn;
+import io.github.robwin.swagger2markup.Swagger2MarkupConverter;
+import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
+import io.github.robwin.swagger2markup.extension.OverviewContentExtension;
+import io.github.robwin.swagger2markup.extension.Swagger2MarkupExtensionRegistry;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.BDDAssertions.assertThat;
+
+public class DocumentPlanTest {
+
+    private static void document(MarkupDocBuilder docBuilder) {
+        docBuilder.documentTitle("Title");
+        docBuilder.sectionTitleWithAnchorLevel2("Section", "section");
+        docBuilder.paragraph("Reference to " + docBuilder.copy().crossReference(docBuilder.addfileExtension("definitions"), "pet", "Pet").toString());
+        List<MarkupTableColumn> cols = Arrays.asList(new MarkupTableColumn("Name", 1), new MarkupTableColumn("Schema", 1));
+        List<List<String>> cells = Collections.singletonList(Arrays.asList("body", docBuilder.copy().crossReference("pet", "Pet").toString()));
+        docBuilder.tableWithColumnSpecs(cols, cells);
+        docBuilder.source("{}", "json");
+    }
+
+    private static URI swaggerUri() {
+        return new File(DocumentPlanTest.class.getResource("/json/swagger.json").getFile()).toURI();
+    }
+
+    private static String render(Map<String, DocumentPlan> plans, MarkupLanguage markupLanguage) {
+        StringBuilder sb = new StringBuilder();
+        for (DocumentPlan plan : plans.values())
+            sb.append(plan.render(markupLanguage));
+        return sb.toString();
+    }
+
+    @Test
+    public void testRender() {
+        //Given
+        MarkupDocBuilder recorder = DocumentPlan.recorder(MarkupLanguage.ASCIIDOC);
+        document(recorder);
+
+        //When
+        DocumentPlan plan = DocumentPlan.of(recorder);
+
+        //Then
+        for (MarkupLanguage markupLanguage : MarkupLanguage.values()) {
+            MarkupDocBuilder expected = MarkupDocBuilders.documentBuilder(markupLanguage);
+            document(expected);
+            assertThat(plan.render(markupLanguage)).isEqualTo(expected.toString());
+        }
+    }
+
+    @Test
+    public void testSerializedPlan() throws IOException, ClassNotFoundException {
+        //Given
+        MarkupDocBuilder recorder = DocumentPlan.recorder(MarkupLanguage.ASCIIDOC);
+        document(recorder);
+        DocumentPlan plan = DocumentPlan.of(recorder);
+
+        //When
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(plan);
+        }
+        DocumentPlan deserializedPlan;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserializedPlan = (DocumentPlan) in.readObject();
+        }
+
+        //Then
+        for (MarkupLanguage markupLanguage : MarkupLanguage.values())
+            assertThat(deserializedPlan.render(markupLanguage)).isEqualTo(plan.render(markupLanguage));
+    }
+
+    @Test
+    public void testConverterPlans() throws IOException {
+        //Given
+        Swagger2MarkupConverter converter = Swagger2MarkupConverter.from(swaggerUri()).build();
+
+        //When
+        Map<String, DocumentPlan> plans = converter.asPlans();
+
+        //Then
+        assertThat(plans.keySet()).containsExactly("overview", "paths", "definitions", "security");
+        for (MarkupLanguage markupLanguage : MarkupLanguage.values()) {
+            Swagger2MarkupConfig config = Swagger2MarkupConfig.ofDefaults().withMarkupLanguage(markupLanguage).build();
+            String expected = Swagger2MarkupConverter.from(swaggerUri()).withConfig(config).build().asString();
+            assertThat(render(plans, markupLanguage)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void testConverterPlansWithHandWrittenContent() throws IOException {
+        //Given
+        Swagger2MarkupConfig recordingConfig = Swagger2MarkupConfig.ofDefaults()
+                .withOperationDescriptions(Paths.get("src/docs/markdown/paths"))
+                .withDefinitionDescriptions(Paths.get("src/docs/markdown/definitions"))
+                .build();
+
+        //When
+        Map<String, DocumentPlan> plans = Swagger2MarkupConverter.from(swaggerUri()).withConfig(recordingConfig).build().asPlans();
+
+        //Then
+        for (MarkupLanguage markupLanguage : MarkupLanguage.values()) {
+            Swagger2MarkupConfig config = Swagger2MarkupConfig.ofDefaults()
+                    .withOperationDescriptions(Paths.get("src/docs/markdown/paths"))
+                    .withDefinitionDescriptions(Paths.get("src/docs/markdown/definitions"))
+                    .withMarkupLanguage(markupLanguage)
+                    .build();
+            String expected = Swagger2MarkupConverter.from(swaggerUri()).withConfig(config).build().asString();
+            assertThat(render(plans, markupLanguage)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void testConverterPlansWithExtensionBuilderCalls() throws IOException {
+        //Given
+        OverviewContentExtension extension = new OverviewContentExtension() {
+            @Override
+            public void apply(Context context) {
+                if (context.position == Position.DOC_END) {
+                    MarkupDocBuilder docBuilder = context.docBuilder;
+                    docBuilder.boldText("Generated").textLine(" by an extension");
+                    docBuilder.table(Arrays.asList(
+                            Arrays.asList("Name", "Schema"),
+                            Arrays.asList("body", docBuilder.copy().boldText("Pet").toString())));
+                    docBuilder.boldText("Done").newLine();
+                }
+            }
+        };
+        Swagger2MarkupExtensionRegistry registry = Swagger2MarkupExtensionRegistry.ofEmpty().withExtension(extension).build();
+
+        //When
+        Map<String, DocumentPlan> plans = Swagger2MarkupConverter.from(swaggerUri()).withExtensionRegistry(registry).build().asPlans();
+
+        //Then
+        for (MarkupLanguage markupLanguage : MarkupLanguage.values()) {
+            Swagger2MarkupConfig config = Swagger2MarkupConfig.ofDefaults().withMarkupLanguage(markupLanguage).build();
+            String expected = Swagger2MarkupConverter.from(swaggerUri()).withConfig(config).withExtensionRegistry(registry).build().asString();
+            assertThat(render(plans, markupLanguage)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void testConverterPlansWithSeparatedDocuments() throws IOException {
+        //Given
+        Swagger2MarkupConfig recordingConfig = Swagger2MarkupConfig.ofDefaults()
+                .withSeparatedOperations()
+                .withSeparatedDefinitions()
+                .withInterDocumentCrossReferences()
+                .build();
+
+        //When
+        Map<String, DocumentPlan> plans = Swagger2MarkupConverter.from(swaggerUri()).withConfig(recordingConfig).build().asPlans();
+
+        //Then
+        assertThat(plans).containsKeys("overview", "paths", "definitions", "security", "definitions/pet", "definitions/user");
+        for (MarkupLanguage markupLanguage : MarkupLanguage.values()) {
+            File outputDirectory = new File("build/docs/plans/" + markupLanguage.name().toLowerCase());
+            FileUtils.deleteQuietly(outputDirectory);
+            Swagger2MarkupConfig config = Swagger2MarkupConfig.ofDefaults()
+                    .withSeparatedOperations()
+                    .withSeparatedDefinitions()
+                    .withInterDocumentCrossReferences()
+                    .withMarkupLanguage(markupLanguage)
+                    .build();
+            Swagger2MarkupConverter.from(swaggerUri()).withConfig(config).build().intoFolder(outputDirectory.getAbsolutePath());
+
+            for (Map.Entry<String, DocumentPlan> plan : plans.entrySet()) {
+                File expected = new File(outputDirectory, MarkupDocBuilders.documentBuilder(markupLanguage).addfileExtension(plan.getKey()));
+                assertThat(plan.getValue().render(markupLanguage)).isEqualTo(FileUtils.readFileToString(expected, StandardCharsets.UTF_8));
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.cli;
+
+import io.github.robwin.swagger2markup.ShardBy;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.BDDAssertions.assertThat;
+
+public class Swagger2MarkupCliTest {
+
+    @Test
+    public void testConvertWithDaemon() throws Exception {
+        //Given
+        File file = new File(Swagger2MarkupCliTest.class.getResource("/json/swagger.json").getFile());
+        File outputDirectory = new File("build/docs/asciidoc/cli");
+        FileUtils.deleteQuietly(outputDirectory);
+        Path stateFile = Files.createTempDirectory("swagger2markup").resolve("daemon.properties");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        //When
+        CliDaemon daemon = CliDaemon.start(stateFile);
+        int exitCode = Swagger2MarkupCli.run(Arrays.asList("convert", "-i", file.getAbsolutePath(), "-d", outputDirectory.getAbsolutePath()),
+                stateFile, new PrintStream(out), new PrintStream(err));
+        int stopExitCode = Swagger2MarkupCli.run(Arrays.asList("stop"), stateFile, new PrintStream(out), new PrintStream(err));
+        daemon.await();
+
+        //Then
+        assertThat(exitCode).isEqualTo(0);
+        assertThat(stopExitCode).isEqualTo(0);
+        assertThat(outputDirectory.list()).containsOnly("definitions.adoc", "overview.adoc", "paths.adoc", "security.adoc");
+        assertThat(out.toString()).contains("Converted", "Daemon stopped");
+        assertThat(err.toString()).isEmpty();
+        assertThat(Files.exists(stateFile)).isFalse();
+    }
+
+    @Test
+    public void testConvertInProcess() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupCliTest.class.getResource("/json/swagger.json").getFile());
+        File outputDirectory = new File("build/docs/asciidoc/cli");
+        FileUtils.deleteQuietly(outputDirectory);
+        Path stateFile = Files.createTempDirectory("swagger2markup").resolve("daemon.properties");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //When
+        int exitCode = Swagger2MarkupCli.run(Arrays.asList("convert", "-i", file.getAbsolutePath(), "-d", outputDirectory.getAbsolutePath()),
+                stateFile, new PrintStream(out), System.err);
+
+        //Then
+        assertThat(exitCode).isEqualTo(0);
+        assertThat(outputDirectory.list()).hasSize(4);
+    }
+
+    @Test
+    public void testConvertWithShardsAndMerge() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupCliTest.class.getResource("/json/swagger.json").getFile());
+        File outputDirectory = new File("build/docs/asciidoc/cli");
+        File fragmentsDirectory = new File("build/docs/asciidoc/cli-fragments");
+        File mergedOutputDirectory = new File("build/docs/asciidoc/cli-merged");
+        FileUtils.deleteQuietly(outputDirectory);
+        FileUtils.deleteQuietly(fragmentsDirectory);
+        FileUtils.deleteQuietly(mergedOutputDirectory);
+        Path stateFile = Files.createTempDirectory("swagger2markup").resolve("daemon.properties");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //When
+        int exitCode = Swagger2MarkupCli.run(Arrays.asList("convert", "-i", file.getAbsolutePath(), "-d", outputDirectory.getAbsolutePath()),
+                stateFile, new PrintStream(out), System.err);
+        for (int shard = 0; shard < 2; shard++) {
+            exitCode |= Swagger2MarkupCli.run(Arrays.asList("convert", "-i", file.getAbsolutePath(), "-d", fragmentsDirectory.getAbsolutePath(),
+                    "--shard", shard + "/2", "--shard-by", "tag"), stateFile, new PrintStream(out), System.err);
+        }
+        exitCode |= Swagger2MarkupCli.run(Arrays.asList("convert", "-i", file.getAbsolutePath(), "-d", mergedOutputDirectory.getAbsolutePath(),
+                "--merge", fragmentsDirectory.getAbsolutePath()), stateFile, new PrintStream(out), System.err);
+
+        //Then
+        assertThat(exitCode).isEqualTo(0);
+        assertThat(fragmentsDirectory.list()).containsOnly("operations", "definitions");
+        assertThat(new File(fragmentsDirectory, "operations").list()).hasSize(18);
+        for (String document : Arrays.asList("paths.adoc", "definitions.adoc")) {
+            assertThat(new String(Files.readAllBytes(new File(mergedOutputDirectory, document).toPath()))).isEqualTo(
+                    new String(Files.readAllBytes(new File(outputDirectory, document).toPath())));
+        }
+    }
+
+    @Test
+    public void testInvalidShard() {
+        for (String shard : Arrays.asList("2/2", "1", "a/2", "0/0")) {
+            ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+            int exitCode = Swagger2MarkupCli.run(Arrays.asList("convert", "-i", "swagger.json", "-d", "out", "--shard", shard),
+                    new File("build/daemon.properties").toPath(), System.out, new PrintStream(err));
+
+            assertThat(exitCode).isEqualTo(2);
+            assertThat(err.toString()).contains("Invalid shard", "Usage");
+        }
+    }
+
+    @Test
+    public void testUsage() {
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        int exitCode = Swagger2MarkupCli.run(Arrays.asList("convert", "-i"), new File("build/daemon.properties").toPath(), System.out, new PrintStream(err));
+
+        assertThat(exitCode).isEqualTo(2);
+        assertThat(err.toString()).contains("Usage");
+    }
+
+    @Test
+    public void testConversionEnginesAreBoundedAcrossShards() throws IOException {
+        //Given
+        ConversionEngines engines = new ConversionEngines();
+
+        //When
+        for (int index = 0; index < 4 * ConversionEngines.MAX_ENGINES; index++)
+            engines.get(null, new ShardOptions(index, 4 * ConversionEngines.MAX_ENGINES, ShardBy.OPERATION, null));
+
+        //Then
+        assertThat(engines.size()).isLessThanOrEqualTo(ConversionEngines.MAX_ENGINES);
+    }
+}
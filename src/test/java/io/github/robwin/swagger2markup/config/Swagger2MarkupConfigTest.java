@@ -23,6 +23,8 @@ import io.github.robwin.markup.builder.MarkupLanguage;
 import io.github.robwin.swagger2markup.GroupBy;
 import io.github.robwin.swagger2markup.Language;
 import io.github.robwin.swagger2markup.OrderBy;
+import io.github.robwin.swagger2markup.ShardBy;
+import io.github.robwin.swagger2markup.Swagger2MarkupConverter;
 import org.junit.Test;
 
 import java.io.IOException;
@@ -48,6 +50,13 @@ public class Swagger2MarkupConfigTest {
         assertThat(config.isExamples()).isFalse();
         assertThat(config.getExamplesUri()).isNull();
         assertThat(config.getInlineSchemaDepthLevel()).isEqualTo(0);
+        assertThat(config.isInlineSchemaDeduplication()).isFalse();
+        assertThat(config.getContentPrefetchThreads()).isEqualTo(0);
+        assertThat(config.isVirtualThreads()).isFalse();
+        assertThat(config.getMemoryBudget()).isEqualTo(0);
+        assertThat(config.isSharded()).isFalse();
+        assertThat(config.getShardBy()).isEqualTo(ShardBy.OPERATION);
+        assertThat(config.getShardMergeUri()).isNull();
         assertThat(config.getInterDocumentCrossReferencesPrefix()).isNull();
         assertThat(config.getMarkupLanguage()).isEqualTo(MarkupLanguage.ASCIIDOC);
         assertThat(config.getOperationOrdering()).isEqualTo(Swagger2MarkupConfig.Builder.OPERATION_PATH_COMPARATOR.compound(Swagger2MarkupConfig.Builder.OPERATION_METHOD_COMPARATOR));
@@ -61,6 +70,7 @@ public class Swagger2MarkupConfigTest {
         assertThat(config.isSchemas()).isFalse();
         assertThat(config.getSchemasUri()).isNull();
         assertThat(config.getSecurityDocument()).isEqualTo("security");
+        assertThat(config.getChangelogDocument()).isEqualTo("changelog");
         assertThat(config.getSeparatedDefinitionsFolder()).isEqualTo("definitions");
         assertThat(config.getSeparatedOperationsFolder()).isEqualTo("operations");
         assertThat(config.getTagOrdering()).isEqualTo(Ordering.natural());
@@ -112,4 +122,23 @@ public class Swagger2MarkupConfigTest {
         assertThat(config.isSeparatedOperations()).isTrue();
     }
 
+    @Test
+    public void testSwagger2MarkupConfigIsNotModifiedByConversions() {
+        Swagger2MarkupConfig.Builder builder = Swagger2MarkupConfig.ofDefaults()
+                .withExamples()
+                .withSchemas();
+        Swagger2MarkupConfig config = builder.build();
+        builder.withMarkupLanguage(MarkupLanguage.MARKDOWN);
+
+        Swagger2MarkupConverter.Context globalContext = new Swagger2MarkupConverter.Context();
+        globalContext.swaggerLocation = URI.create("file:/tmp/api/swagger.json");
+        Swagger2MarkupConfig resolvedConfig = config.resolve(globalContext);
+
+        assertThat(config.getMarkupLanguage()).isEqualTo(MarkupLanguage.ASCIIDOC);
+        assertThat(config.getExamplesUri()).isNull();
+        assertThat(config.getSchemasUri()).isNull();
+        assertThat(resolvedConfig).isNotSameAs(config);
+        assertThat(resolvedConfig.getExamplesUri()).isEqualTo(URI.create("file:/tmp/api/"));
+        assertThat(resolvedConfig.getSchemasUri()).isEqualTo(URI.create("file:/tmp/api/"));
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.content;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.BDDAssertions.assertThat;
+
+public class CachingContentLoaderTest {
+
+    private static class CountingContentLoader extends UriContentLoader {
+        int loads;
+
+        @Override
+        public String load(URI uri) throws IOException {
+            loads++;
+            return super.load(uri);
+        }
+    }
+
+    @Test
+    public void testCachedContentIsInvalidatedWhenFileChanges() throws IOException {
+        Path file = Files.createTempFile("description", ".adoc");
+        try {
+            Files.write(file, "Pet description".getBytes(StandardCharsets.UTF_8));
+            CountingContentLoader delegate = new CountingContentLoader();
+            CachingContentLoader loader = new CachingContentLoader(delegate, CachingContentLoader.DEFAULT_MAXIMUM_WEIGHT);
+
+            assertThat(loader.load(file.toUri())).isEqualTo("Pet description");
+            assertThat(loader.load(file.toUri())).isEqualTo("Pet description");
+            assertThat(delegate.loads).isEqualTo(1);
+
+            Files.write(file, "Updated pet description".getBytes(StandardCharsets.UTF_8));
+            assertThat(loader.load(file.toUri())).isEqualTo("Updated pet description");
+            assertThat(delegate.loads).isEqualTo(2);
+
+            ContentCacheStats stats = loader.stats();
+            assertThat(stats.getHitCount()).isEqualTo(1);
+            assertThat(stats.getMissCount()).isEqualTo(2);
+            assertThat(stats.getInvalidationCount()).isEqualTo(1);
+            assertThat(stats.getSize()).isEqualTo(1);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedContentIsEvicted() throws IOException {
+        Path file1 = Files.createTempFile("example", ".adoc");
+        Path file2 = Files.createTempFile("example", ".adoc");
+        Path file3 = Files.createTempFile("example", ".adoc");
+        try {
+            for (Path file : new Path[]{file1, file2, file3})
+                Files.write(file, new byte[100]);
+            CountingContentLoader delegate = new CountingContentLoader();
+            CachingContentLoader loader = new CachingContentLoader(delegate, 600);
+
+            loader.load(file1.toUri());
+            loader.load(file2.toUri());
+            loader.load(file1.toUri());
+            loader.load(file3.toUri());
+            loader.load(file1.toUri());
+            assertThat(delegate.loads).isEqualTo(3);
+
+            loader.load(file2.toUri());
+            assertThat(delegate.loads).isEqualTo(4);
+
+            ContentCacheStats stats = loader.stats();
+            assertThat(stats.getEvictionCount()).isEqualTo(2);
+            assertThat(stats.getSize()).isEqualTo(2);
+            assertThat(stats.getWeight()).isLessThanOrEqualTo(600);
+        } finally {
+            Files.delete(file1);
+            Files.delete(file2);
+            Files.delete(file3);
+        }
+    }
+}
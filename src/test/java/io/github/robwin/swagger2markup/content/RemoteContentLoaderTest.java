@@ -0,0 +1,112 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.content;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.fail;
+import static org.assertj.core.api.BDDAssertions.assertThat;
+
+public class RemoteContentLoaderTest {
+
+    private static final String ETAG = "\"v1\"";
+
+    private HttpServer server;
+    private URI baseUri;
+    private final AtomicInteger exampleRequests = new AtomicInteger();
+    private final AtomicInteger missingRequests = new AtomicInteger();
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/examples/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                if (exchange.getRequestURI().getPath().endsWith("/missing.adoc")) {
+                    missingRequests.incrementAndGet();
+                    exchange.sendResponseHeaders(404, -1);
+                } else {
+                    exampleRequests.incrementAndGet();
+                    exchange.getResponseHeaders().add("ETag", ETAG);
+                    if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                        exchange.sendResponseHeaders(304, -1);
+                    } else {
+                        byte[] body = "curl http://localhost/pets".getBytes(StandardCharsets.UTF_8);
+                        exchange.sendResponseHeaders(200, body.length);
+                        try (OutputStream out = exchange.getResponseBody()) {
+                            out.write(body);
+                        }
+                    }
+                }
+                exchange.close();
+            }
+        });
+        server.start();
+        baseUri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/examples/");
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testConditionalRequests() throws IOException {
+        RemoteContentLoader loader = new RemoteContentLoader();
+        URI exampleUri = baseUri.resolve("curl-request.adoc");
+
+        assertThat(loader.load(exampleUri)).isEqualTo("curl http://localhost/pets");
+        assertThat(loader.load(exampleUri)).isEqualTo("curl http://localhost/pets");
+
+        assertThat(exampleRequests.get()).isEqualTo(2);
+        assertThat(loader.getNotModifiedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testMissingContentIsRemembered() throws IOException {
+        RemoteContentLoader loader = new RemoteContentLoader();
+        URI missingUri = baseUri.resolve("missing.adoc");
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                loader.load(missingUri);
+                fail("FileNotFoundException expected");
+            } catch (FileNotFoundException e) {
+                assertThat(e.getMessage()).isEqualTo(missingUri.toString());
+            }
+        }
+
+        assertThat(missingRequests.get()).isEqualTo(1);
+        assertThat(loader.getRequestCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.output;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.BDDAssertions.assertThat;
+
+public class FileRegionTest {
+
+    @Test
+    public void testTrimmedRegion() throws IOException {
+        Path file = Files.createTempFile("schema", ".xsd");
+        try {
+            Files.write(file, " \r\n\t<xs:schema>é</xs:schema>\n\n".getBytes(StandardCharsets.UTF_8));
+
+            FileRegion region = FileRegion.trimmed(file);
+
+            assertThat(region.getPosition()).isEqualTo(4);
+            assertThat(region.read(StandardCharsets.UTF_8)).isEqualTo("<xs:schema>é</xs:schema>");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testWriteAndResolveRegions() throws IOException {
+        Path file = Files.createTempFile("schema", ".json");
+        try {
+            Files.write(file, "\n{ \"type\" : \"object\" }\n".getBytes(StandardCharsets.UTF_8));
+            Map<String, FileRegion> regions = Collections.singletonMap(FileRegion.placeholder(0), FileRegion.trimmed(file));
+            String content = "----\n" + FileRegion.placeholder(0) + "\n----\n";
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            FileRegion.write(content, regions, StandardCharsets.UTF_8, Channels.newChannel(out));
+
+            String expected = "----\n{ \"type\" : \"object\" }\n----\n";
+            assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(expected);
+            assertThat(FileRegion.resolve(content, regions, StandardCharsets.UTF_8)).isEqualTo(expected);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testWhitespaceOnlyFile() throws IOException {
+        Path file = Files.createTempFile("schema", ".json");
+        try {
+            Files.write(file, " \n \n".getBytes(StandardCharsets.UTF_8));
+
+            assertThat(FileRegion.trimmed(file).getCount()).isEqualTo(0);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.preview;
+
+import io.github.robwin.swagger2markup.Swagger2MarkupConverter;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.BDDAssertions.assertThat;
+
+public class PreviewServerTest {
+
+    private PreviewServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        File file = new File(PreviewServerTest.class.getResource("/json/swagger.json").getFile());
+        server = new PreviewServer(Swagger2MarkupConverter.from(file.toURI()).build(), new InetSocketAddress("localhost", 0));
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    private HttpURLConnection open(String path) throws IOException {
+        return (HttpURLConnection) new URL("http", "localhost", server.getAddress().getPort(), path).openConnection();
+    }
+
+    @Test
+    public void testServeDocuments() throws IOException {
+        HttpURLConnection connection = open("/paths");
+
+        assertThat(connection.getResponseCode()).isEqualTo(200);
+        assertThat(connection.getHeaderField("ETag")).isNotEmpty();
+        assertThat(IOUtils.toString(connection.getInputStream(), StandardCharsets.UTF_8)).contains("== Paths");
+
+        connection = open("/operations/addpet");
+        assertThat(connection.getResponseCode()).isEqualTo(200);
+        assertThat(IOUtils.toString(connection.getInputStream(), StandardCharsets.UTF_8)).contains("Add a new pet to the store");
+
+        assertThat(open("/operations/unknown").getResponseCode()).isEqualTo(404);
+    }
+
+    @Test
+    public void testNotModified() throws IOException {
+        HttpURLConnection connection = open("/definitions");
+        assertThat(connection.getResponseCode()).isEqualTo(200);
+        String etag = connection.getHeaderField("ETag");
+
+        connection = open("/definitions");
+        connection.setRequestProperty("If-None-Match", etag);
+        assertThat(connection.getResponseCode()).isEqualTo(304);
+    }
+}
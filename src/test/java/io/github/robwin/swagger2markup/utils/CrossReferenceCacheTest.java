@@ -0,0 +1,41 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.utils;
+
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+import io.github.robwin.markup.builder.MarkupDocBuilders;
+import io.github.robwin.markup.builder.MarkupLanguage;
+import org.junit.Test;
+
+import static org.assertj.core.api.BDDAssertions.assertThat;
+
+public class CrossReferenceCacheTest {
+
+    @Test
+    public void testCrossReference() {
+        MarkupDocBuilder docBuilder = MarkupDocBuilders.documentBuilder(MarkupLanguage.ASCIIDOC);
+        CrossReferenceCache crossReferences = new CrossReferenceCache();
+
+        String crossReference = crossReferences.crossReference(docBuilder, "definitions.adoc", "Pet", "Pet");
+
+        assertThat(crossReference).isEqualTo(docBuilder.copy().crossReference("definitions.adoc", "Pet", "Pet").toString());
+        assertThat(crossReferences.crossReference(docBuilder, "definitions.adoc", "Pet", "Pet")).isSameAs(crossReference);
+        assertThat(crossReferences.crossReference(docBuilder, "Pet", "Pet")).isEqualTo(docBuilder.copy().crossReference("Pet", "Pet").toString());
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.utils;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.BDDAssertions.assertThat;
+
+public class IOUtilsTest {
+
+    @Test
+    public void testNormalizeName() {
+        assertThat(IOUtils.normalizeName("Update an existing pet")).isEqualTo("update_an_existing_pet");
+        assertThat(IOUtils.normalizeName("/pets/{petId} GET")).isEqualTo("pets_petid_get");
+        assertThat(IOUtils.normalizeName("--My_-_Name--")).isEqualTo("my_name");
+        assertThat(IOUtils.normalizeName("a - b")).isEqualTo("a_b");
+        assertThat(IOUtils.normalizeName("a-_ b")).isEqualTo("a-b");
+        assertThat(IOUtils.normalizeName("Café")).isEqualTo("caf");
+        assertThat(IOUtils.normalizeName("  ")).isEmpty();
+    }
+
+    @Test
+    public void testNormalizeNameIsCached() {
+        String name = "Add a new pet to the store";
+
+        assertThat(IOUtils.normalizeName(name)).isSameAs(IOUtils.normalizeName(name));
+    }
+}
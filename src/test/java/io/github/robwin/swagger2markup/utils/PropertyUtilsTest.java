@@ -0,0 +1,67 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.utils;
+
+import io.swagger.models.properties.*;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.BDDAssertions.assertThat;
+
+public class PropertyUtilsTest {
+
+    private static Map<String, Property> page(String itemsDescription) {
+        Map<String, Property> properties = new LinkedHashMap<>();
+        properties.put("total", new LongProperty());
+        ArrayProperty items = new ArrayProperty(new RefProperty("Pet"));
+        items.setDescription(itemsDescription);
+        properties.put("items", items);
+        return properties;
+    }
+
+    @Test
+    public void testGetFingerprint() {
+        assertThat(PropertyUtils.getFingerprint(page("Page items"))).isEqualTo(PropertyUtils.getFingerprint(page("Page items")));
+        assertThat(PropertyUtils.getFingerprint(page("Page items"))).isNotEqualTo(PropertyUtils.getFingerprint(page("Other items")));
+
+        Map<String, Property> required = page("Page items");
+        required.get("total").setRequired(true);
+        assertThat(PropertyUtils.getFingerprint(required)).isNotEqualTo(PropertyUtils.getFingerprint(page("Page items")));
+
+        Map<String, Property> nested = new LinkedHashMap<>();
+        nested.put("page", new ObjectProperty(page("Page items")));
+        Map<String, Property> otherNested = new LinkedHashMap<>();
+        otherNested.put("page", new ObjectProperty(page("Other items")));
+        assertThat(PropertyUtils.getFingerprint(nested)).isNotEqualTo(PropertyUtils.getFingerprint(otherNested));
+    }
+
+    @Test
+    public void testGetFingerprintWithRecursiveProperties() {
+        Map<String, Property> node = new LinkedHashMap<>();
+        node.put("value", new StringProperty());
+        node.put("child", new ObjectProperty(node));
+        Map<String, Property> otherNode = new LinkedHashMap<>();
+        otherNode.put("value", new StringProperty());
+        otherNode.put("child", new ObjectProperty(otherNode));
+
+        assertThat(PropertyUtils.getFingerprint(node)).isEqualTo(PropertyUtils.getFingerprint(otherNode));
+    }
+}
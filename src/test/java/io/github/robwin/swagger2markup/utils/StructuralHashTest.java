@@ -0,0 +1,49 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.utils;
+
+import io.swagger.util.Json;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.BDDAssertions.assertThat;
+
+public class StructuralHashTest {
+
+    private static String hash(String json) throws IOException {
+        return StructuralHash.of(Json.mapper().readTree(json));
+    }
+
+    @Test
+    public void testFieldOrderIsIgnored() throws IOException {
+        assertThat(hash("{\"type\": \"object\", \"required\": [\"id\"]}"))
+                .isEqualTo(hash("{\"required\": [\"id\"], \"type\": \"object\"}"));
+    }
+
+    @Test
+    public void testValuesAndArrayOrderAreHashed() throws IOException {
+        String hash = hash("{\"enum\": [\"a\", \"b\"]}");
+
+        assertThat(hash("{\"enum\": [\"b\", \"a\"]}")).isNotEqualTo(hash);
+        assertThat(hash("{\"enum\": [\"a\", \"c\"]}")).isNotEqualTo(hash);
+        assertThat(hash("{\"enum\": [\"ab\"]}")).isNotEqualTo(hash);
+        assertThat(hash("{\"enum\": \"a\"}")).isNotEqualTo(hash);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.utils;
+
+import com.google.common.base.Function;
+import com.google.common.collect.Ordering;
+import io.github.robwin.swagger2markup.PathOperation;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Operation;
+import io.swagger.models.Tag;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.BDDAssertions.assertThat;
+
+public class TagUtilsTest {
+
+    private static PathOperation operation(String path, String... tags) {
+        Operation operation = new Operation();
+        operation.setTags(Arrays.asList(tags));
+        return new PathOperation(HttpMethod.GET, path, operation);
+    }
+
+    private static Tag tag(String name) {
+        Tag tag = new Tag();
+        tag.setName(name);
+        return tag;
+    }
+
+    @Test
+    public void testGroupOperationsByTagWithOrdering() {
+        PathOperation op1 = operation("/c", "user");
+        PathOperation op2 = operation("/a", "user", "pet");
+        PathOperation op3 = operation("/b", "pet");
+        List<PathOperation> operations = Arrays.asList(op1, op2, op3);
+
+        TagOperationGroups groups = TagUtils.groupOperationsByTag(operations, Ordering.<String>natural(), Ordering.natural().onResultOf(new Function<PathOperation, String>() {
+            public String apply(PathOperation operation) {
+                return operation.getPath();
+            }
+        }));
+
+        assertThat(groups.getTags()).containsExactly("pet", "user");
+        assertThat(groups.getOperations("pet")).containsExactly(op2, op3);
+        assertThat(groups.getOperations("user")).containsExactly(op2, op1);
+        assertThat(groups.getOperations("unknown")).isEmpty();
+    }
+
+    @Test
+    public void testGroupOperationsByTagAsIs() {
+        PathOperation op1 = operation("/c", "user");
+        PathOperation op2 = operation("/a", "store", "pet");
+        PathOperation op3 = operation("/b", "pet");
+        List<PathOperation> operations = Arrays.asList(op1, op2, op3);
+
+        TagOperationGroups groups = TagUtils.groupOperationsByTag(operations, Arrays.asList(tag("pet"), tag("unused")), null, null);
+
+        assertThat(groups.getTags()).containsExactly("pet", "user", "store");
+        assertThat(groups.getOperations("pet")).containsExactly(op2, op3);
+    }
+}